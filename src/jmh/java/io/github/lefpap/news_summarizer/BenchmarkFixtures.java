@@ -0,0 +1,167 @@
+package io.github.lefpap.news_summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import io.github.lefpap.news_summarizer.news_api.NewsApiResponse;
+import io.github.lefpap.news_summarizer.summary.OutputSummary;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Realistic, deterministic fixture data for the benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+    private static final String[] WORDS = {
+        "model", "inference", "release", "open", "source", "benchmark", "researchers", "announced", "training",
+        "data", "compute", "regulation", "startup", "funding", "agents", "reasoning", "safety", "latency", "chip",
+        "cloud", "developers", "enterprise", "policy", "the", "a", "of", "and", "to", "in", "with", "for", "on",
+    };
+
+    private BenchmarkFixtures() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Creates an LLM output with YAML front matter, preceded by a short preamble, and a Markdown body.
+     *
+     * @param words      the approximate number of words in the body
+     * @param highlights the number of highlights in the front matter
+     * @param sources    the number of sources in the front matter
+     * @return the LLM output text
+     */
+    public static String llmOutput(int words, int highlights, int sources) {
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder builder = new StringBuilder(words * 8);
+        builder.append("Here is the summary of this week's news:\n---\n");
+        builder.append("title: \"This Week in AI: Open Models, New Chips and Regulation\"\n");
+        builder.append("description: \"A roundup of the most important stories about AI from the past seven days\"\n");
+        builder.append("readingTime: \"").append(Math.max(1, words / 250)).append(" min\"\n");
+        builder.append("highlights:\n");
+        for (int i = 0; i < highlights; i++) {
+            builder.append("  - \"").append(sentence(random, 14)).append("\"\n");
+        }
+        builder.append("sources:\n");
+        for (int i = 0; i < sources; i++) {
+            builder.append("  - name: \"Source ").append(i).append("\"\n");
+            builder.append("    url: \"https://news").append(i).append(".example.com/articles/").append(i).append("\"\n");
+        }
+        builder.append("---\n");
+
+        int written = 0;
+        int section = 0;
+        while (written < words) {
+            builder.append("### Section ").append(++section).append("\n\n");
+            for (int p = 0; p < 3 && written < words; p++) {
+                builder.append(sentence(random, 60)).append(" [Source ").append(p).append("](https://news")
+                    .append(p).append(".example.com/articles/").append(p).append(")\n\n");
+                written += 60;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Creates a summary with the given number of highlights and sources, as stored in the database.
+     *
+     * @param words      the approximate number of words in the content
+     * @param highlights the number of highlights
+     * @param sources    the number of sources
+     * @return the summary
+     */
+    public static OutputSummary summary(int words, int highlights, int sources) {
+        return summary(words, highlights, sources, 7);
+    }
+
+    /**
+     * Creates a summary with the given number of highlights and sources, as stored in the database, whose highlights
+     * and content are generated from the given seed.
+     *
+     * @param words      the approximate number of words in the content
+     * @param highlights the number of highlights
+     * @param sources    the number of sources
+     * @param seed       the seed of the generated text; summaries of different seeds have different text
+     * @return the summary
+     */
+    public static OutputSummary summary(int words, int highlights, int sources, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> highlightList = new ArrayList<>(highlights);
+        for (int i = 0; i < highlights; i++) {
+            highlightList.add(sentence(random, 14));
+        }
+        List<OutputSummary.Source> sourceList = new ArrayList<>(sources);
+        for (int i = 0; i < sources; i++) {
+            sourceList.add(new OutputSummary.Source("Source " + i, "https://news" + i + ".example.com/articles/" + i));
+        }
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+        return OutputSummary.builder()
+            .id(UUID.nameUUIDFromBytes(Long.toString(seed).getBytes()))
+            .title("This Week in AI")
+            .description("A roundup of the most important stories about AI")
+            .readingTime(Math.max(1, words / 250) + " min")
+            .highlights(highlightList)
+            .sources(sourceList)
+            .content(sentence(random, words))
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+    }
+
+    /**
+     * Creates a News API response with the given number of articles, as returned by the "everything" endpoint.
+     *
+     * @param count the number of articles
+     * @return the News API response
+     */
+    public static NewsApiResponse newsApiResponse(int count) {
+        SplittableRandom random = new SplittableRandom(1);
+        List<NewsApiArticle> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            articles.add(new NewsApiArticle(
+                new NewsApiArticle.NewsApiSource("source-" + (i % 20), "Source " + (i % 20)),
+                "Author " + i,
+                sentence(random, 12),
+                sentence(random, 40),
+                "https://news" + (i % 20) + ".example.com/2025/06/01/article-" + i + "?utm_source=rss",
+                sentence(random, 35) + " [+" + (2000 + i) + " chars]",
+                "2025-06-01T12:00:00Z"
+            ));
+        }
+        return new NewsApiResponse("ok", count * 10, articles);
+    }
+
+    /**
+     * Creates a topic query as configured in the application properties.
+     *
+     * @return the query parameters map
+     */
+    public static Map<String, String> query() {
+        Map<String, String> query = new LinkedHashMap<>();
+        query.put("q", "\"artificial intelligence\" OR AI");
+        query.put("searchIn", "title,description");
+        query.put("domains", "techcrunch.com,theverge.com,wired.com,arstechnica.com");
+        query.put("from", "2025-05-25");
+        query.put("to", "2025-06-01");
+        query.put("language", "en");
+        query.put("sortBy", "popularity");
+        query.put("pageSize", "100");
+        query.put("page", "1");
+        return query;
+    }
+
+    private static String sentence(SplittableRandom random, int words) {
+        StringBuilder builder = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.append('.').toString();
+    }
+}
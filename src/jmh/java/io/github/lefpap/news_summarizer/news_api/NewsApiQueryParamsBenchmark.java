@@ -0,0 +1,47 @@
+package io.github.lefpap.news_summarizer.news_api;
+
+import io.github.lefpap.news_summarizer.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks conversion of News API query parameters from and to their map representation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NewsApiQueryParamsBenchmark {
+
+    private Map<String, String> query;
+    private NewsApiQueryParams params;
+
+    @Setup
+    public void setUp() {
+        query = BenchmarkFixtures.query();
+        params = NewsApiQueryParams.of(query);
+    }
+
+    @Benchmark
+    public NewsApiQueryParams of() {
+        return NewsApiQueryParams.of(query);
+    }
+
+    @Benchmark
+    public Map<String, String> toMap() {
+        return params.toMap();
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.BenchmarkFixtures;
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import io.github.lefpap.news_summarizer.summarizer.NewsSummarizerSettings.Topic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks building of the LLM prompt from fetched articles.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArticlePromptBuilderBenchmark {
+
+    @Param({"10", "100"})
+    private int articleCount;
+
+    private ArticlePromptBuilder promptBuilder;
+    private Topic topic;
+    private List<NewsApiArticle> articles;
+
+    @Setup
+    public void setUp() {
+        promptBuilder = new ArticlePromptBuilder(new NewsSummarizerSettings());
+        topic = Topic.of("AI model release");
+        articles = BenchmarkFixtures.newsApiResponse(articleCount).articles();
+    }
+
+    @Benchmark
+    public ArticlePrompt build() {
+        return promptBuilder.build(topic, articles);
+    }
+}
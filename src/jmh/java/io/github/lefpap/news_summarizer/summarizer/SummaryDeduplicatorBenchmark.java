@@ -0,0 +1,80 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.BenchmarkFixtures;
+import io.github.lefpap.news_summarizer.summary.OutputSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks near-duplicate detection of a generated summary against an index of stored summaries: computing its
+ * MinHash signature, and looking it up in the LSH index.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SummaryDeduplicatorBenchmark {
+
+    private static final int WORDS = 800;
+
+    @Param({"1000", "100000"})
+    private int storedSummaries;
+
+    private MinHash minHash;
+    private MinHashLshIndex index;
+    private double threshold;
+    private OutputSummary distinct;
+    private OutputSummary duplicate;
+
+    @Setup
+    public void setUp() {
+        NewsSummarizerSettings.Dedup settings = new NewsSummarizerSettings().getDedup();
+        minHash = new MinHash(settings.getHashes(), settings.getShingleSize());
+        index = new MinHashLshIndex(settings.getHashes(), settings.getBands());
+        threshold = settings.getSimilarityThreshold();
+        for (int i = 0; i < storedSummaries; i++) {
+            OutputSummary stored = BenchmarkFixtures.summary(WORDS, 5, 10, i);
+            index.put(stored.id(), minHash.signature(stored));
+        }
+
+        distinct = BenchmarkFixtures.summary(WORDS, 5, 10, -1);
+        // The last stored summary with a paragraph of new text appended, as written from a few more articles
+        OutputSummary stored = BenchmarkFixtures.summary(WORDS, 5, 10, storedSummaries - 1);
+        duplicate = stored.toBuilder()
+            .id(null)
+            .content(stored.content() + "\n\n" + distinct.content().substring(0, distinct.content().length() / 20))
+            .build();
+        if (index.findMostSimilar(minHash.signature(duplicate), threshold).isEmpty()) {
+            throw new IllegalStateException("Expected the duplicate to match a stored summary");
+        }
+    }
+
+    @Benchmark
+    public int[] signature() {
+        return minHash.signature(distinct);
+    }
+
+    @Benchmark
+    public Optional<MinHashLshIndex.Match> findDistinct() {
+        return index.findMostSimilar(minHash.signature(distinct), threshold);
+    }
+
+    @Benchmark
+    public Optional<MinHashLshIndex.Match> findDuplicate() {
+        return index.findMostSimilar(minHash.signature(duplicate), threshold);
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.lefpap.news_summarizer.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks mapping of a single database row, including the JSONB highlights and sources arrays.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutputSummaryJdbcMapperBenchmark {
+
+    @Param({"10", "200"})
+    private int arraySize;
+
+    private RowMapper<OutputSummary> rowMapper;
+    private RowMapper<OutputSummaryCard> cardRowMapper;
+    private ResultSet resultSet;
+
+    @Setup
+    public void setUp() throws Exception {
+        OutputSummaryJdbcMapper mapper = new OutputSummaryJdbcMapper(new Jackson2ObjectMapperBuilder());
+        rowMapper = mapper.rowMapper();
+        cardRowMapper = mapper.cardRowMapper();
+
+        OutputSummary summary = BenchmarkFixtures.summary(3500, arraySize, arraySize);
+        ObjectMapper objectMapper = new ObjectMapper();
+        Timestamp timestamp = Timestamp.valueOf(summary.createdAt());
+        resultSet = resultSet(Map.of(
+            "id", summary.id().toString(),
+            "title", summary.title(),
+            "description", summary.description(),
+            "reading_time", summary.readingTime(),
+            "highlights", objectMapper.writeValueAsString(summary.highlights()),
+            "sources", objectMapper.writeValueAsString(summary.sources()),
+            "content", summary.content(),
+            "created_at", timestamp,
+            "updated_at", timestamp
+        ));
+    }
+
+    @Benchmark
+    public OutputSummary mapRow() throws SQLException {
+        return rowMapper.mapRow(resultSet, 0);
+    }
+
+    @Benchmark
+    public OutputSummaryCard mapCardRow() throws SQLException {
+        return cardRowMapper.mapRow(resultSet, 0);
+    }
+
+    /**
+     * Creates a single-row ResultSet supporting the getters used by the row mappers.
+     */
+    private static ResultSet resultSet(Map<String, Object> row) {
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[]{ResultSet.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getString" -> (String) row.get((String) args[0]);
+                case "getTimestamp" -> (Timestamp) row.get((String) args[0]);
+                default -> throw new UnsupportedOperationException(method.getName());
+            }
+        );
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import io.github.lefpap.news_summarizer.BenchmarkFixtures;
+import io.github.lefpap.news_summarizer.summary.api.ApiSummary;
+import io.github.lefpap.news_summarizer.summary.api.ApiSummaryCard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks mapping of domain summaries to their API representations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutputSummaryMapperBenchmark {
+
+    private OutputSummaryMapper mapper;
+    private OutputSummary summary;
+    private OutputSummaryCard card;
+
+    @Setup
+    public void setUp() {
+        mapper = new OutputSummaryMapper();
+        summary = BenchmarkFixtures.summary(3500, 8, 50);
+        card = new OutputSummaryCard(summary.id(), summary.title(), summary.description(), summary.readingTime(),
+            summary.createdAt(), summary.updatedAt());
+    }
+
+    @Benchmark
+    public ApiSummary toApiSummary() {
+        return mapper.toApi(summary);
+    }
+
+    @Benchmark
+    public ApiSummaryCard toApiCard() {
+        return mapper.toApi(card);
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import io.github.lefpap.news_summarizer.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing of a complete LLM output, both in one go and as a stream of small chunks.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutputSummaryParserBenchmark {
+
+    @Param({"500", "3500"})
+    private int words;
+
+    private OutputSummaryParser parser;
+    private String output;
+    private List<String> chunks;
+
+    @Setup
+    public void setUp() {
+        parser = new OutputSummaryParser(new Jackson2ObjectMapperBuilder());
+        output = BenchmarkFixtures.llmOutput(words, 8, 20);
+
+        // Roughly the size of the chunks streamed by the LLM
+        chunks = new ArrayList<>();
+        for (int i = 0; i < output.length(); i += 16) {
+            chunks.add(output.substring(i, Math.min(output.length(), i + 16)));
+        }
+    }
+
+    @Benchmark
+    public OutputSummary parse() {
+        return parser.parse(output);
+    }
+
+    @Benchmark
+    public OutputSummary parseStream() {
+        OutputSummaryStreamParser streamParser = parser.newStreamParser();
+        for (String chunk : chunks) {
+            streamParser.accept(chunk);
+        }
+        return streamParser.finish();
+    }
+}
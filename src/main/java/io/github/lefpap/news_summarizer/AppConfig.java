@@ -2,16 +2,27 @@ package io.github.lefpap.news_summarizer;
 
 import io.github.lefpap.news_summarizer.auth.AuthSettings;
 import io.github.lefpap.news_summarizer.news_api.NewsApiClientSettings;
+import io.github.lefpap.news_summarizer.news_api.RestClientLoggingSettings;
 import io.github.lefpap.news_summarizer.summarizer.NewsSummarizerSettings;
+import io.github.lefpap.news_summarizer.summary.OutputSummarySettings;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
- * Configuration class for enabling application-specific settings. It enables configuration properties and scheduling.
+ * Configuration class for enabling application-specific settings. It enables configuration properties, scheduling,
+ * and caching.
  */
 @Configuration
-@EnableConfigurationProperties({NewsApiClientSettings.class, NewsSummarizerSettings.class, AuthSettings.class})
+@EnableConfigurationProperties({
+    NewsApiClientSettings.class,
+    RestClientLoggingSettings.class,
+    NewsSummarizerSettings.class,
+    OutputSummarySettings.class,
+    AuthSettings.class
+})
 @EnableScheduling
+@EnableCaching
 public class AppConfig {
 }
@@ -8,13 +8,13 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Service;
 
 /**
- * Authentication provider for validating API keys. Checks the provided API key against the configured settings.
+ * Authentication provider for validating API keys. Checks the provided API key against the {@link ApiKeyStore}.
  */
 @Service
 @RequiredArgsConstructor
 public class ApiKeyAuthenticationProvider implements AuthenticationProvider {
 
-    private final AuthSettings authSettings;
+    private final ApiKeyStore apiKeyStore;
 
     /**
      * Authenticates the provided API key.
@@ -31,18 +31,8 @@ public class ApiKeyAuthenticationProvider implements AuthenticationProvider {
         String id = token.getPrincipal().toString();
         String secret = token.getCredentials().toString();
 
-        var match = authSettings.getApiKeys().stream()
-            .filter(key -> key.id().equals(id))
-            .findFirst();
-
-        if (match.isEmpty()) {
-            throw new BadCredentialsException("Unknown API key");
-        }
-
-        var apiKey = match.get();
-        if (!apiKey.secret().equals(secret)) {
-            throw new BadCredentialsException("Invalid API secret");
-        }
+        var apiKey = apiKeyStore.verify(id, secret)
+            .orElseThrow(() -> new BadCredentialsException("Invalid API key"));
 
         return ApiKeyAuthenticationToken.authenticated(apiKey);
     }
@@ -0,0 +1,83 @@
+package io.github.lefpap.news_summarizer.auth;
+
+import io.github.lefpap.news_summarizer.auth.api.ApiAuthKey;
+import io.github.lefpap.news_summarizer.auth.api.ApiCreateKeyRequest;
+import io.github.lefpap.news_summarizer.auth.api.ApiCreatedKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * REST controller for managing API keys at runtime.
+ * Provides endpoints for listing, creating, and revoking API keys without a restart.
+ */
+@RestController
+@RequestMapping("/api/v1/auth/keys")
+@RequiredArgsConstructor
+public class ApiKeyController {
+
+    private final ApiKeyStore apiKeyStore;
+
+    /**
+     * Lists all API keys, including revoked ones, without their secrets.
+     *
+     * @return the list of API keys
+     */
+    @GetMapping
+    public ResponseEntity<List<ApiAuthKey>> listKeys() {
+        List<ApiAuthKey> keys = apiKeyStore.list().stream()
+            .map(key -> new ApiAuthKey(key.id(), key.role(), key.source(), key.createdAt(), key.revokedAt()))
+            .toList();
+        return ResponseEntity.ok(keys);
+    }
+
+    /**
+     * Creates an API key with a random secret.
+     *
+     * @param request the request containing the optional ID and the role of the API key
+     * @return the created API key, including its secret, which cannot be retrieved again
+     */
+    @PostMapping
+    public ResponseEntity<ApiCreatedKey> createKey(@RequestBody ApiCreateKeyRequest request) {
+        ApiKey key = apiKeyStore.create(request.id(), request.role());
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ApiCreatedKey(key.id(), key.secret(), key.role()));
+    }
+
+    /**
+     * Revokes an API key added through this API.
+     *
+     * @param id the API key ID
+     * @return a response indicating the revocation was successful
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> revokeKey(@PathVariable("id") String id) {
+        apiKeyStore.revoke(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Handles NoSuchElementException by returning a 404 Not Found response.
+     *
+     * @param e the exception
+     * @return a 404 Not Found response
+     */
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<String> handleNoSuchElementException(NoSuchElementException e) {
+        return ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Handles IllegalArgumentException (e.g. a duplicate ID) by returning a 400 Bad Request response.
+     *
+     * @param e the exception
+     * @return a 400 Bad Request response
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.lefpap.news_summarizer.auth;
+
+import io.github.lefpap.news_summarizer.auth.ApiKey.AuthRole;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+import static io.github.lefpap.news_summarizer.auth.ApiKeySql.INSERT_SQL;
+import static io.github.lefpap.news_summarizer.auth.ApiKeySql.REVOKE_SQL;
+import static io.github.lefpap.news_summarizer.auth.ApiKeySql.SELECT_ALL_SQL;
+
+/**
+ * Repository for the API keys added at runtime. Secrets are only ever stored as salted hashes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ApiKeyJdbcRepository {
+
+    private final JdbcClient jdbcClient;
+
+    /**
+     * Retrieves all API keys, including revoked ones, oldest first.
+     *
+     * @return a list of all API keys
+     */
+    public List<StoredApiKey> findAll() {
+        return jdbcClient.sql(SELECT_ALL_SQL)
+            .query(rowMapper())
+            .list();
+    }
+
+    /**
+     * Inserts a new API key.
+     *
+     * @param id         the API key ID
+     * @param secretHash the salted hash of the API key secret
+     * @param role       the role associated with the API key
+     * @return the inserted API key, or empty if a key with the same ID exists
+     */
+    public Optional<StoredApiKey> insert(String id, String secretHash, AuthRole role) {
+        return jdbcClient.sql(INSERT_SQL)
+            .param("id", id)
+            .param("secret_hash", secretHash)
+            .param("role", role.name())
+            .query(rowMapper())
+            .optional();
+    }
+
+    /**
+     * Revokes an active API key.
+     *
+     * @param id the API key ID
+     * @return the revoked API key, or empty if no active key has the given ID
+     */
+    public Optional<StoredApiKey> revoke(String id) {
+        return jdbcClient.sql(REVOKE_SQL)
+            .param("id", id)
+            .query(rowMapper())
+            .optional();
+    }
+
+    /**
+     * Maps a row of the api_keys table to a StoredApiKey.
+     *
+     * @return the row mapper
+     */
+    private RowMapper<StoredApiKey> rowMapper() {
+        return (rs, rowNum) -> {
+            Timestamp revokedAt = rs.getTimestamp("revoked_at");
+            return StoredApiKey.builder()
+                .id(rs.getString("id"))
+                .secretHash(rs.getString("secret_hash"))
+                .role(AuthRole.valueOf(rs.getString("role")))
+                .source(StoredApiKey.Source.DATABASE)
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .revokedAt(revokedAt == null ? null : revokedAt.toLocalDateTime())
+                .build();
+        };
+    }
+}
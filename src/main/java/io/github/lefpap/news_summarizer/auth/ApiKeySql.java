@@ -0,0 +1,38 @@
+package io.github.lefpap.news_summarizer.auth;
+
+/**
+ * Contains SQL queries for managing API keys in the database.
+ */
+public class ApiKeySql {
+
+    private ApiKeySql() {
+        // Prevent instantiation
+    }
+
+    /**
+     * SQL query to select all API keys, including revoked ones, oldest first.
+     */
+    public static final String SELECT_ALL_SQL = """
+        SELECT id, secret_hash, role, created_at, revoked_at FROM api_keys
+        ORDER BY created_at, id
+        """;
+
+    /**
+     * SQL query to insert a new API key. Returns no row if a key with the same ID, even a revoked one, exists.
+     */
+    public static final String INSERT_SQL = """
+        INSERT INTO api_keys (id, secret_hash, role)
+        VALUES (:id, :secret_hash, :role)
+        ON CONFLICT (id) DO NOTHING
+        RETURNING id, secret_hash, role, created_at, revoked_at
+        """;
+
+    /**
+     * SQL query to revoke an active API key.
+     */
+    public static final String REVOKE_SQL = """
+        UPDATE api_keys SET revoked_at = now()
+        WHERE id = :id AND revoked_at IS NULL
+        RETURNING id, secret_hash, role, created_at, revoked_at
+        """;
+}
@@ -0,0 +1,257 @@
+package io.github.lefpap.news_summarizer.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.lefpap.news_summarizer.auth.ApiKey.AuthRole;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Store of the API keys allowed to access the API, indexed by ID.
+ *
+ * <p>
+ * Keys come from two sources: {@code app.auth.api-keys}, hashed at startup, and the {@code api_keys} table, managed
+ * through the admin API and reloaded every {@code app.auth.refresh-interval}. Secrets are kept only as salted PBKDF2
+ * hashes and compared in constant time. Unknown IDs are checked against a dummy hash, so response times do not reveal
+ * which IDs exist.
+ *
+ * <p>
+ * Successful verifications are remembered for {@code app.auth.verification-cache-ttl} as a SHA-256 digest of the
+ * secret, so a hot client is not re-hashed on every request. A remembered verification only holds while the key is
+ * still in the store with the same hash, so revoking a key takes effect immediately on this instance, and within one
+ * refresh interval on the others.
+ */
+@Slf4j
+@Component
+public class ApiKeyStore {
+
+    private static final int SALT_BYTES = 16;
+    private static final int SECRET_BYTES = 32;
+    private static final Pattern ID_PATTERN = Pattern.compile("[A-Za-z0-9._-]{1,100}");
+
+    private final ApiKeyJdbcRepository repository;
+    private final PasswordEncoder encoder;
+    private final Map<String, StoredApiKey> configKeys;
+    private final Cache<String, Verification> verifications;
+    private final String unknownKeyHash;
+    private final SecureRandom random = new SecureRandom();
+
+    private volatile Map<String, StoredApiKey> databaseKeys = Map.of();
+
+    /**
+     * Constructs an ApiKeyStore, hashing the API keys defined in configuration.
+     *
+     * @param settings   the authentication settings
+     * @param repository the repository of the API keys added at runtime
+     */
+    public ApiKeyStore(AuthSettings settings, ApiKeyJdbcRepository repository) {
+        this.repository = repository;
+        this.encoder = new Pbkdf2PasswordEncoder("", SALT_BYTES, settings.getHashIterations(),
+            Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+        this.configKeys = settings.getApiKeys().stream()
+            .map(key -> StoredApiKey.builder()
+                .id(key.id())
+                .secretHash(encoder.encode(key.secret()))
+                .role(key.role())
+                .source(StoredApiKey.Source.CONFIG)
+                .build())
+            .collect(Collectors.toUnmodifiableMap(StoredApiKey::id, Function.identity()));
+        this.verifications = Caffeine.newBuilder()
+            .expireAfterWrite(settings.getVerificationCacheTtl())
+            .maximumSize(settings.getVerificationCacheSize())
+            .build();
+        this.unknownKeyHash = encoder.encode(newSecret());
+    }
+
+    /**
+     * Loads the API keys stored in the database, keeping the previously loaded keys if the database is unavailable.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${app.auth.refresh-interval:30s}", initialDelayString = "${app.auth.refresh-interval:30s}")
+    public void refresh() {
+        try {
+            databaseKeys = repository.findAll().stream()
+                .filter(StoredApiKey::active)
+                .filter(key -> !configKeys.containsKey(key.id()))
+                .collect(Collectors.toUnmodifiableMap(StoredApiKey::id, Function.identity()));
+        } catch (DataAccessException e) {
+            log.warn("Failed to reload API keys, keeping {} previously loaded keys", databaseKeys.size(), e);
+        }
+    }
+
+    /**
+     * Verifies an API key ID and secret.
+     *
+     * @param id     the API key ID
+     * @param secret the API key secret
+     * @return the verified API key, without its secret, or empty if the ID is unknown or the secret is wrong
+     */
+    public Optional<ApiKey> verify(String id, String secret) {
+        StoredApiKey key = find(id);
+        byte[] digest = sha256(secret);
+
+        if (key != null) {
+            Verification verification = verifications.getIfPresent(id);
+            if (verification != null && verification.matches(key, digest)) {
+                return Optional.of(ApiKey.of(key.id(), null, key.role()));
+            }
+        }
+
+        // Hash even for unknown IDs, so they take as long to reject as wrong secrets
+        boolean matches = encoder.matches(secret, key != null ? key.secretHash() : unknownKeyHash);
+        if (key == null || !matches) {
+            return Optional.empty();
+        }
+
+        verifications.put(id, new Verification(key.secretHash(), digest));
+        return Optional.of(ApiKey.of(key.id(), null, key.role()));
+    }
+
+    /**
+     * Lists all API keys, including revoked ones, without their secrets.
+     *
+     * @return the API keys defined in configuration, followed by the API keys stored in the database
+     */
+    public List<StoredApiKey> list() {
+        List<StoredApiKey> keys = new ArrayList<>(configKeys.values());
+        repository.findAll().stream()
+            .filter(key -> !configKeys.containsKey(key.id()))
+            .forEach(keys::add);
+        return keys.stream().map(key -> key.toBuilder().secretHash(null).build()).toList();
+    }
+
+    /**
+     * Creates an API key with a random secret and stores it in the database.
+     *
+     * @param id   the API key ID, or null to generate one
+     * @param role the role associated with the API key
+     * @return the created API key, including its secret, which is not stored and cannot be retrieved again
+     * @throws IllegalArgumentException if the ID is invalid or already used, even by a revoked key
+     */
+    public ApiKey create(String id, AuthRole role) {
+        String keyId = Optional.ofNullable(id).orElseGet(() -> "key-" + HexFormat.of().formatHex(randomBytes(6)));
+        if (!ID_PATTERN.matcher(keyId).matches()) {
+            throw new IllegalArgumentException("API key ID must match %s".formatted(ID_PATTERN.pattern()));
+        }
+        if (role == null) {
+            throw new IllegalArgumentException("API key role is required");
+        }
+        if (configKeys.containsKey(keyId)) {
+            throw new IllegalArgumentException("API key [%s] already exists".formatted(keyId));
+        }
+
+        String secret = newSecret();
+        StoredApiKey key = repository.insert(keyId, encoder.encode(secret), role)
+            .orElseThrow(() -> new IllegalArgumentException("API key [%s] already exists".formatted(keyId)));
+
+        refresh();
+        log.info("Created API key [{}] with role {}", key.id(), key.role());
+        return ApiKey.of(key.id(), secret, key.role());
+    }
+
+    /**
+     * Revokes an API key stored in the database. The key can no longer be used to authenticate.
+     *
+     * @param id the API key ID
+     * @throws IllegalArgumentException if the API key is defined in configuration
+     * @throws NoSuchElementException   if no active API key has the given ID
+     */
+    public void revoke(String id) {
+        if (configKeys.containsKey(id)) {
+            throw new IllegalArgumentException("API key [%s] is defined in configuration".formatted(id));
+        }
+
+        repository.revoke(id)
+            .orElseThrow(() -> new NoSuchElementException("API key [%s] not found".formatted(id)));
+
+        verifications.invalidate(id);
+        refresh();
+        log.info("Revoked API key [{}]", id);
+    }
+
+    /**
+     * Finds an active API key by its ID.
+     *
+     * @param id the API key ID
+     * @return the API key, or null if no active key has the given ID
+     */
+    private StoredApiKey find(String id) {
+        StoredApiKey key = configKeys.get(id);
+        return key != null ? key : databaseKeys.get(id);
+    }
+
+    /**
+     * Generates a random API key secret.
+     *
+     * @return a URL-safe secret of {@value #SECRET_BYTES} random bytes
+     */
+    private String newSecret() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes(SECRET_BYTES));
+    }
+
+    /**
+     * Generates random bytes.
+     *
+     * @param length the number of bytes
+     * @return the random bytes
+     */
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Computes the SHA-256 digest of a secret.
+     *
+     * @param secret the secret
+     * @return the digest
+     */
+    private static byte[] sha256(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A remembered successful verification.
+     *
+     * @param secretHash   the hash of the key at the time of the verification
+     * @param secretDigest the SHA-256 digest of the verified secret
+     */
+    private record Verification(String secretHash, byte[] secretDigest) {
+
+        /**
+         * Returns whether this verification still holds for a key and a presented secret.
+         *
+         * @param key    the current API key
+         * @param digest the SHA-256 digest of the presented secret
+         * @return true if the key is unchanged and the secret is the verified one
+         */
+        boolean matches(StoredApiKey key, byte[] digest) {
+            return secretHash.equals(key.secretHash()) && MessageDigest.isEqual(secretDigest, digest);
+        }
+    }
+}
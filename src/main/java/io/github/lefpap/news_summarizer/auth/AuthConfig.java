@@ -46,13 +46,15 @@ public class AuthConfig {
     /**
      * Configures the security filter chain for handling API requests.
      *
-     * @param http       the HttpSecurity object
-     * @param authFilter the API key authentication filter
+     * @param http            the HttpSecurity object
+     * @param authFilter      the API key authentication filter
+     * @param rateLimitFilter the rate limit filter, applied once the client is identified
      * @return the configured SecurityFilterChain
      * @throws Exception if an error occurs during configuration
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, ApiKeyAuthenticationFilter authFilter)
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, ApiKeyAuthenticationFilter authFilter,
+                                                   RateLimitFilter rateLimitFilter)
         throws Exception {
 
         http.formLogin(AbstractHttpConfigurer::disable);
@@ -75,12 +77,28 @@ public class AuthConfig {
 
             .requestMatchers("/api/v1/summaries/**")
             .hasRole(AuthRole.FULL_ACCESS.name())
+
+            .requestMatchers(HttpMethod.GET, "/api/v1/news/**")
+            .hasAnyRole(AuthRole.READ_ONLY.name(), AuthRole.FULL_ACCESS.name())
+
+            .requestMatchers("/api/v1/summarizer/**")
+            .hasRole(AuthRole.FULL_ACCESS.name())
+
+            .requestMatchers("/api/v1/auth/**")
+            .hasRole(AuthRole.FULL_ACCESS.name())
+
+            .requestMatchers("/actuator/health")
+            .permitAll()
+
+            .requestMatchers("/actuator/**")
+            .hasRole(AuthRole.FULL_ACCESS.name())
         );
 
         http.exceptionHandling(config ->
             config.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)));
 
         http.addFilterBefore(authFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(rateLimitFilter, ApiKeyAuthenticationFilter.class);
         return http.build();
     }
 
@@ -1,15 +1,27 @@
 package io.github.lefpap.news_summarizer.auth;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import io.github.lefpap.news_summarizer.auth.ApiKey.AuthRole;
+
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Configuration properties for authentication settings.
  * Includes API keys and a flag to enable or disable authentication.
+ *
+ * <p>
+ * The API keys listed here are hashed at startup and can only be changed by editing the configuration; keys added
+ * through the admin API are stored in the database.
  */
 @Data
 @ConfigurationProperties("app.auth")
@@ -24,4 +36,143 @@ public class AuthSettings {
      * List of API keys for authentication.
      */
     List<@NotNull ApiKey> apiKeys = new ArrayList<>();
+
+    /**
+     * PBKDF2 iterations used to hash API key secrets. API secrets issued by the admin API are random, so this is
+     * lower than for user passwords; verification is cached anyway.
+     */
+    @Positive
+    int hashIterations = 10_000;
+
+    /**
+     * How long a successful verification is remembered, so hot clients are not re-hashed on every request.
+     */
+    @NotNull
+    Duration verificationCacheTtl = Duration.ofMinutes(1);
+
+    /**
+     * Maximum number of remembered verifications.
+     */
+    @Positive
+    int verificationCacheSize = 10_000;
+
+    /**
+     * How often the keys stored in the database are reloaded, picking up keys added or revoked on other instances.
+     */
+    @NotNull
+    Duration refreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * Rate limits applied to authenticated API keys and anonymous clients.
+     */
+    @Valid
+    RateLimit rateLimit = new RateLimit();
+
+    /**
+     * Settings of the per-client rate limits.
+     */
+    @Data
+    public static class RateLimit {
+
+        /**
+         * Flag to enable or disable rate limiting.
+         */
+        boolean enabled = true;
+
+        /**
+         * Where the rate limit buckets are kept.
+         */
+        @NotNull
+        Mode mode = Mode.LOCAL;
+
+        /**
+         * Limit of each API key, by role.
+         */
+        Map<AuthRole, @Valid Limit> roles = new EnumMap<>(Map.of(
+            AuthRole.READ_ONLY, new Limit(60, 20),
+            AuthRole.FULL_ACCESS, new Limit(600, 100)
+        ));
+
+        /**
+         * Limits of specific API keys, by ID, overriding the limit of their role.
+         */
+        Map<String, @Valid Limit> keys = new HashMap<>();
+
+        /**
+         * Limit of each unauthenticated client, by remote address.
+         */
+        @Valid
+        Limit anonymous = new Limit(30, 10);
+
+        /**
+         * Returns the limit of an API key: its own limit if configured, otherwise the limit of its role.
+         *
+         * @param apiKey the authenticated API key
+         * @return the limit of the API key
+         */
+        public Limit limitOf(ApiKey apiKey) {
+            Limit limit = keys.get(apiKey.id());
+            return limit != null ? limit : roles.getOrDefault(apiKey.role(), anonymous);
+        }
+    }
+
+    /**
+     * Where the rate limit buckets are kept.
+     */
+    public enum Mode {
+        /**
+         * In memory; each instance enforces the limits on its own.
+         */
+        LOCAL,
+
+        /**
+         * In Postgres, shared by all instances. Falls back to in-memory buckets while the database is unavailable.
+         */
+        SHARED,
+    }
+
+    /**
+     * A token bucket limit: a sustained request rate, and the number of requests that may be made at once.
+     */
+    @Data
+    public static class Limit {
+
+        /**
+         * Sustained number of requests allowed per minute.
+         */
+        @Positive
+        int requestsPerMinute;
+
+        /**
+         * Maximum number of requests allowed in a burst; the capacity of the bucket.
+         */
+        @Positive
+        int burst;
+
+        /**
+         * Constructs an empty Limit, for binding.
+         */
+        public Limit() {
+        }
+
+        /**
+         * Constructs a Limit.
+         *
+         * @param requestsPerMinute the sustained number of requests allowed per minute
+         * @param burst             the maximum number of requests allowed in a burst
+         */
+        public Limit(int requestsPerMinute, int burst) {
+            this.requestsPerMinute = requestsPerMinute;
+            this.burst = burst;
+        }
+
+        /**
+         * Returns the time it takes the bucket to regain one request.
+         *
+         * @return the emission interval of the limit
+         */
+        public Duration interval() {
+            return Duration.ofMinutes(1).dividedBy(requestsPerMinute);
+        }
+    }
 }
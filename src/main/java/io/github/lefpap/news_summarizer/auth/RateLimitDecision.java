@@ -0,0 +1,45 @@
+package io.github.lefpap.news_summarizer.auth;
+
+import java.time.Duration;
+
+/**
+ * The outcome of taking a request from a rate limit bucket.
+ *
+ * @param allowed    whether the request is allowed
+ * @param limit      the limit of the bucket
+ * @param remaining  the number of requests that can still be made at once
+ * @param resetAfter how long until the bucket is full again
+ * @param retryAfter how long until the next request is allowed; zero if this request is allowed
+ */
+public record RateLimitDecision(
+    boolean allowed,
+    AuthSettings.Limit limit,
+    long remaining,
+    Duration resetAfter,
+    Duration retryAfter
+) {
+
+    /**
+     * Creates a decision allowing the request.
+     *
+     * @param limit      the limit of the bucket
+     * @param remaining  the number of requests that can still be made at once
+     * @param resetAfter how long until the bucket is full again
+     * @return the decision
+     */
+    public static RateLimitDecision allowed(AuthSettings.Limit limit, long remaining, Duration resetAfter) {
+        return new RateLimitDecision(true, limit, remaining, resetAfter, Duration.ZERO);
+    }
+
+    /**
+     * Creates a decision rejecting the request.
+     *
+     * @param limit      the limit of the bucket
+     * @param resetAfter how long until the bucket is full again
+     * @param retryAfter how long until the next request is allowed
+     * @return the decision
+     */
+    public static RateLimitDecision limited(AuthSettings.Limit limit, Duration resetAfter, Duration retryAfter) {
+        return new RateLimitDecision(false, limit, 0, resetAfter, retryAfter);
+    }
+}
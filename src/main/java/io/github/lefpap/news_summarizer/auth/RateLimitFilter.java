@@ -0,0 +1,112 @@
+package io.github.lefpap.news_summarizer.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Filter enforcing the per-client rate limits, placed right after {@link ApiKeyAuthenticationFilter}.
+ *
+ * <p>
+ * Authenticated requests are limited per API key, with the limit of the key or of its role; other requests are
+ * limited per remote address, which also slows down guessing API secrets. Every response carries the
+ * {@code RateLimit-Limit}, {@code RateLimit-Remaining}, {@code RateLimit-Reset} and {@code RateLimit-Policy} headers;
+ * rejected requests get a 429 Too Many Requests response with a {@code Retry-After} header. Decisions are counted in
+ * the {@code auth.rate_limit.requests} counter, tagged by API key and outcome.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String ANONYMOUS = "anonymous";
+
+    private final AuthSettings authSettings;
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Takes a request from the bucket of the client, rejecting the request if the bucket is empty.
+     *
+     * @param request     the HTTP request
+     * @param response    the HTTP response
+     * @param filterChain the filter chain
+     * @throws ServletException if an error occurs during filtering
+     * @throws IOException      if an I/O error occurs
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+
+        AuthSettings.RateLimit settings = authSettings.getRateLimit();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        String key;
+        String bucket;
+        AuthSettings.Limit limit;
+        if (authentication instanceof ApiKeyAuthenticationToken token && token.isAuthenticated()) {
+            key = token.getApiKey().id();
+            bucket = "key:" + key;
+            limit = settings.limitOf(token.getApiKey());
+        } else {
+            key = ANONYMOUS;
+            bucket = "address:" + request.getRemoteAddr();
+            limit = settings.getAnonymous();
+        }
+
+        RateLimitDecision decision = rateLimiter.tryAcquire(bucket, limit);
+
+        response.setHeader("RateLimit-Limit", String.valueOf(limit.getBurst()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(seconds(decision.resetAfter())));
+        response.setHeader("RateLimit-Policy", "%d;w=60;burst=%d".formatted(limit.getRequestsPerMinute(), limit.getBurst()));
+
+        Counter.builder("auth.rate_limit.requests")
+            .description("Requests checked against the rate limits")
+            .tag("key", key)
+            .tag("outcome", decision.allowed() ? "allowed" : "limited")
+            .register(meterRegistry)
+            .increment();
+
+        if (!decision.allowed()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, seconds(decision.retryAfter()))));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Skips rate limiting when disabled, and for health checks.
+     *
+     * @param request the HTTP request
+     * @return true if the request is not rate limited
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !authSettings.getRateLimit().isEnabled() || request.getRequestURI().startsWith("/actuator/health");
+    }
+
+    /**
+     * Rounds a duration up to whole seconds, as used by the rate limit headers.
+     *
+     * @param duration the duration
+     * @return the number of seconds
+     */
+    private static long seconds(Duration duration) {
+        return (duration.toMillis() + 999) / 1000;
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.lefpap.news_summarizer.auth;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+import static io.github.lefpap.news_summarizer.auth.RateLimitSql.ACQUIRE_SQL;
+import static io.github.lefpap.news_summarizer.auth.RateLimitSql.DELETE_FULL_SQL;
+import static io.github.lefpap.news_summarizer.auth.RateLimitSql.SELECT_TAT_SQL;
+
+/**
+ * Repository for the rate limit buckets shared by all instances. Every operation is a single statement.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RateLimitJdbcRepository {
+
+    private final JdbcClient jdbcClient;
+
+    /**
+     * Takes a request from a bucket, if the bucket would not overflow.
+     *
+     * @param name       the name of the bucket
+     * @param nowMs      the current time, in epoch milliseconds
+     * @param intervalMs the emission interval of the limit, in milliseconds
+     * @param capacityMs the capacity of the bucket, in milliseconds
+     * @return the new theoretical arrival time of the bucket, or empty if the request is not allowed
+     */
+    public Optional<Long> tryAcquire(String name, long nowMs, long intervalMs, long capacityMs) {
+        return jdbcClient.sql(ACQUIRE_SQL)
+            .param("name", name)
+            .param("now_ms", nowMs)
+            .param("interval_ms", intervalMs)
+            .param("capacity_ms", capacityMs)
+            .query(Long.class)
+            .optional();
+    }
+
+    /**
+     * Retrieves the theoretical arrival time of a bucket.
+     *
+     * @param name the name of the bucket
+     * @return the theoretical arrival time, in epoch milliseconds, or empty if the bucket is full
+     */
+    public Optional<Long> findTat(String name) {
+        return jdbcClient.sql(SELECT_TAT_SQL)
+            .param("name", name)
+            .query(Long.class)
+            .optional();
+    }
+
+    /**
+     * Deletes the buckets that are full again.
+     *
+     * @param nowMs the current time, in epoch milliseconds
+     * @return the number of deleted buckets
+     */
+    public int deleteFull(long nowMs) {
+        return jdbcClient.sql(DELETE_FULL_SQL)
+            .param("now_ms", nowMs)
+            .update();
+    }
+}
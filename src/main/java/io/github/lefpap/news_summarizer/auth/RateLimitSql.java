@@ -0,0 +1,45 @@
+package io.github.lefpap.news_summarizer.auth;
+
+/**
+ * Contains SQL queries for the rate limit buckets shared by all instances.
+ *
+ * <p>
+ * Each bucket is stored as its theoretical arrival time ({@code tat_ms}): the time at which the bucket will be full
+ * again. A request is allowed if the bucket would not overflow, i.e. if pushing the theoretical arrival time by one
+ * emission interval keeps it within the bucket capacity of now.
+ */
+public class RateLimitSql {
+
+    private RateLimitSql() {
+        // Prevent instantiation
+    }
+
+    /**
+     * SQL query to take a request from a bucket. Returns the new theoretical arrival time if the request is allowed,
+     * and no row (leaving the bucket unchanged) if it is not.
+     */
+    public static final String ACQUIRE_SQL = """
+        INSERT INTO rate_limit_buckets AS bucket (name, tat_ms)
+        VALUES (:name, :now_ms + :interval_ms)
+        ON CONFLICT (name) DO UPDATE SET
+            tat_ms = GREATEST(bucket.tat_ms, :now_ms) + :interval_ms
+        WHERE GREATEST(bucket.tat_ms, :now_ms) + :interval_ms - :now_ms <= :capacity_ms
+        RETURNING tat_ms
+        """;
+
+    /**
+     * SQL query to select the theoretical arrival time of a bucket.
+     */
+    public static final String SELECT_TAT_SQL = """
+        SELECT tat_ms FROM rate_limit_buckets
+        WHERE name = :name
+        """;
+
+    /**
+     * SQL query to delete the buckets that are full again, which behave like missing buckets.
+     */
+    public static final String DELETE_FULL_SQL = """
+        DELETE FROM rate_limit_buckets
+        WHERE tat_ms < :now_ms
+        """;
+}
@@ -0,0 +1,159 @@
+package io.github.lefpap.news_summarizer.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.lefpap.news_summarizer.auth.AuthSettings.Limit;
+import io.github.lefpap.news_summarizer.auth.AuthSettings.Mode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter, implemented with the generic cell rate algorithm: each bucket is a single number, the
+ * theoretical arrival time at which the bucket will be full again.
+ *
+ * <p>
+ * In {@link Mode#LOCAL} mode, buckets are {@link AtomicLong}s updated with compare-and-set, so no lock is taken on the
+ * request path; idle buckets are evicted once full. In {@link Mode#SHARED} mode, buckets are rows updated with a single
+ * conditional upsert, so the limits hold across all instances; while the database is unavailable, the in-memory
+ * buckets are used instead, so requests are never rejected because of a database failure.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private final AuthSettings.RateLimit settings;
+    private final RateLimitJdbcRepository repository;
+    private final LongSupplier nanoTime;
+    private final Clock clock;
+    private final Cache<String, AtomicLong> buckets;
+    private final AtomicBoolean sharedUnavailable = new AtomicBoolean();
+
+    /**
+     * Constructs a RateLimiter.
+     *
+     * @param settings   the authentication settings
+     * @param repository the repository of the shared buckets
+     */
+    @Autowired
+    public RateLimiter(AuthSettings settings, RateLimitJdbcRepository repository) {
+        this(settings.getRateLimit(), repository, System::nanoTime, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a RateLimiter with the given clocks.
+     *
+     * @param settings   the rate limit settings
+     * @param repository the repository of the shared buckets
+     * @param nanoTime   the monotonic clock of the in-memory buckets
+     * @param clock      the wall clock of the shared buckets
+     */
+    RateLimiter(AuthSettings.RateLimit settings, RateLimitJdbcRepository repository, LongSupplier nanoTime, Clock clock) {
+        this.settings = settings;
+        this.repository = repository;
+        this.nanoTime = nanoTime;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+    }
+
+    /**
+     * Takes a request from a bucket.
+     *
+     * @param bucket the name of the bucket, e.g. the API key it limits
+     * @param limit  the limit of the bucket
+     * @return whether the request is allowed, with the state of the bucket
+     */
+    public RateLimitDecision tryAcquire(String bucket, Limit limit) {
+        if (settings.getMode() == Mode.SHARED) {
+            try {
+                RateLimitDecision decision = tryAcquireShared(bucket, limit);
+                if (sharedUnavailable.compareAndSet(true, false)) {
+                    log.info("Shared rate limit buckets are available again");
+                }
+                return decision;
+            } catch (DataAccessException e) {
+                if (sharedUnavailable.compareAndSet(false, true)) {
+                    log.warn("Shared rate limit buckets are unavailable, falling back to in-memory buckets", e);
+                }
+            }
+        }
+
+        return tryAcquireLocal(bucket, limit);
+    }
+
+    /**
+     * Deletes the shared buckets that are full again, which behave like missing buckets.
+     */
+    @Scheduled(fixedDelayString = "PT5M", initialDelayString = "PT5M")
+    public void deleteFullBuckets() {
+        if (settings.getMode() != Mode.SHARED) {
+            return;
+        }
+
+        try {
+            int deleted = repository.deleteFull(clock.millis());
+            log.debug("Deleted {} full rate limit buckets", deleted);
+        } catch (DataAccessException e) {
+            log.warn("Failed to delete full rate limit buckets", e);
+        }
+    }
+
+    /**
+     * Takes a request from an in-memory bucket.
+     *
+     * @param bucket the name of the bucket
+     * @param limit  the limit of the bucket
+     * @return the decision
+     */
+    private RateLimitDecision tryAcquireLocal(String bucket, Limit limit) {
+        AtomicLong state = buckets.get(bucket, name -> new AtomicLong(Long.MIN_VALUE));
+        long interval = limit.interval().toNanos();
+        long capacity = interval * limit.getBurst();
+
+        while (true) {
+            long now = nanoTime.getAsLong();
+            long tat = state.get();
+            long next = Math.max(tat, now) + interval;
+            if (next - now > capacity) {
+                return RateLimitDecision.limited(limit, Duration.ofNanos(tat - now), Duration.ofNanos(next - now - capacity));
+            }
+            if (state.compareAndSet(tat, next)) {
+                return RateLimitDecision.allowed(limit, (capacity - (next - now)) / interval, Duration.ofNanos(next - now));
+            }
+        }
+    }
+
+    /**
+     * Takes a request from a bucket shared by all instances.
+     *
+     * @param bucket the name of the bucket
+     * @param limit  the limit of the bucket
+     * @return the decision
+     */
+    private RateLimitDecision tryAcquireShared(String bucket, Limit limit) {
+        long now = clock.millis();
+        long interval = Math.max(1, limit.interval().toMillis());
+        long capacity = interval * limit.getBurst();
+
+        var acquired = repository.tryAcquire(bucket, now, interval, capacity);
+        if (acquired.isPresent()) {
+            long next = acquired.get();
+            return RateLimitDecision.allowed(limit, (capacity - (next - now)) / interval, Duration.ofMillis(next - now));
+        }
+
+        long tat = repository.findTat(bucket).orElse(now);
+        long next = Math.max(tat, now) + interval;
+        return RateLimitDecision.limited(limit, Duration.ofMillis(Math.max(0, tat - now)),
+            Duration.ofMillis(Math.max(0, next - now - capacity)));
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.lefpap.news_summarizer.auth;
+
+import io.github.lefpap.news_summarizer.auth.ApiKey.AuthRole;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents an API key as kept by the {@link ApiKeyStore}, with its secret only as a salted hash.
+ *
+ * @param id         the API key ID
+ * @param secretHash the salted hash of the API key secret
+ * @param role       the role associated with the API key
+ * @param source     where the API key is defined
+ * @param createdAt  when the API key was created, or null for keys defined in configuration
+ * @param revokedAt  when the API key was revoked, or null if it is active
+ */
+@Builder(toBuilder = true)
+public record StoredApiKey(
+    String id,
+    String secretHash,
+    AuthRole role,
+    Source source,
+    LocalDateTime createdAt,
+    LocalDateTime revokedAt
+) {
+
+    /**
+     * Returns whether the API key can be used to authenticate.
+     *
+     * @return true if the API key has not been revoked
+     */
+    public boolean active() {
+        return revokedAt == null;
+    }
+
+    /**
+     * Where an API key is defined.
+     */
+    public enum Source {
+        /**
+         * Defined in {@code app.auth.api-keys}; can only be changed by editing the configuration.
+         */
+        CONFIG,
+
+        /**
+         * Added through the admin API and stored in the database.
+         */
+        DATABASE,
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.lefpap.news_summarizer.auth.api;
+
+import io.github.lefpap.news_summarizer.auth.ApiKey.AuthRole;
+import io.github.lefpap.news_summarizer.auth.StoredApiKey.Source;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents an API key in the API response format, without its secret.
+ *
+ * @param id        the API key ID
+ * @param role      the role associated with the API key
+ * @param source    where the API key is defined
+ * @param createdAt when the API key was created, or null for keys defined in configuration
+ * @param revokedAt when the API key was revoked, or null if it is active
+ */
+public record ApiAuthKey(
+    String id,
+    AuthRole role,
+    Source source,
+    LocalDateTime createdAt,
+    LocalDateTime revokedAt
+) {
+}
@@ -0,0 +1,15 @@
+package io.github.lefpap.news_summarizer.auth.api;
+
+import io.github.lefpap.news_summarizer.auth.ApiKey.AuthRole;
+
+/**
+ * Represents a request to create an API key.
+ *
+ * @param id   the optional API key ID; generated if missing
+ * @param role the role associated with the API key
+ */
+public record ApiCreateKeyRequest(
+    String id,
+    AuthRole role
+) {
+}
@@ -0,0 +1,17 @@
+package io.github.lefpap.news_summarizer.auth.api;
+
+import io.github.lefpap.news_summarizer.auth.ApiKey.AuthRole;
+
+/**
+ * Represents a newly created API key. The secret is only returned once, on creation.
+ *
+ * @param id     the API key ID, sent as {@code X-API-ID}
+ * @param secret the API key secret, sent as {@code X-API-SECRET}
+ * @param role   the role associated with the API key
+ */
+public record ApiCreatedKey(
+    String id,
+    String secret,
+    AuthRole role
+) {
+}
@@ -1,13 +1,26 @@
 package io.github.lefpap.news_summarizer.news_api;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.validation.Valid;
 import org.springframework.stereotype.Service;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.client.RestClient;
 
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+
 /**
  * Service for interacting with the News API.
+ *
+ * <p>
+ * Responses are cached by their {@linkplain NewsApiQueryParams#normalized() normalized} query parameters. Concurrent identical requests collapse into a single
+ * upstream call, and expired responses may optionally be served while they are refreshed in the background.
+ * Upstream calls run on virtual threads and callers wait on the pending response rather than on a cache lock,
+ * so coalesced callers never pin their carrier threads.
  */
 @Service
 public class NewsApiClient {
@@ -18,18 +31,21 @@ public class NewsApiClient {
     public static final String API_KEY_HEADER = "X-Api-Key";
 
     private final RestClient restClient;
+    private final AsyncLoadingCache<Map<String, String>, NewsApiResponse> responseCache;
 
     /**
      * Constructs a NewsApiClient with the specified RestClient builder and settings.
      *
      * @param restClientBuilder the RestClient builder
      * @param clientSettings    the settings for the News API client
+     * @param meterRegistry     the registry for the response cache metrics
      */
-    public NewsApiClient(RestClient.Builder restClientBuilder, NewsApiClientSettings clientSettings) {
+    public NewsApiClient(RestClient.Builder restClientBuilder, NewsApiClientSettings clientSettings, MeterRegistry meterRegistry) {
         this.restClient = restClientBuilder
             .baseUrl(clientSettings.getBaseUrl())
             .defaultHeader(API_KEY_HEADER, clientSettings.getApiKey())
             .build();
+        this.responseCache = createResponseCache(clientSettings.getCache(), meterRegistry);
     }
 
     /**
@@ -38,15 +54,8 @@ public class NewsApiClient {
      * @param query the search query
      * @return the response containing news articles
      */
-    public NewsApiResponse getEverything(@RequestParam(value = "q") String query) {
-        return restClient.get()
-            .uri(uriBuilder -> uriBuilder
-                .path("/everything")
-                .queryParam("q", query)
-                .build()
-            )
-            .retrieve()
-            .body(NewsApiResponse.class);
+    public NewsApiResponse getEverything(String query) {
+        return getEverything(NewsApiQueryParams.builder().q(query).build());
     }
 
     /**
@@ -56,13 +65,64 @@ public class NewsApiClient {
      * @return the response containing news articles
      */
     public NewsApiResponse getEverything(@Valid NewsApiQueryParams queryParams) {
+        Map<String, String> params = cacheKey(queryParams);
+        if (responseCache == null) {
+            return fetchEverything(params);
+        }
+
+        try {
+            return responseCache.get(params).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Checks whether a response for the specified query parameters is cached or already being fetched, i.e. whether
+     * {@link #getEverything(NewsApiQueryParams)} would be served without a new upstream call.
+     *
+     * @param queryParams the query parameters
+     * @return true if no new upstream call would be made
+     */
+    public boolean isCached(NewsApiQueryParams queryParams) {
+        return responseCache != null && responseCache.getIfPresent(cacheKey(queryParams)) != null;
+    }
+
+    private static Map<String, String> cacheKey(NewsApiQueryParams queryParams) {
+        return Map.copyOf(queryParams.normalized().toMap());
+    }
+
+    private NewsApiResponse fetchEverything(Map<String, String> params) {
         return restClient.get()
             .uri(uriBuilder -> uriBuilder
                 .path("/everything")
-                .queryParams(MultiValueMap.fromSingleValue(queryParams.toMap()))
+                .queryParams(MultiValueMap.fromSingleValue(params))
                 .build()
             )
             .retrieve()
             .body(NewsApiResponse.class);
     }
+
+    private AsyncLoadingCache<Map<String, String>, NewsApiResponse> createResponseCache(NewsApiClientSettings.Cache settings, MeterRegistry meterRegistry) {
+        if (!settings.isEnabled()) {
+            return null;
+        }
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .maximumSize(settings.getMaxSize())
+            .expireAfterWrite(settings.getTtl().plus(settings.getStaleWhileRevalidate()))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .recordStats();
+
+        if (settings.getStaleWhileRevalidate().isPositive()) {
+            builder.refreshAfterWrite(settings.getTtl());
+        }
+
+        AsyncLoadingCache<Map<String, String>, NewsApiResponse> cache = builder.buildAsync(this::fetchEverything);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "news-api");
+        return cache;
+    }
 }
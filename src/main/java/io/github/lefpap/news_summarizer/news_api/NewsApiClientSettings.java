@@ -4,9 +4,13 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Configuration properties for the News API client.
- * Includes settings such as the base URL and API key.
+ * Includes settings such as the base URL, API key, response cache, and the quota of the proxy endpoint.
  */
 @Validated
 @Data
@@ -27,5 +31,70 @@ public class NewsApiClientSettings {
      * The API key for authenticating with the News API.
      */
     private String apiKey;
-}
 
+    /**
+     * Settings for the response cache in front of the News API.
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * Settings for the per-caller quota of upstream calls made through the proxy endpoint.
+     */
+    private Quota quota = new Quota();
+
+    /**
+     * Settings for the News API response cache.
+     */
+    @Data
+    public static class Cache {
+
+        /**
+         * Flag to enable or disable the response cache.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of cached responses.
+         */
+        private long maxSize = 500;
+
+        /**
+         * How long a cached response is served as fresh.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /**
+         * How long past its TTL a cached response may still be served while it is refreshed in the background.
+         * Zero disables stale-while-revalidate, so expired responses are always fetched synchronously.
+         */
+        private Duration staleWhileRevalidate = Duration.ZERO;
+    }
+
+    /**
+     * Settings for the per-caller quota of upstream News API calls made through {@code /api/v1/news}.
+     * Responses served from the cache do not count against the quota.
+     */
+    @Data
+    public static class Quota {
+
+        /**
+         * Number of upstream calls each caller may cause per UTC day. Zero disables the quota.
+         */
+        private int dailyUpstreamRequests = 50;
+
+        /**
+         * Daily quotas of specific callers, by API key ID, overriding {@link #dailyUpstreamRequests}.
+         */
+        private Map<String, Integer> keys = new HashMap<>();
+
+        /**
+         * Returns the daily quota of a caller.
+         *
+         * @param caller the API key ID of the caller
+         * @return the number of upstream calls the caller may cause per day, or zero if unlimited
+         */
+        public int dailyUpstreamRequestsOf(String caller) {
+            return keys.getOrDefault(caller, dailyUpstreamRequests);
+        }
+    }
+}
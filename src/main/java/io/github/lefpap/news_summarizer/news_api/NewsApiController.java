@@ -1,36 +1,126 @@
 package io.github.lefpap.news_summarizer.news_api;
 
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestClientResponseException;
 
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * REST controller for handling News API requests.
- * Provides endpoints for fetching news articles.
+ * Provides endpoints for fetching news articles, served through the shared response cache and accounted per caller.
  */
 @RestController
 @RequestMapping("/api/v1/news")
 @RequiredArgsConstructor
 public class NewsApiController {
 
-    private final NewsApiClient newsApiClient;
+    private static final String ANONYMOUS = "anonymous";
+
+    private final NewsApiProxyService newsApiProxyService;
+    private final NewsApiQuota newsApiQuota;
+    private final Validator validator;
 
     /**
      * Retrieves news articles based on the provided query parameters.
+     * The parameters are validated before any upstream page is fetched or charged to the caller's quota.
      *
-     * @param params the query parameters as key-value pairs
+     * @param params    the query parameters as key-value pairs
+     * @param principal the authenticated caller, or null if authentication is disabled
      * @return the response containing news articles
+     * @throws IllegalArgumentException if a parameter is malformed or out of range (e.g. {@code page=0})
      */
     @GetMapping("/everything")
-    public ResponseEntity<NewsApiResponse> everything(@RequestParam Map<String, String> params) {
-        var queryParams = NewsApiQueryParams.of(params);
-        NewsApiResponse response = newsApiClient.getEverything(queryParams);
+    public ResponseEntity<NewsApiResponse> everything(@RequestParam Map<String, String> params, Principal principal) {
+        var queryParams = validate(NewsApiQueryParams.of(params));
+        NewsApiResponse response = newsApiProxyService.everything(caller(principal), queryParams);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Retrieves the caller's usage of its daily quota of upstream News API calls.
+     *
+     * @param principal the authenticated caller, or null if authentication is disabled
+     * @return the usage of the caller
+     */
+    @GetMapping("/quota")
+    public ResponseEntity<NewsApiQuotaUsage> quota(Principal principal) {
+        return ResponseEntity.ok(newsApiQuota.usage(caller(principal)));
+    }
+
+    /**
+     * Validates the query parameters against their constraints.
+     *
+     * @param queryParams the query parameters
+     * @return the query parameters, if valid
+     * @throws IllegalArgumentException listing the violated constraints
+     */
+    private NewsApiQueryParams validate(NewsApiQueryParams queryParams) {
+        var violations = validator.validate(queryParams);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", ")));
+        }
+        return queryParams;
+    }
+
+    /**
+     * Returns the name under which a caller is accounted.
+     *
+     * @param principal the authenticated caller, or null
+     * @return the API key ID of the caller, or {@value #ANONYMOUS}
+     */
+    private static String caller(Principal principal) {
+        return principal != null ? principal.getName() : ANONYMOUS;
+    }
+
+    /**
+     * Handles NewsApiQuotaExceededException by returning a 429 Too Many Requests response.
+     *
+     * @param e the exception
+     * @return a 429 Too Many Requests response, with the time until the quota is reset
+     */
+    @ExceptionHandler(NewsApiQuotaExceededException.class)
+    public ResponseEntity<String> handleNewsApiQuotaExceededException(NewsApiQuotaExceededException e) {
+        long retryAfter = Math.max(1, Duration.between(Instant.now(), e.getResetsAt()).toSeconds());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+            .body(e.getMessage());
+    }
+
+    /**
+     * Handles IllegalArgumentException (e.g. a malformed query parameter) by returning a 400 Bad Request response.
+     *
+     * @param e the exception
+     * @return a 400 Bad Request response
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /**
+     * Handles errors returned by the News API by returning a 502 Bad Gateway response.
+     *
+     * @param e the exception
+     * @return a 502 Bad Gateway response, with the upstream error
+     */
+    @ExceptionHandler(RestClientResponseException.class)
+    public ResponseEntity<String> handleRestClientResponseException(RestClientResponseException e) {
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(e.getResponseBodyAsString());
+    }
 }
@@ -0,0 +1,107 @@
+package io.github.lefpap.news_summarizer.news_api;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service behind the {@code /api/v1/news} proxy endpoint.
+ *
+ * <p>
+ * Whatever page size a caller asks for, the News API is only ever queried for whole pages of
+ * {@value #UPSTREAM_PAGE_SIZE} results, its maximum, and the requested page is sliced out of them. Paging through
+ * results, or asking for the same results with another page size, is therefore served from the pages already in the
+ * {@link NewsApiClient} response cache. Only pages that are neither cached nor being fetched count against the daily
+ * {@link NewsApiQuota} of the caller. Every page is counted in {@code news_api.proxy.pages}, tagged by caller and
+ * source ({@code cache}, {@code upstream} or {@code rejected}).
+ */
+@Service
+@RequiredArgsConstructor
+public class NewsApiProxyService {
+
+    /**
+     * Page size of every upstream request.
+     */
+    static final int UPSTREAM_PAGE_SIZE = 100;
+
+    private final NewsApiClient newsApiClient;
+    private final NewsApiQuota quota;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Retrieves a page of news articles on behalf of a caller.
+     *
+     * @param caller      the API key ID of the caller
+     * @param queryParams the query parameters, including the requested page
+     * @return the requested page of articles, with the total number of results
+     * @throws IllegalArgumentException      if the page is below 1, or the page size is outside 1 to
+     *                                       {@value #UPSTREAM_PAGE_SIZE}
+     * @throws NewsApiQuotaExceededException if an upstream call is needed and the caller has used up its quota
+     */
+    public NewsApiResponse everything(String caller, NewsApiQueryParams queryParams) {
+        NewsApiQueryParams params = queryParams.normalized();
+        int pageSize = params.pageSize();
+        if (params.page() < 1 || pageSize < 1 || pageSize > UPSTREAM_PAGE_SIZE) {
+            throw new IllegalArgumentException("Expected a page of at least 1 and a page size of 1 to %d, got page %d of size %d"
+                .formatted(UPSTREAM_PAGE_SIZE, params.page(), pageSize));
+        }
+        long offset = (long) (params.page() - 1) * pageSize;
+
+        int upstreamPage = (int) (offset / UPSTREAM_PAGE_SIZE) + 1;
+        int start = (int) (offset % UPSTREAM_PAGE_SIZE);
+        List<NewsApiArticle> articles = new ArrayList<>(pageSize);
+        NewsApiResponse upstream;
+
+        // A requested page may straddle two upstream pages
+        while (true) {
+            upstream = fetch(caller, params.toBuilder().pageSize(UPSTREAM_PAGE_SIZE).page(upstreamPage).build());
+            List<NewsApiArticle> upstreamArticles = Optional.ofNullable(upstream.articles()).orElse(List.of());
+            if (start < upstreamArticles.size()) {
+                int end = Math.min(upstreamArticles.size(), start + pageSize - articles.size());
+                articles.addAll(upstreamArticles.subList(start, end));
+            }
+
+            boolean lastPage = upstreamArticles.size() < UPSTREAM_PAGE_SIZE
+                || (long) upstreamPage * UPSTREAM_PAGE_SIZE >= upstream.totalResults();
+            if (articles.size() >= pageSize || lastPage) {
+                break;
+            }
+
+            upstreamPage++;
+            start = 0;
+        }
+
+        return new NewsApiResponse(upstream.status(), upstream.totalResults(), List.copyOf(articles));
+    }
+
+    /**
+     * Retrieves a page of upstream results, charging the caller's quota if it is not cached.
+     *
+     * @param caller      the API key ID of the caller
+     * @param queryParams the query parameters of the upstream page
+     * @return the upstream page
+     */
+    private NewsApiResponse fetch(String caller, NewsApiQueryParams queryParams) {
+        String source = "cache";
+        try {
+            if (!newsApiClient.isCached(queryParams)) {
+                source = "rejected";
+                quota.consume(caller);
+                source = "upstream";
+            }
+            return newsApiClient.getEverything(queryParams);
+        } finally {
+            Counter.builder("news_api.proxy.pages")
+                .description("Upstream pages used to answer News API proxy requests")
+                .tag("caller", caller)
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+        }
+    }
+}
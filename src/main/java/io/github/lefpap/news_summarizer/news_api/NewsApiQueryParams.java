@@ -57,6 +57,11 @@ public record NewsApiQueryParams(
     private static final String PAGE_SIZE = "pageSize";
     private static final String PAGE = "page";
 
+    /**
+     * Number of results per page returned by the News API when {@code pageSize} is not set.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
     /**
      * Creates a new Builder instance for constructing NewsApiQueryParams.
      * The query parameter `q` is mandatory and must be set before building.
@@ -89,6 +94,42 @@ public record NewsApiQueryParams(
         return builder;
     }
 
+    /**
+     * Returns equivalent query parameters in canonical form, so that requests for the same results share a cache
+     * entry: whitespace in the query is collapsed, list parameters are de-duplicated and sorted (domains and sources
+     * lower-cased), and the News API defaults for sorting and paging are made explicit.
+     *
+     * @return the normalized query parameters
+     */
+    public NewsApiQueryParams normalized() {
+        return toBuilder()
+            .q(Optional.ofNullable(q).map(s -> s.trim().replaceAll("\\s+", " ")).orElse(null))
+            .searchIn(Optional.ofNullable(searchIn).orElse(List.of()).stream().distinct().sorted().toList())
+            .sources(normalizeValues(sources))
+            .domains(normalizeValues(domains))
+            .excludeDomains(normalizeValues(excludeDomains))
+            .language(Optional.ofNullable(language).map(s -> s.trim().toLowerCase(Locale.ROOT)).orElse(null))
+            .sortBy(Optional.ofNullable(sortBy).orElse(SortBy.PUBLISHED_AT))
+            .pageSize(Optional.ofNullable(pageSize).orElse(DEFAULT_PAGE_SIZE))
+            .page(Optional.ofNullable(page).orElse(1))
+            .build();
+    }
+
+    /**
+     * Trims, lower-cases, de-duplicates and sorts the values of a list parameter.
+     *
+     * @param values the values, or null
+     * @return the normalized values
+     */
+    private static List<String> normalizeValues(List<String> values) {
+        return Optional.ofNullable(values).orElse(List.of()).stream()
+            .map(value -> value.trim().toLowerCase(Locale.ROOT))
+            .filter(not(String::isBlank))
+            .distinct()
+            .sorted()
+            .toList();
+    }
+
     /**
      * Converts the query parameters to a map representation suitable for HTTP requests.
      * Only non-null and non-empty fields are included in the resulting map.
@@ -393,12 +434,12 @@ public record NewsApiQueryParams(
             return this;
         }
 
-        public Builder pageSize(int ps) {
+        public Builder pageSize(Integer ps) {
             this.pageSize = ps;
             return this;
         }
 
-        public Builder page(int p) {
+        public Builder page(Integer p) {
             this.page = p;
             return this;
         }
@@ -0,0 +1,95 @@
+package io.github.lefpap.news_summarizer.news_api;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Accounts the upstream News API calls caused by each caller of the proxy endpoint, per UTC day.
+ *
+ * <p>
+ * Usage is kept in memory, so with several instances each one enforces the quota on its own; the response cache
+ * keeps the upstream traffic of repeated queries low regardless.
+ */
+@Component
+public class NewsApiQuota {
+
+    private final NewsApiClientSettings.Quota settings;
+    private final Clock clock;
+    private final Map<String, Usage> usages = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a NewsApiQuota.
+     *
+     * @param settings the News API client settings
+     */
+    @Autowired
+    public NewsApiQuota(NewsApiClientSettings settings) {
+        this(settings.getQuota(), Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a NewsApiQuota with the given clock.
+     *
+     * @param settings the quota settings
+     * @param clock    the clock deciding the current day
+     */
+    NewsApiQuota(NewsApiClientSettings.Quota settings, Clock clock) {
+        this.settings = settings;
+        this.clock = clock;
+    }
+
+    /**
+     * Counts an upstream call against the quota of a caller.
+     *
+     * @param caller the API key ID of the caller
+     * @throws NewsApiQuotaExceededException if the caller has used up its quota for the day
+     */
+    public void consume(String caller) {
+        int limit = settings.dailyUpstreamRequestsOf(caller);
+        LocalDate today = LocalDate.now(clock);
+
+        Usage usage = usages.compute(caller, (key, current) -> {
+            int used = current == null || !current.day().equals(today) ? 0 : current.used();
+            boolean granted = limit <= 0 || used < limit;
+            return new Usage(today, granted ? used + 1 : used, granted);
+        });
+
+        if (!usage.granted()) {
+            throw new NewsApiQuotaExceededException(caller, limit, resetsAt(today));
+        }
+    }
+
+    /**
+     * Retrieves the usage of a caller for the current day.
+     *
+     * @param caller the API key ID of the caller
+     * @return the usage of the caller
+     */
+    public NewsApiQuotaUsage usage(String caller) {
+        LocalDate today = LocalDate.now(clock);
+        Usage usage = usages.get(caller);
+        int used = usage != null && usage.day().equals(today) ? usage.used() : 0;
+        return new NewsApiQuotaUsage(caller, used, settings.dailyUpstreamRequestsOf(caller), resetsAt(today));
+    }
+
+    private static Instant resetsAt(LocalDate day) {
+        return day.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+
+    /**
+     * The usage of a caller on a day.
+     *
+     * @param day     the UTC day
+     * @param used    the number of upstream calls made on that day
+     * @param granted whether the last call counted against the quota was allowed
+     */
+    private record Usage(LocalDate day, int used, boolean granted) {
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.lefpap.news_summarizer.news_api;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Exception thrown when a caller of the News API proxy has used up its daily quota of upstream calls.
+ */
+@Getter
+public class NewsApiQuotaExceededException extends RuntimeException {
+
+    /**
+     * When the quota of the caller is reset.
+     */
+    private final Instant resetsAt;
+
+    /**
+     * Constructs a NewsApiQuotaExceededException.
+     *
+     * @param caller   the API key ID of the caller
+     * @param limit    the daily quota of the caller
+     * @param resetsAt when the quota of the caller is reset
+     */
+    public NewsApiQuotaExceededException(String caller, int limit, Instant resetsAt) {
+        super("Daily News API quota of %d upstream requests exceeded for [%s]".formatted(limit, caller));
+        this.resetsAt = resetsAt;
+    }
+}
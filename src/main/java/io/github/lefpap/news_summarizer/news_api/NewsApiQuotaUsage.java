@@ -0,0 +1,19 @@
+package io.github.lefpap.news_summarizer.news_api;
+
+import java.time.Instant;
+
+/**
+ * Represents the usage of the daily upstream News API quota by a caller of the proxy endpoint.
+ *
+ * @param caller   the API key ID of the caller
+ * @param used     the number of upstream calls caused today
+ * @param limit    the daily quota of the caller, or zero if unlimited
+ * @param resetsAt when the usage is reset
+ */
+public record NewsApiQuotaUsage(
+    String caller,
+    int used,
+    int limit,
+    Instant resetsAt
+) {
+}
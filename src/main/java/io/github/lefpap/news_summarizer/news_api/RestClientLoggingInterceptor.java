@@ -1,25 +1,47 @@
 package io.github.lefpap.news_summarizer.news_api;
 
+import io.github.lefpap.news_summarizer.news_api.RestClientLoggingSettings.Mode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
- * Interceptor for logging HTTP requests and responses.
- * Logs details such as headers, body, and response time.
+ * Interceptor for observing outbound HTTP requests.
+ *
+ * <p>
+ * Records the {@code outbound.http.requests} timer for every call. A configurable sample of calls is logged with
+ * redacted headers and, in {@link Mode#BODY} mode, a size-capped body preview. The response body is never buffered:
+ * the preview is captured from the stream while it is consumed, so responses can be read directly into Jackson.
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class RestClientLoggingInterceptor implements ClientHttpRequestInterceptor {
 
+    private static final String REDACTED = "[REDACTED]";
+
+    private final RestClientLoggingSettings settings;
+    private final MeterRegistry meterRegistry;
+
     /**
-     * Intercepts and logs HTTP requests and responses.
+     * Intercepts HTTP requests, recording their timing and logging a sample of them.
      *
      * @param request   the HTTP request
      * @param body      the request body
@@ -30,18 +52,149 @@ public class RestClientLoggingInterceptor implements ClientHttpRequestIntercepto
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
         throws IOException {
-        log.info("==================== Request Start =======================");
-        log.info("REQ: {} {}", request.getMethod(), request.getURI());
-        log.info("REQ Headers: {}", request.getHeaders());
-        log.info("REQ Body: {}", new String(body, StandardCharsets.UTF_8));
-        var start = System.currentTimeMillis();
-        ClientHttpResponse response = execution.execute(request, body);
-        var duration = System.currentTimeMillis() - start;
-        log.info("RES: {}", response.getStatusCode());
-        log.info("RES Headers: {}", response.getHeaders());
-        log.info("RES Body: {}", new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
-        log.info("==================== Request End [{}ms] ======================", duration);
+        boolean sampled = isSampled();
+        long start = System.nanoTime();
+
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException ex) {
+            long duration = record(request, "IO_ERROR", start);
+            if (sampled) {
+                log.info("{} {} -> {} [{}ms]", request.getMethod(), request.getURI(), ex.getClass().getSimpleName(), duration);
+            }
+            throw ex;
+        }
+
+        HttpStatusCode status = response.getStatusCode();
+        long duration = record(request, String.valueOf(status.value()), start);
+        if (!sampled) {
+            return response;
+        }
+
+        log.info("{} {} -> {} [{}ms]", request.getMethod(), request.getURI(), status.value(), duration);
+
+        if (settings.getMode().compareTo(Mode.HEADERS) >= 0) {
+            log.info("REQ Headers: {}", redact(request.getHeaders()));
+            log.info("RES Headers: {}", redact(response.getHeaders()));
+        }
+
+        if (settings.getMode() == Mode.BODY) {
+            int length = Math.min(body.length, settings.getMaxBodyPreview());
+            log.info("REQ Body: {}", preview(body, length, body.length > length));
+            return new PreviewingResponse(response, settings.getMaxBodyPreview(),
+                preview -> log.info("RES Body: {}", preview));
+        }
+
         return response;
     }
 
+    private boolean isSampled() {
+        return settings.getMode() != Mode.NONE
+            && log.isInfoEnabled()
+            && ThreadLocalRandom.current().nextDouble() < settings.getSampleRate();
+    }
+
+    private long record(HttpRequest request, String status, long start) {
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("outbound.http.requests")
+            .description("Outbound HTTP requests, up to the response headers")
+            .tag("method", request.getMethod().name())
+            .tag("host", String.valueOf(request.getURI().getHost()))
+            .tag("status", status)
+            .register(meterRegistry)
+            .record(elapsed, TimeUnit.NANOSECONDS);
+        return TimeUnit.NANOSECONDS.toMillis(elapsed);
+    }
+
+    private HttpHeaders redact(HttpHeaders headers) {
+        HttpHeaders redacted = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            boolean secret = settings.getRedactedHeaders().stream().anyMatch(name::equalsIgnoreCase);
+            redacted.put(name, secret ? List.of(REDACTED) : values);
+        });
+        return redacted;
+    }
+
+    private static String preview(byte[] bytes, int length, boolean truncated) {
+        String text = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        return truncated ? text + "... [truncated]" : text;
+    }
+
+    /**
+     * Response decorator capturing the first bytes of the body while it is read, and logging them on close.
+     */
+    private static final class PreviewingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final byte[] preview;
+        private final Consumer<String> onClose;
+        private int previewLength;
+        private boolean truncated;
+        private InputStream body;
+        private boolean closed;
+
+        private PreviewingResponse(ClientHttpResponse delegate, int maxPreview, Consumer<String> onClose) {
+            this.delegate = delegate;
+            this.preview = new byte[maxPreview];
+            this.onClose = onClose;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(delegate.getBody()) {
+                    @Override
+                    public int read() throws IOException {
+                        int b = super.read();
+                        if (b >= 0) {
+                            capture(new byte[]{(byte) b}, 0, 1);
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int read = super.read(buffer, offset, length);
+                        if (read > 0) {
+                            capture(buffer, offset, read);
+                        }
+                        return read;
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                onClose.accept(preview(preview, previewLength, truncated));
+            }
+            delegate.close();
+        }
+
+        private void capture(byte[] buffer, int offset, int length) {
+            int copied = Math.min(length, preview.length - previewLength);
+            System.arraycopy(buffer, offset, preview, previewLength, copied);
+            previewLength += copied;
+            truncated |= copied < length;
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package io.github.lefpap.news_summarizer.news_api;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for logging outbound HTTP calls made through RestClient.
+ * Timing metrics are always recorded; logging is sampled and limited by the configured mode.
+ */
+@Validated
+@Data
+@ConfigurationProperties(prefix = RestClientLoggingSettings.CONFIG_PREFIX)
+public class RestClientLoggingSettings {
+
+    /**
+     * Prefix for outbound HTTP logging configuration properties.
+     */
+    public static final String CONFIG_PREFIX = "app.http-client.logging";
+
+    /**
+     * How much of each sampled call to log.
+     */
+    private Mode mode = Mode.BASIC;
+
+    /**
+     * Fraction of calls to log, between 0 (none) and 1 (all).
+     */
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double sampleRate = 1.0;
+
+    /**
+     * Maximum number of body bytes logged per request or response in {@link Mode#BODY} mode.
+     */
+    @Min(0)
+    private int maxBodyPreview = 1024;
+
+    /**
+     * Headers whose values are never logged.
+     */
+    private List<String> redactedHeaders = new ArrayList<>(List.of(
+        NewsApiClient.API_KEY_HEADER, "Authorization", "Proxy-Authorization", "Cookie", "Set-Cookie"
+    ));
+
+    /**
+     * Enum representing how much of an outbound call is logged.
+     */
+    public enum Mode {
+        /**
+         * Nothing is logged, only metrics are recorded.
+         */
+        NONE,
+
+        /**
+         * Request line, response status, and duration.
+         */
+        BASIC,
+
+        /**
+         * As {@link #BASIC}, plus redacted request and response headers.
+         */
+        HEADERS,
+
+        /**
+         * As {@link #HEADERS}, plus truncated request and response body previews.
+         */
+        BODY,
+    }
+}
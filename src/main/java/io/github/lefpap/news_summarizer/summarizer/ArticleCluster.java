@@ -0,0 +1,26 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+
+import java.util.List;
+
+/**
+ * Represents a story: a cluster of articles with similar embeddings.
+ *
+ * @param articles   the distinct articles of the story, in rank order
+ * @param duplicates the near-duplicates of those articles, left out of the summary
+ */
+public record ArticleCluster(
+    List<NewsApiArticle> articles,
+    List<NewsApiArticle> duplicates
+) {
+
+    /**
+     * Returns the number of articles of the story, near-duplicates included.
+     *
+     * @return the size of the cluster
+     */
+    public int size() {
+        return articles.size() + duplicates.size();
+    }
+}
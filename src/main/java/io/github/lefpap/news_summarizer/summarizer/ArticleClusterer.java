@@ -0,0 +1,117 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Clusters articles into stories by the similarity of their embeddings.
+ *
+ * <p>
+ * The pairwise cosine similarities are computed in parallel, one row per task. Articles whose similarity reaches
+ * {@link NewsSummarizerSettings.Clustering#getSimilarityThreshold()} are linked, and every connected group of linked
+ * articles is a story (single-linkage clustering). Within a story, articles at least
+ * {@link NewsSummarizerSettings.Clustering#getDuplicateThreshold()} similar to a higher ranked one are set aside as
+ * near-duplicates.
+ */
+@Component
+public class ArticleClusterer {
+
+    private final NewsSummarizerSettings.Clustering settings;
+
+    /**
+     * Constructs an ArticleClusterer with the configured thresholds.
+     *
+     * @param settings the summarizer settings
+     */
+    public ArticleClusterer(NewsSummarizerSettings settings) {
+        this.settings = settings.getClustering();
+    }
+
+    /**
+     * Clusters the given articles into stories.
+     *
+     * @param articles   the articles, in rank order
+     * @param embeddings the unit-length embeddings of the articles, in the same order
+     * @return the stories, largest first, ties broken by their highest ranked article
+     */
+    public List<ArticleCluster> cluster(List<NewsApiArticle> articles, List<float[]> embeddings) {
+        if (articles.size() != embeddings.size()) {
+            throw new IllegalArgumentException("Expected " + articles.size() + " embeddings, got " + embeddings.size());
+        }
+
+        int n = articles.size();
+        float[][] similarity = new float[n][n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            for (int j = i + 1; j < n; j++) {
+                similarity[i][j] = dot(embeddings.get(i), embeddings.get(j));
+            }
+        });
+
+        int[] parent = IntStream.range(0, n).toArray();
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (similarity[i][j] >= settings.getSimilarityThreshold()) {
+                    union(parent, i, j);
+                }
+            }
+        }
+
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            groups.computeIfAbsent(find(parent, i), root -> new ArrayList<>()).add(i);
+        }
+
+        List<ArticleCluster> clusters = new ArrayList<>(groups.size());
+        for (List<Integer> members : groups.values()) {
+            List<Integer> kept = new ArrayList<>();
+            List<NewsApiArticle> distinct = new ArrayList<>();
+            List<NewsApiArticle> duplicates = new ArrayList<>();
+            for (int member : members) {
+                boolean duplicate = kept.stream()
+                    .anyMatch(k -> similarity[k][member] >= settings.getDuplicateThreshold());
+                if (duplicate) {
+                    duplicates.add(articles.get(member));
+                } else {
+                    kept.add(member);
+                    distinct.add(articles.get(member));
+                }
+            }
+            clusters.add(new ArticleCluster(List.copyOf(distinct), List.copyOf(duplicates)));
+        }
+
+        // Groups are in the order of their highest ranked article, which the stable sort keeps for equal sizes
+        clusters.sort(Comparator.comparingInt(ArticleCluster::size).reversed());
+        return clusters;
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float sum = 0f;
+        for (int i = 0; i < Math.min(a.length, b.length); i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int i, int j) {
+        int rootI = find(parent, i);
+        int rootJ = find(parent, j);
+        if (rootI != rootJ) {
+            parent[Math.max(rootI, rootJ)] = Math.min(rootI, rootJ);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Filters out articles that have already been summarized, so the LLM never sees the same story twice.
+ * An article counts as new if its normalized URL was never seen or its content changed since.
+ * Articles are tracked per topic, so an article summarized for one topic (or an ad-hoc query) is still new to the
+ * others.
+ *
+ * <p>
+ * Exposes the {@code summarizer.articles} counter, tagged {@code status=new|seen}, to track how much inference
+ * deduplication saves.
+ */
+@Component
+public class ArticleDeduplicator {
+
+    private final SeenArticleJdbcRepository repository;
+    private final Counter newArticles;
+    private final Counter seenArticles;
+
+    /**
+     * Constructs an ArticleDeduplicator.
+     *
+     * @param repository    the repository of seen articles
+     * @param meterRegistry the registry for deduplication metrics
+     */
+    public ArticleDeduplicator(SeenArticleJdbcRepository repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.newArticles = Counter.builder("summarizer.articles")
+            .description("Fetched articles by deduplication outcome")
+            .tag("status", "new")
+            .register(meterRegistry);
+        this.seenArticles = Counter.builder("summarizer.articles")
+            .description("Fetched articles by deduplication outcome")
+            .tag("status", "seen")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the articles that have not been summarized for the topic before, dropping duplicates within the list as
+     * well.
+     *
+     * @param topic    the name of the topic
+     * @param articles the fetched articles
+     * @return the new articles, in their original order
+     */
+    public List<NewsApiArticle> filterUnseen(String topic, List<NewsApiArticle> articles) {
+        Map<ArticleFingerprint, NewsApiArticle> byFingerprint = new LinkedHashMap<>();
+        Map<String, ArticleFingerprint> byUrlHash = new LinkedHashMap<>();
+        articles.forEach(article -> {
+            ArticleFingerprint fingerprint = ArticleFingerprint.of(article);
+            if (byUrlHash.putIfAbsent(fingerprint.urlHash(), fingerprint) == null) {
+                byFingerprint.put(fingerprint, article);
+            }
+        });
+
+        Map<String, String> seenContentHashes = repository.findContentHashes(topic, byUrlHash.keySet());
+
+        List<NewsApiArticle> unseen = byFingerprint.entrySet().stream()
+            .filter(entry -> !Objects.equals(seenContentHashes.get(entry.getKey().urlHash()), entry.getKey().contentHash()))
+            .map(Map.Entry::getValue)
+            .toList();
+
+        newArticles.increment(unseen.size());
+        seenArticles.increment(articles.size() - unseen.size());
+        return unseen;
+    }
+
+    /**
+     * Records the given articles as summarized for the topic.
+     *
+     * @param topic    the name of the topic
+     * @param articles the articles included in a saved summary
+     */
+    public void markSeen(String topic, List<NewsApiArticle> articles) {
+        repository.saveAll(topic, articles.stream().map(ArticleFingerprint::of).toList());
+    }
+}
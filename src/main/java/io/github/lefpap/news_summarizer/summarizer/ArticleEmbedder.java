@@ -0,0 +1,111 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Computes the embeddings of news articles with the configured Spring AI embedding model.
+ *
+ * <p>
+ * Embeddings are normalized to unit length, so the cosine similarity of two articles is the dot product of their
+ * embeddings. They are cached per normalized article URL, and recomputed only if the article text changed, so
+ * re-fetched articles cost no embedding calls. Cache misses are embedded in a single batch call.
+ */
+@Component
+public class ArticleEmbedder {
+
+    private final EmbeddingModel embeddingModel;
+    private final Cache<String, CachedEmbedding> embeddings;
+    private final Counter cachedEmbeddings;
+    private final Counter computedEmbeddings;
+
+    /**
+     * Constructs an ArticleEmbedder.
+     *
+     * @param embeddingModel the embedding model
+     * @param settings       the summarizer settings
+     * @param meterRegistry  the registry for the embedding cache metrics
+     */
+    public ArticleEmbedder(EmbeddingModel embeddingModel, NewsSummarizerSettings settings, MeterRegistry meterRegistry) {
+        this.embeddingModel = embeddingModel;
+        this.embeddings = Caffeine.newBuilder()
+            .maximumSize(settings.getClustering().getCacheSize())
+            .expireAfterWrite(settings.getClustering().getCacheTtl())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, embeddings, "article-embeddings");
+        this.cachedEmbeddings = Counter.builder("summarizer.embeddings")
+            .description("Article embeddings by source")
+            .tag("source", "cached")
+            .register(meterRegistry);
+        this.computedEmbeddings = Counter.builder("summarizer.embeddings")
+            .description("Article embeddings by source")
+            .tag("source", "computed")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the unit-length embeddings of the given articles.
+     *
+     * @param articles the articles to embed
+     * @return the embeddings, in the order of the articles
+     */
+    public List<float[]> embed(List<NewsApiArticle> articles) {
+        List<ArticleFingerprint> fingerprints = articles.stream().map(ArticleFingerprint::of).toList();
+        float[][] vectors = new float[articles.size()][];
+
+        List<Integer> misses = new ArrayList<>();
+        for (int i = 0; i < articles.size(); i++) {
+            CachedEmbedding cached = embeddings.getIfPresent(fingerprints.get(i).url());
+            if (cached != null && cached.contentHash().equals(fingerprints.get(i).contentHash())) {
+                vectors[i] = cached.vector();
+            } else {
+                misses.add(i);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            List<float[]> computed = embeddingModel.embed(misses.stream().map(i -> text(articles.get(i))).toList());
+            for (int m = 0; m < misses.size(); m++) {
+                int i = misses.get(m);
+                vectors[i] = normalize(computed.get(m));
+                embeddings.put(fingerprints.get(i).url(), new CachedEmbedding(fingerprints.get(i).contentHash(), vectors[i]));
+            }
+        }
+
+        cachedEmbeddings.increment(articles.size() - misses.size());
+        computedEmbeddings.increment(misses.size());
+        return List.of(vectors);
+    }
+
+    private static String text(NewsApiArticle article) {
+        return Objects.toString(article.title(), "") + "\n" + Objects.toString(article.description(), "");
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0.0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        norm = Math.sqrt(norm);
+
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = norm == 0.0 ? 0f : (float) (vector[i] / norm);
+        }
+        return normalized;
+    }
+
+    private record CachedEmbedding(String contentHash, float[] vector) {
+    }
+}
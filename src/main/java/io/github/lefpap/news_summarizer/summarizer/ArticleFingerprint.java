@@ -0,0 +1,102 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Identifies a news article by its normalized URL and the hash of its text.
+ * Two fetches of the same story share the URL hash; the content hash changes if the story was edited.
+ *
+ * @param urlHash     the SHA-256 hex digest of the normalized URL
+ * @param url         the normalized URL
+ * @param contentHash the SHA-256 hex digest of the normalized title, description, and content
+ */
+public record ArticleFingerprint(
+    String urlHash,
+    String url,
+    String contentHash
+) {
+
+    /**
+     * Computes the fingerprint of the given article.
+     *
+     * @param article the article to fingerprint
+     * @return the fingerprint of the article
+     */
+    public static ArticleFingerprint of(NewsApiArticle article) {
+        String url = normalizeUrl(article.url());
+        String text = String.join("\n",
+            normalizeText(article.title()),
+            normalizeText(article.description()),
+            normalizeText(article.content())
+        );
+
+        return new ArticleFingerprint(sha256(url), url, sha256(text));
+    }
+
+    /**
+     * Normalizes a URL so that trivially different links to the same story compare equal:
+     * treats {@code http} and {@code https} alike, lower-cases the host, drops the {@code www.} prefix, the fragment,
+     * tracking query parameters, and any trailing slash, and sorts the remaining query parameters.
+     *
+     * @param url the URL to normalize
+     * @return the normalized URL, or the trimmed input if it is not a valid URI
+     */
+    static String normalizeUrl(String url) {
+        String trimmed = Objects.requireNonNullElse(url, "").trim();
+        try {
+            URI uri = new URI(trimmed);
+            if (uri.getHost() == null) {
+                return trimmed;
+            }
+
+            String host = uri.getHost().toLowerCase(Locale.ROOT);
+            if (host.startsWith("www.")) {
+                host = host.substring(4);
+            }
+
+            String path = Objects.requireNonNullElse(uri.getRawPath(), "");
+            if (path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+
+            String query = uri.getRawQuery() == null ? "" : Arrays.stream(uri.getRawQuery().split("&"))
+                .filter(param -> !isTrackingParam(param))
+                .sorted()
+                .collect(Collectors.joining("&"));
+
+            return "https://" + host + path + (query.isEmpty() ? "" : "?" + query);
+        } catch (URISyntaxException ex) {
+            return trimmed;
+        }
+    }
+
+    private static boolean isTrackingParam(String param) {
+        String name = param.toLowerCase(Locale.ROOT);
+        return name.startsWith("utm_") || name.startsWith("fbclid=") || name.startsWith("gclid=")
+            || name.startsWith("mc_cid=") || name.startsWith("mc_eid=");
+    }
+
+    private static String normalizeText(String text) {
+        return Objects.requireNonNullElse(text, "").strip().replaceAll("\\s+", " ");
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
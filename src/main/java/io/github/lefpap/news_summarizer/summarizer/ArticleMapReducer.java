@@ -0,0 +1,252 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import io.github.lefpap.news_summarizer.summarizer.NewsSummarizerSettings.Topic;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.UnaryOperator;
+
+/**
+ * Condenses article sets too large for a single prompt into notes, the "map" step of map-reduce summarization.
+ *
+ * <p>
+ * The ranked articles, up to {@link NewsSummarizerSettings.MapReduce#getMaxArticles()}, are split into chunks that
+ * are each rendered by the {@link ArticlePromptBuilder} and condensed into notes by a separate LLM call. The map calls
+ * run in parallel on virtual threads, bounded by the {@link LlmPermits} shared with every other LLM call, and
+ * optionally use a smaller model. The notes are combined into the prompt of the "reduce" call, which writes the
+ * summary as usual.
+ *
+ * <p>
+ * Notes are cached by the hash of the chunk prompt, so when a map call fails, only the failed chunks are condensed
+ * again on the next attempt.
+ */
+@Component
+@Slf4j
+public class ArticleMapReducer {
+
+    private static final String HEADER = """
+        There were too many articles for one prompt, so they were condensed into notes, one part per batch of articles.
+        Treat the notes below as the articles to summarize and cite the sources they list:
+        """;
+    private static final String CUT_MARKER = "\n[…]";
+
+    private final NewsSummarizerSettings.MapReduce settings;
+    private final NewsSummarizerSettings.Prompt promptSettings;
+    private final ArticlePromptBuilder articlePromptBuilder;
+    private final UnaryOperator<String> mapCall;
+    private final MeterRegistry meterRegistry;
+    private final LlmPermits llmPermits;
+    private final Cache<String, String> notesCache;
+
+    /**
+     * Constructs an ArticleMapReducer calling the LLM through the given chat client.
+     *
+     * @param chatClient           the chat client for the map calls
+     * @param articlePromptBuilder the builder of the chunk prompts
+     * @param llmPermits           the bound on concurrent LLM calls
+     * @param settings             the summarizer settings
+     * @param meterRegistry        the registry for the chunk and notes cache metrics
+     */
+    public ArticleMapReducer(ChatClient chatClient, ArticlePromptBuilder articlePromptBuilder, LlmPermits llmPermits, NewsSummarizerSettings settings, MeterRegistry meterRegistry) {
+        this(settings, articlePromptBuilder, mapCall(chatClient, settings.getMapReduce()), llmPermits, meterRegistry);
+    }
+
+    /**
+     * Constructs an ArticleMapReducer with the given map call.
+     *
+     * @param settings             the summarizer settings
+     * @param articlePromptBuilder the builder of the chunk prompts
+     * @param mapCall              the call condensing a chunk prompt into notes
+     * @param llmPermits           the bound on concurrent LLM calls
+     * @param meterRegistry        the registry for the chunk and notes cache metrics
+     */
+    ArticleMapReducer(NewsSummarizerSettings settings, ArticlePromptBuilder articlePromptBuilder, UnaryOperator<String> mapCall, LlmPermits llmPermits, MeterRegistry meterRegistry) {
+        this.settings = settings.getMapReduce();
+        this.promptSettings = settings.getPrompt();
+        this.articlePromptBuilder = articlePromptBuilder;
+        this.mapCall = mapCall;
+        this.llmPermits = llmPermits;
+        this.meterRegistry = meterRegistry;
+        this.notesCache = createNotesCache(this.settings.getCache(), meterRegistry);
+    }
+
+    /**
+     * Returns whether the given number of new articles is summarized with map-reduce.
+     *
+     * @param articles the number of new articles
+     * @return true if map-reduce is enabled and the articles exceed its threshold
+     */
+    public boolean applies(int articles) {
+        return settings.isEnabled() && articles > settings.getThreshold();
+    }
+
+    /**
+     * Condenses the given articles of a topic into notes, and builds the reduce prompt from them.
+     * Blocks until all map calls are done; if one of them fails, the others are cancelled and the failure is rethrown.
+     *
+     * @param topic    the topic the articles were fetched for
+     * @param articles the articles to summarize
+     * @return the reduce prompt, with the articles covered by the notes
+     */
+    public ArticlePrompt build(Topic topic, List<NewsApiArticle> articles) {
+        List<NewsApiArticle> ranked = articlePromptBuilder.rank(topic, articles);
+        ranked = ranked.subList(0, Math.min(ranked.size(), settings.getMaxArticles()));
+
+        int chunkSize = Math.max(1, settings.getChunkSize());
+        List<ArticlePrompt> chunks = new ArrayList<>();
+        for (int from = 0; from < ranked.size(); from += chunkSize) {
+            ArticlePrompt chunk = articlePromptBuilder.build(topic, ranked.subList(from, Math.min(ranked.size(), from + chunkSize)));
+            if (!chunk.articles().isEmpty()) {
+                chunks.add(chunk);
+            }
+        }
+
+        List<String> notes = map(chunks);
+        List<NewsApiArticle> included = chunks.stream()
+            .flatMap(chunk -> chunk.articles().stream())
+            .toList();
+
+        log.info("[{}] Condensed {} articles in {} chunks", topic.getName(), included.size(), chunks.size());
+        return reducePrompt(notes, included);
+    }
+
+    private List<String> map(List<ArticlePrompt> chunks) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> futures = chunks.stream()
+                .map(chunk -> executor.submit(() -> notes(chunk)))
+                .toList();
+
+            List<String> notes = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                notes.add(await(future, executor));
+            }
+            return notes;
+        }
+    }
+
+    private String notes(ArticlePrompt chunk) {
+        String key = cacheKey(chunk.text());
+        String cached = notesCache == null ? null : notesCache.getIfPresent(key);
+        if (cached != null) {
+            countChunk("cached");
+            return cached;
+        }
+
+        String notes = llmPermits.call(() -> mapCall.apply(chunk.text()));
+        if (notes == null || notes.isBlank()) {
+            throw new IllegalStateException("LLM returned no notes for a chunk of " + chunk.articles().size() + " articles");
+        }
+
+        notes = notes.strip();
+        if (notesCache != null) {
+            notesCache.put(key, notes);
+        }
+        countChunk("generated");
+        return notes;
+    }
+
+    private ArticlePrompt reducePrompt(List<String> notes, List<NewsApiArticle> articles) {
+        int budget = (int) (promptSettings.getMaxTokens() * promptSettings.getCharsPerToken()) - HEADER.length();
+        int maxPartChars = notes.isEmpty() ? budget : Math.max(CUT_MARKER.length(), budget / notes.size() - 16);
+
+        StringBuilder text = new StringBuilder(HEADER);
+        for (int i = 0; i < notes.size(); i++) {
+            text.append("\n[Part ").append(i + 1).append("]\n").append(truncate(notes.get(i), maxPartChars)).append('\n');
+        }
+
+        String prompt = text.toString();
+        return new ArticlePrompt(prompt, articles, articlePromptBuilder.estimateTokens(prompt));
+    }
+
+    private void countChunk(String source) {
+        Counter.builder("summarizer.map_reduce.chunks")
+            .description("Chunks condensed by map-reduce summarization")
+            .tag("source", source)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private String cacheKey(String chunkText) {
+        return sha256(Objects.toString(settings.getModel(), "") + '\n' + settings.getInstructions() + '\n' + chunkText);
+    }
+
+    private static UnaryOperator<String> mapCall(ChatClient chatClient, NewsSummarizerSettings.MapReduce settings) {
+        ChatOptions options = ChatOptions.builder()
+            .model(settings.getModel())
+            .maxTokens(settings.getMaxNotesTokens())
+            .build();
+
+        return text -> chatClient.prompt()
+            .system(settings.getInstructions())
+            .user(text)
+            .options(options)
+            .call()
+            .content();
+    }
+
+    private static Cache<String, String> createNotesCache(NewsSummarizerSettings.MapReduce.Cache settings, MeterRegistry meterRegistry) {
+        if (!settings.isEnabled()) {
+            return null;
+        }
+
+        Cache<String, String> cache = Caffeine.newBuilder()
+            .maximumSize(settings.getMaxSize())
+            .expireAfterWrite(settings.getTtl())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "summarizer-notes");
+        return cache;
+    }
+
+    private static String await(Future<String> future, ExecutorService executor) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            executor.shutdownNow();
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Map call failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the map calls", ex);
+        }
+    }
+
+    private static String truncate(String text, int maxChars) {
+        if (text.length() <= maxChars) {
+            return text;
+        }
+        int end = text.lastIndexOf('\n', maxChars - CUT_MARKER.length());
+        return text.substring(0, end > maxChars / 2 ? end : maxChars - CUT_MARKER.length()).stripTrailing() + CUT_MARKER;
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
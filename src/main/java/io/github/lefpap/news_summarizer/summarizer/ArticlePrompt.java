@@ -0,0 +1,19 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+
+import java.util.List;
+
+/**
+ * Represents the LLM prompt built from a list of articles.
+ *
+ * @param text            the prompt text
+ * @param articles        the articles included in the prompt, in prompt order
+ * @param estimatedTokens the estimated token count of the prompt
+ */
+public record ArticlePrompt(
+    String text,
+    List<NewsApiArticle> articles,
+    int estimatedTokens
+) {
+}
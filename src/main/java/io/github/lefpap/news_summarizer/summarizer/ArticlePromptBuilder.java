@@ -0,0 +1,220 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import io.github.lefpap.news_summarizer.summarizer.NewsSummarizerSettings.Topic;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the LLM prompt from fetched articles within a token budget.
+ *
+ * <p>
+ * Only the fields the summary needs are kept (title, source name, publication date, URL, description, and a content
+ * excerpt). Text is normalized: HTML tags, the News API {@code [+1234 chars]} truncation marker, and repeated
+ * whitespace are removed, content repeating the description is dropped, and long text is cut at a word boundary.
+ * Articles are ranked by how often the topic query terms occur in them and by recency, and added in that order
+ * until the budget configured in {@link NewsSummarizerSettings.Prompt} is used up.
+ *
+ * <p>
+ * Each article is rendered as a compact block:
+ * <pre>
+ * [1] Title
+ * Source Name | 2025-06-01 | https://example.com/article
+ * Description
+ * Content excerpt
+ * </pre>
+ */
+@Component
+public class ArticlePromptBuilder {
+
+    private static final String HEADER = "Here are the articles to summarize:\n";
+    private static final Pattern TRUNCATION_MARKER = Pattern.compile("\\s*(?:…|\\.\\.\\.)?\\s*\\[\\+\\d+ chars]\\s*$");
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]{1,200}>");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> QUERY_OPERATORS = Set.of("and", "or", "not");
+
+    private final NewsSummarizerSettings.Prompt settings;
+    private final Clock clock;
+
+    /**
+     * Constructs an ArticlePromptBuilder with the configured prompt limits.
+     *
+     * @param settings the summarizer settings
+     */
+    public ArticlePromptBuilder(NewsSummarizerSettings settings) {
+        this(settings.getPrompt(), Clock.systemUTC());
+    }
+
+    /**
+     * Constructs an ArticlePromptBuilder with the given prompt limits and clock.
+     *
+     * @param settings the prompt limits
+     * @param clock    the clock used to rank articles by recency
+     */
+    ArticlePromptBuilder(NewsSummarizerSettings.Prompt settings, Clock clock) {
+        this.settings = settings;
+        this.clock = clock;
+    }
+
+    /**
+     * Builds the prompt for the given articles of a topic.
+     *
+     * @param topic    the topic the articles were fetched for
+     * @param articles the articles to summarize
+     * @return the prompt, with the articles that fit in the budget; none if not even the first one fits
+     */
+    public ArticlePrompt build(Topic topic, List<NewsApiArticle> articles) {
+        StringBuilder text = new StringBuilder(HEADER);
+        int tokens = estimateTokens(HEADER);
+        List<NewsApiArticle> included = new ArrayList<>();
+
+        for (NewsApiArticle article : rank(topic, articles)) {
+            String block = render(included.size() + 1, article);
+            int blockTokens = estimateTokens(block);
+            if (tokens + blockTokens > settings.getMaxTokens()) {
+                continue;
+            }
+            text.append(block);
+            tokens += blockTokens;
+            included.add(article);
+        }
+
+        return new ArticlePrompt(text.toString(), List.copyOf(included), tokens);
+    }
+
+    /**
+     * Ranks the given articles of a topic, most relevant and recent first.
+     *
+     * @param topic    the topic the articles were fetched for
+     * @param articles the articles to rank
+     * @return the articles in rank order
+     */
+    public List<NewsApiArticle> rank(Topic topic, List<NewsApiArticle> articles) {
+        Set<String> terms = queryTerms(topic.getQuery().get("q"));
+        Instant now = clock.instant();
+
+        return articles.stream()
+            .map(article -> new Candidate(article, score(article, terms, now, topic.getLookback())))
+            .sorted(Comparator.comparingDouble(Candidate::score).reversed()
+                .thenComparing(candidate -> Objects.toString(candidate.article().url(), "")))
+            .map(Candidate::article)
+            .toList();
+    }
+
+    /**
+     * Estimates the number of tokens of the given text.
+     *
+     * @param text the text
+     * @return the estimated token count
+     */
+    int estimateTokens(String text) {
+        return (int) Math.ceil(text.length() / settings.getCharsPerToken());
+    }
+
+    private String render(int index, NewsApiArticle article) {
+        String title = clean(article.title());
+        String description = clean(article.description());
+        String content = clean(article.content());
+        if (!description.isEmpty() && (content.startsWith(description) || description.startsWith(content))) {
+            content = "";
+        }
+        description = truncate(description, settings.getMaxDescriptionChars());
+        content = truncate(content, settings.getMaxContentChars());
+
+        StringBuilder block = new StringBuilder(title.length() + description.length() + content.length() + 128);
+        block.append('\n').append('[').append(index).append("] ").append(title).append('\n');
+        block.append(article.source() == null ? "" : clean(article.source().name()))
+            .append(" | ").append(date(article.publishedAt()))
+            .append(" | ").append(Objects.toString(article.url(), "")).append('\n');
+        if (!description.isEmpty()) {
+            block.append(description).append('\n');
+        }
+        if (!content.isEmpty()) {
+            block.append(content).append('\n');
+        }
+        return block.toString();
+    }
+
+    private static double score(NewsApiArticle article, Set<String> terms, Instant now, Duration lookback) {
+        double relevance = 2.0 * countTerms(article.title(), terms) + countTerms(article.description(), terms);
+
+        double recency = 0.0;
+        Instant publishedAt = parseInstant(article.publishedAt());
+        if (publishedAt != null && !lookback.isZero()) {
+            double age = Duration.between(publishedAt, now).toMillis() / (double) lookback.toMillis();
+            recency = 1.0 - Math.min(1.0, Math.max(0.0, age));
+        }
+
+        return relevance + recency;
+    }
+
+    private static int countTerms(String text, Set<String> terms) {
+        if (text == null || terms.isEmpty()) {
+            return 0;
+        }
+        return (int) Arrays.stream(NON_WORD.split(text.toLowerCase(Locale.ROOT)))
+            .filter(terms::contains)
+            .count();
+    }
+
+    private static Set<String> queryTerms(String query) {
+        if (query == null) {
+            return Set.of();
+        }
+        return Arrays.stream(NON_WORD.split(query.toLowerCase(Locale.ROOT)))
+            .filter(term -> !term.isEmpty() && !QUERY_OPERATORS.contains(term))
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static String clean(String text) {
+        if (text == null) {
+            return "";
+        }
+        String cleaned = TRUNCATION_MARKER.matcher(text).replaceFirst("");
+        cleaned = HTML_TAG.matcher(cleaned).replaceAll(" ");
+        return WHITESPACE.matcher(cleaned).replaceAll(" ").trim();
+    }
+
+    private static String truncate(String text, int maxChars) {
+        if (maxChars <= 0) {
+            return "";
+        }
+        if (text.length() <= maxChars) {
+            return text;
+        }
+        int end = text.lastIndexOf(' ', maxChars - 1);
+        return text.substring(0, end > maxChars / 2 ? end : maxChars - 1).stripTrailing() + "…";
+    }
+
+    private static String date(String publishedAt) {
+        return publishedAt != null && publishedAt.length() >= 10 ? publishedAt.substring(0, 10) : "";
+    }
+
+    private static Instant parseInstant(String text) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(text);
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    private record Candidate(NewsApiArticle article, double score) {
+    }
+}
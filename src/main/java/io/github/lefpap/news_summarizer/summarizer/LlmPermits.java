@@ -0,0 +1,66 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the number of concurrent LLM calls, as configured in {@link NewsSummarizerSettings.Concurrency#getLlm()}.
+ *
+ * <p>
+ * Shared by every caller of the LLM: the summary and update calls of the {@link NewsSummarizerService}, including
+ * streamed ones, and the map calls of the {@link ArticleMapReducer}. Permits are handed out in request order.
+ */
+@Component
+public class LlmPermits {
+
+    private final Semaphore permits;
+
+    /**
+     * Constructs LlmPermits with the configured limit.
+     *
+     * @param settings the summarizer settings
+     */
+    public LlmPermits(NewsSummarizerSettings settings) {
+        this.permits = new Semaphore(settings.getConcurrency().getLlm(), true);
+    }
+
+    /**
+     * Runs the given call once a permit is available, releasing it when the call returns or throws.
+     *
+     * @param call the LLM call
+     * @param <T>  the type of the call result
+     * @return the call result
+     */
+    public <T> T call(Supplier<T> call) {
+        acquire();
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Waits for a permit, for calls whose end is not known to the caller (e.g. streams).
+     * Every acquired permit must be {@link #release() released}.
+     *
+     * @throws IllegalStateException if interrupted while waiting
+     */
+    public void acquire() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free slot", ex);
+        }
+    }
+
+    /**
+     * Releases a permit acquired with {@link #acquire()}.
+     */
+    public void release() {
+        permits.release();
+    }
+}
@@ -0,0 +1,208 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.summary.OutputSummary;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Computes MinHash signatures of summaries, estimating the Jaccard similarity of their sets of word shingles.
+ *
+ * <p>
+ * The text is tokenized into lower-case words of letters and digits, and every run of {@link #shingleSize()}
+ * consecutive words is a shingle. Words and shingles are hashed on the fly, straight from the characters, so computing
+ * a signature allocates no strings, only the signature itself and a small tokenizer state holding the last word
+ * hashes. Each signature entry is the minimum of one universal hash function ({@code a * x + b}, keeping the high 32
+ * bits) over the shingle hashes; the fraction of equal entries of two signatures estimates the similarity of the two
+ * texts.
+ *
+ * <p>
+ * Instances are immutable and thread-safe. Signatures are only comparable between instances created with the same
+ * parameters.
+ */
+public final class MinHash {
+
+    private static final long SEED = 0x5DEECE66DL;
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final int shingleSize;
+    private final long[] multipliers;
+    private final long[] increments;
+
+    /**
+     * Constructs a MinHash with the given number of hash functions.
+     *
+     * @param hashes      the number of hash functions, i.e. the length of the signatures
+     * @param shingleSize the number of consecutive words per shingle
+     */
+    public MinHash(int hashes, int shingleSize) {
+        if (hashes < 1 || shingleSize < 1) {
+            throw new IllegalArgumentException("Hashes and shingle size must be positive");
+        }
+
+        this.shingleSize = shingleSize;
+        this.multipliers = new long[hashes];
+        this.increments = new long[hashes];
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < hashes; i++) {
+            multipliers[i] = random.nextLong() | 1L;
+            increments[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Returns the length of the signatures.
+     *
+     * @return the number of hash functions
+     */
+    public int hashes() {
+        return multipliers.length;
+    }
+
+    /**
+     * Returns the number of consecutive words per shingle.
+     *
+     * @return the shingle size
+     */
+    public int shingleSize() {
+        return shingleSize;
+    }
+
+    /**
+     * Computes the signature of a summary from its title, highlights and content.
+     *
+     * @param summary the summary
+     * @return the signature
+     */
+    public int[] signature(OutputSummary summary) {
+        Sketch sketch = new Sketch();
+        sketch.add(summary.title());
+        if (summary.highlights() != null) {
+            summary.highlights().forEach(sketch::add);
+        }
+        sketch.add(summary.content());
+        return sketch.finish();
+    }
+
+    /**
+     * Computes the signature of the given texts, as if they were one text.
+     *
+     * @param texts the texts, null ones are skipped
+     * @return the signature
+     */
+    public int[] signature(CharSequence... texts) {
+        Sketch sketch = new Sketch();
+        for (CharSequence text : texts) {
+            sketch.add(text);
+        }
+        return sketch.finish();
+    }
+
+    /**
+     * Estimates the Jaccard similarity of the texts of two signatures.
+     *
+     * @param a the first signature
+     * @param b the second signature, of the same length
+     * @return the fraction of equal signature entries, between 0 and 1
+     */
+    public static double similarity(int[] a, int[] b) {
+        return similarity(a, b, 0);
+    }
+
+    /**
+     * Estimates the Jaccard similarity of a signature and a signature stored in a larger array.
+     *
+     * @param a      the signature
+     * @param b      the array holding the other signature
+     * @param offset the index of the other signature in {@code b}
+     * @return the fraction of equal signature entries, between 0 and 1
+     */
+    static double similarity(int[] a, int[] b, int offset) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[offset + i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    private static long mix(long hash) {
+        // Finalizer of MurmurHash3, spreading every input bit over the whole hash
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * The signature of a text being tokenized. Words carry over from one added text to the next, so a shingle may
+     * span the end of the title and the start of the first highlight.
+     */
+    private final class Sketch {
+
+        private final int[] signature = new int[multipliers.length];
+        private final long[] words = new long[shingleSize];
+        private long word = FNV_OFFSET;
+        private boolean inWord;
+        private int count;
+
+        private Sketch() {
+            Arrays.fill(signature, Integer.MAX_VALUE);
+        }
+
+        private void add(CharSequence text) {
+            if (text == null) {
+                return;
+            }
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (Character.isLetterOrDigit(c)) {
+                    word = (word ^ Character.toLowerCase(c)) * FNV_PRIME;
+                    inWord = true;
+                } else {
+                    endWord();
+                }
+            }
+            endWord();
+        }
+
+        private void endWord() {
+            if (!inWord) {
+                return;
+            }
+            words[count % shingleSize] = word;
+            count++;
+            if (count >= shingleSize) {
+                shingle(count - shingleSize);
+            }
+            word = FNV_OFFSET;
+            inWord = false;
+        }
+
+        private void shingle(int first) {
+            long hash = 0L;
+            for (int i = 0; i < shingleSize; i++) {
+                hash = hash * 31 + words[(first + i) % shingleSize];
+            }
+            hash = mix(hash);
+
+            for (int i = 0; i < signature.length; i++) {
+                int value = (int) ((multipliers[i] * hash + increments[i]) >>> 32);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+
+        private int[] finish() {
+            if (count > 0 && count < shingleSize) {
+                // Texts shorter than a shingle are a single shingle of all their words
+                shingle(0);
+            }
+            return signature;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory locality-sensitive hashing (LSH) index of MinHash signatures, finding the most similar stored signature
+ * without comparing against all of them.
+ *
+ * <p>
+ * Signatures are split into {@code bands} bands of {@code hashes / bands} rows. Two signatures are candidates when
+ * they are equal in at least one band, which happens with probability {@code 1 - (1 - s^rows)^bands} for texts of
+ * similarity {@code s}; only candidates are compared entry by entry. More bands of fewer rows find more of the
+ * near-duplicates at the cost of more candidates.
+ *
+ * <p>
+ * The index is stored in primitive arrays to keep 100k+ signatures cheap to hold and scan: the signatures in one
+ * flat {@code int[]}, and the band buckets in a chained hash table of {@code long} band hashes. Replacing or removing
+ * a signature unlinks its bucket entries and frees its slot for reuse, so the index grows with the number of
+ * summaries, not with the number of times they are updated. Reads run concurrently; writes are exclusive.
+ */
+public final class MinHashLshIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int hashes;
+    private final int bands;
+    private final int rows;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> docsById = new HashMap<>();
+
+    private UUID[] ids = new UUID[INITIAL_CAPACITY];
+    private int[] signatures;
+    private int docs;
+    private int[] freeDocs = new int[16];
+    private int freeCount;
+
+    private int[] heads;
+    private long[] entryKeys;
+    private int[] entryDocs;
+    private int[] entryNext;
+    private int entries;
+
+    /**
+     * Constructs an empty index.
+     *
+     * @param hashes the length of the signatures
+     * @param bands  the number of bands, dividing {@code hashes}
+     */
+    public MinHashLshIndex(int hashes, int bands) {
+        if (bands < 1 || hashes % bands != 0) {
+            throw new IllegalArgumentException("The " + hashes + " hashes cannot be split into " + bands + " bands");
+        }
+
+        this.hashes = hashes;
+        this.bands = bands;
+        this.rows = hashes / bands;
+        this.signatures = new int[INITIAL_CAPACITY * hashes];
+        this.entryKeys = new long[INITIAL_CAPACITY * bands];
+        this.entryDocs = new int[INITIAL_CAPACITY * bands];
+        this.entryNext = new int[INITIAL_CAPACITY * bands];
+        rehash(slots(entryKeys.length));
+    }
+
+    /**
+     * Adds or replaces the signature of a summary.
+     *
+     * @param id        the ID of the summary
+     * @param signature the signature of the summary
+     */
+    public void put(UUID id, int[] signature) {
+        checkLength(signature);
+        lock.writeLock().lock();
+        try {
+            Integer existing = docsById.get(id);
+            int doc;
+            if (existing != null) {
+                if (Arrays.equals(signature, 0, hashes, signatures, existing * hashes, (existing + 1) * hashes)) {
+                    return;
+                }
+                doc = existing;
+                removeEntries(doc);
+            } else {
+                doc = freeCount > 0 ? freeDocs[--freeCount] : docs++;
+                ensureDocCapacity();
+                ids[doc] = id;
+                docsById.put(id, doc);
+            }
+
+            System.arraycopy(signature, 0, signatures, doc * hashes, hashes);
+            for (int band = 0; band < bands; band++) {
+                addEntry(bandKey(signature, 0, band), doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the signature of a summary, if indexed.
+     *
+     * @param id the ID of the summary
+     */
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docsById.remove(id);
+            if (doc != null) {
+                removeEntries(doc);
+                ids[doc] = null;
+                if (freeCount == freeDocs.length) {
+                    freeDocs = Arrays.copyOf(freeDocs, freeCount * 2);
+                }
+                freeDocs[freeCount++] = doc;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the stored signature most similar to the given one.
+     *
+     * @param signature the signature to look up
+     * @param threshold the minimum estimated similarity of a match
+     * @return the most similar summary, if any reaches the threshold
+     */
+    public Optional<Match> findMostSimilar(int[] signature, double threshold) {
+        checkLength(signature);
+        lock.readLock().lock();
+        try {
+            int best = -1;
+            double bestSimilarity = threshold;
+            for (int band = 0; band < bands; band++) {
+                long key = bandKey(signature, 0, band);
+                for (int entry = heads[slot(key)]; entry >= 0; entry = entryNext[entry]) {
+                    int doc = entryDocs[entry];
+                    if (entryKeys[entry] != key || ids[doc] == null || doc == best) {
+                        continue;
+                    }
+                    double similarity = MinHash.similarity(signature, signatures, doc * hashes);
+                    if (similarity >= bestSimilarity) {
+                        best = doc;
+                        bestSimilarity = similarity;
+                    }
+                }
+            }
+            return best < 0 ? Optional.empty() : Optional.of(new Match(ids[best], bestSimilarity));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed summaries.
+     *
+     * @return the number of summaries
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of signature slots in use, including the freed ones waiting to be reused.
+     */
+    int usedSlots() {
+        lock.readLock().lock();
+        try {
+            return docs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of band bucket entries.
+     */
+    int bucketEntries() {
+        lock.readLock().lock();
+        try {
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long bandKey(int[] signature, int offset, int band) {
+        long hash = band;
+        for (int i = offset + band * rows; i < offset + (band + 1) * rows; i++) {
+            hash = hash * 0x9E3779B97F4A7C15L + signature[i];
+        }
+        return hash ^ (hash >>> 29);
+    }
+
+    private int slot(long key) {
+        return (int) (key ^ (key >>> 32)) & (heads.length - 1);
+    }
+
+    private void addEntry(long key, int doc) {
+        if (entries == entryKeys.length) {
+            int capacity = entries * 2;
+            entryKeys = Arrays.copyOf(entryKeys, capacity);
+            entryDocs = Arrays.copyOf(entryDocs, capacity);
+            entryNext = Arrays.copyOf(entryNext, capacity);
+            rehash(slots(capacity));
+        }
+
+        int entry = entries++;
+        int slot = slot(key);
+        entryKeys[entry] = key;
+        entryDocs[entry] = doc;
+        entryNext[entry] = heads[slot];
+        heads[slot] = entry;
+    }
+
+    private void removeEntries(int doc) {
+        for (int band = 0; band < bands; band++) {
+            removeEntry(bandKey(signatures, doc * hashes, band), doc);
+        }
+    }
+
+    private void removeEntry(long key, int doc) {
+        int slot = slot(key);
+        int previous = -1;
+        for (int entry = heads[slot]; entry >= 0; previous = entry, entry = entryNext[entry]) {
+            if (entryKeys[entry] == key && entryDocs[entry] == doc) {
+                if (previous < 0) {
+                    heads[slot] = entryNext[entry];
+                } else {
+                    entryNext[previous] = entryNext[entry];
+                }
+                moveLastEntry(entry);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Moves the last entry into the given unlinked one, keeping the entries contiguous.
+     */
+    private void moveLastEntry(int free) {
+        int last = --entries;
+        if (last == free) {
+            return;
+        }
+
+        int slot = slot(entryKeys[last]);
+        if (heads[slot] == last) {
+            heads[slot] = free;
+        } else {
+            int entry = heads[slot];
+            while (entryNext[entry] != last) {
+                entry = entryNext[entry];
+            }
+            entryNext[entry] = free;
+        }
+        entryKeys[free] = entryKeys[last];
+        entryDocs[free] = entryDocs[last];
+        entryNext[free] = entryNext[last];
+    }
+
+    private static int slots(int entries) {
+        // A power of two above the number of entries, keeping the chains short
+        return Integer.highestOneBit(entries) * 2;
+    }
+
+    private void rehash(int slots) {
+        heads = new int[slots];
+        Arrays.fill(heads, -1);
+        for (int entry = 0; entry < entries; entry++) {
+            int slot = slot(entryKeys[entry]);
+            entryNext[entry] = heads[slot];
+            heads[slot] = entry;
+        }
+    }
+
+    private void ensureDocCapacity() {
+        if (docs > ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            signatures = Arrays.copyOf(signatures, ids.length * hashes);
+        }
+    }
+
+    private void checkLength(int[] signature) {
+        if (signature.length != hashes) {
+            throw new IllegalArgumentException("Expected a signature of " + hashes + " hashes, got " + signature.length);
+        }
+    }
+
+    /**
+     * A stored summary similar to the looked up signature.
+     *
+     * @param id         the ID of the summary
+     * @param similarity the estimated Jaccard similarity
+     */
+    public record Match(UUID id, double similarity) {
+    }
+}
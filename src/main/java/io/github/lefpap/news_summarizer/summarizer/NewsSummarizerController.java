@@ -0,0 +1,199 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.summarizer.NewsSummarizerSettings.Topic;
+import io.github.lefpap.news_summarizer.summarizer.api.ApiEnqueueJobRequest;
+import io.github.lefpap.news_summarizer.summary.OutputSummary;
+import io.github.lefpap.news_summarizer.summary.OutputSummaryMapper;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * REST controller for on-demand summarization.
+ * Provides an endpoint streaming a summary as Server-Sent Events while it is generated,
+ * endpoints for enqueuing and inspecting summarization jobs, and an endpoint listing the recorded summarization runs.
+ */
+@RestController
+@RequestMapping("/api/v1/summarizer")
+@RequiredArgsConstructor
+@Slf4j
+public class NewsSummarizerController {
+
+    private final NewsSummarizerService newsSummarizerService;
+    private final StorySummarySaver storySummarySaver;
+    private final SummaryDeduplicator summaryDeduplicator;
+    private final OutputSummaryMapper summaryMapper;
+    private final SummarizationRunRecorder runRecorder;
+    private final SummarizationRunJdbcRepository runRepository;
+    private final SummarizationJobService jobService;
+
+    /**
+     * Summarizes the news matching the given query, streaming the summary as it is generated, and saves it.
+     * Only the largest story among the new articles is summarized.
+     *
+     * <p>
+     * Emits a {@code front-matter} event with the summary metadata as soon as it is available, {@code content}
+     * events with body chunks, and finally a {@code saved} event with the ID of the saved summary, which is the ID of
+     * the stored summary it was merged into if it is a near-duplicate. Emits a {@code skipped} event if there are no
+     * new articles or the summary is a discarded duplicate, or an {@code error} event if generation fails.
+     * The summarized articles are only marked as seen, for the query, once the summary is saved or discarded.
+     *
+     * @param query the search query for news articles
+     * @return the stream of summarization events
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamSummary(@RequestParam("q") @NotBlank String query) {
+        SummarizationRunRecorder.Run run = runRecorder.start(query);
+        return newsSummarizerService.summarizeStream(Topic.of(query), run)
+            .concatMap(event -> switch (event) {
+                case SummarizationEvent.FrontMatter frontMatter ->
+                    Mono.just(sse("front-matter", summaryMapper.toApi(frontMatter.summary())));
+                case SummarizationEvent.Content content -> Mono.just(sse("content", content.delta()));
+                case SummarizationEvent.Completed completed -> Mono.fromCallable(() -> save(query, completed, run))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(saved -> saved.map(summary -> {
+                        run.succeeded(summary.id());
+                        return sse("saved", summary.id());
+                    }).orElseGet(() -> {
+                        run.skipped();
+                        return sse("skipped", "Duplicate of a stored summary");
+                    }));
+            })
+            .switchIfEmpty(Mono.fromSupplier(() -> {
+                run.skipped();
+                return sse("skipped", "No new articles");
+            }))
+            .onErrorResume(ex -> {
+                run.failed(ex);
+                log.error("[{}] Streaming summarization failed", query, ex);
+                return Mono.just(sse("error", ex.getMessage()));
+            })
+            .doFinally(signal -> Schedulers.boundedElastic().schedule(() -> runRecorder.finish(run)));
+    }
+
+    /**
+     * Retrieves the most recent summarization runs, with the time spent in each stage.
+     *
+     * @param limit the maximum number of runs to return (1-100)
+     * @return the most recent runs, newest first
+     */
+    @GetMapping("/runs")
+    public List<SummarizationRun> listRuns(@RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return runRepository.findRecent(limit);
+    }
+
+    /**
+     * Enqueues a summarization job for a configured or ad-hoc topic.
+     * If the topic already has a queued or running job, that job is returned instead.
+     *
+     * @param request the topic to summarize
+     * @return the enqueued job, with status 202 Accepted
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<SummarizationJob> enqueueJob(@RequestBody ApiEnqueueJobRequest request) {
+        Topic topic;
+        if (request.query() == null) {
+            if (request.topic() == null || request.topic().isBlank()) {
+                throw new IllegalArgumentException("Either `topic` or `query` is required");
+            }
+            topic = jobService.getConfiguredTopic(request.topic());
+        } else {
+            String q = request.query().get("q");
+            if (q == null || q.isBlank()) {
+                throw new IllegalArgumentException("`query.q` (the search query) is mandatory");
+            }
+            topic = Topic.of(q);
+            topic.getQuery().putAll(request.query());
+            if (request.topic() != null && !request.topic().isBlank()) {
+                topic.setName(request.topic());
+            }
+            if (request.lookback() != null) {
+                topic.setLookback(request.lookback());
+            }
+        }
+
+        return ResponseEntity.accepted().body(jobService.enqueue(topic));
+    }
+
+    /**
+     * Retrieves the most recent summarization jobs.
+     *
+     * @param limit the maximum number of jobs to return (1-100)
+     * @return the most recent jobs, newest first
+     */
+    @GetMapping("/jobs")
+    public List<SummarizationJob> listJobs(@RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return jobService.listJobs(limit);
+    }
+
+    /**
+     * Retrieves a summarization job by its ID.
+     *
+     * @param id the ID of the job
+     * @return the job
+     */
+    @GetMapping("/jobs/{id}")
+    public SummarizationJob getJob(@PathVariable UUID id) {
+        return jobService.getJob(id);
+    }
+
+    /**
+     * Handles NoSuchElementException by returning a 404 Not Found response.
+     *
+     * @param e the exception
+     * @return a ResponseEntity with 404 status
+     */
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<String> handleNoSuchElementException(NoSuchElementException e) {
+        return ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Handles IllegalArgumentException (e.g. a job request without a query) by returning a 400 Bad Request response.
+     *
+     * @param e the exception
+     * @return a ResponseEntity with 400 status and the error message
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    private Optional<OutputSummary> save(String query, SummarizationEvent.Completed completed, SummarizationRunRecorder.Run run) {
+        Optional<OutputSummary> summary = run.time(SummarizationStage.DEDUP,
+            () -> summaryDeduplicator.deduplicate(completed.summary()));
+        if (summary.isEmpty()) {
+            storySummarySaver.discard(query, completed.articles());
+            return Optional.empty();
+        }
+        return Optional.of(run.time(SummarizationStage.SAVE,
+            () -> summaryDeduplicator.index(storySummarySaver.save(query, summary.get(), completed.articles()))));
+    }
+
+    private static ServerSentEvent<Object> sse(String event, Object data) {
+        return ServerSentEvent.builder(data)
+            .event(event)
+            .build();
+    }
+}
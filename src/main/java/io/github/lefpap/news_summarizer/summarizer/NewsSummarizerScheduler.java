@@ -1,7 +1,5 @@
 package io.github.lefpap.news_summarizer.summarizer;
 
-import io.github.lefpap.news_summarizer.summary.OutputSummary;
-import io.github.lefpap.news_summarizer.summary.OutputSummaryJdbcRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -9,27 +7,40 @@ import org.springframework.stereotype.Component;
 
 /**
  * Scheduler for automating the summarization of news articles.
- * Executes tasks at specified intervals based on a cron expression.
+ * Enqueues a summarization job per configured topic at intervals based on a cron expression.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class NewsSummarizerScheduler {
 
-    private final NewsSummarizerService newsSummarizerService;
-    private final OutputSummaryJdbcRepository summaryRepository;
+    private final SummarizationJobService jobService;
+    private final SchedulerLease schedulerLease;
+    private final NewsSummarizerSettings settings;
 
     /**
-     * Automatically summarizes news articles and saves the result.
+     * Automatically enqueues a summarization job for every configured topic.
      *
      * <p>
      * This method is triggered based on the cron expression defined in the application properties.
+     * The jobs are processed by the {@link SummarizationJobWorker} pool of any instance; a topic whose previous job
+     * is still queued or running is not enqueued again. When several instances share the database, only the one
+     * holding the {@link SchedulerLease} enqueues.
      */
     @Scheduled(cron = "${app.summarizer.cron}")
     public void automaticSummarization() {
-        OutputSummary summary = newsSummarizerService.summarize("AI");
-        OutputSummary saved = summaryRepository.save(summary);
-        log.info("Saved summary with ID: {}", saved.id());
+        if (!schedulerLease.tryAcquire()) {
+            log.debug("Scheduler lease held by another instance, skipping scheduled summarization");
+            return;
+        }
+
+        settings.getTopics().forEach(topic -> {
+            try {
+                jobService.enqueue(topic);
+            } catch (RuntimeException ex) {
+                log.error("[{}] Failed to enqueue summarization job", topic.getName(), ex);
+            }
+        });
     }
 
 }
@@ -1,23 +1,51 @@
 package io.github.lefpap.news_summarizer.summarizer;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
 import io.github.lefpap.news_summarizer.news_api.NewsApiClient;
 import io.github.lefpap.news_summarizer.news_api.NewsApiQueryParams;
-import io.github.lefpap.news_summarizer.news_api.NewsApiQueryParams.SearchIn;
-import io.github.lefpap.news_summarizer.news_api.NewsApiQueryParams.SortBy;
 import io.github.lefpap.news_summarizer.news_api.NewsApiResponse;
+import io.github.lefpap.news_summarizer.summarizer.NewsSummarizerSettings.Topic;
 import io.github.lefpap.news_summarizer.summary.OutputSummary;
+import io.github.lefpap.news_summarizer.summary.OutputSummaryJdbcRepository;
 import io.github.lefpap.news_summarizer.summary.OutputSummaryParser;
+import io.github.lefpap.news_summarizer.summary.OutputSummaryParsingException;
+import io.github.lefpap.news_summarizer.summary.OutputSummaryStreamParser;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import static io.github.lefpap.news_summarizer.summarizer.SummarizationStage.CLUSTER;
+import static io.github.lefpap.news_summarizer.summarizer.SummarizationStage.FETCH;
+import static io.github.lefpap.news_summarizer.summarizer.SummarizationStage.LLM;
+import static io.github.lefpap.news_summarizer.summarizer.SummarizationStage.MAP;
+import static io.github.lefpap.news_summarizer.summarizer.SummarizationStage.PARSE;
+import static io.github.lefpap.news_summarizer.summarizer.SummarizationStage.PROMPT;
 
 /**
  * Service for summarizing news articles.
+ *
+ * <p>
+ * Safe to call concurrently for different topics: calls to the News API and to the LLM are each bounded by the
+ * limits configured in {@link NewsSummarizerSettings.Concurrency}, the latter through the {@link LlmPermits} shared
+ * with the map calls of the {@link ArticleMapReducer}. New articles are clustered into stories by the
+ * {@link ArticleClusterer}, and stories too large for one prompt are condensed by the {@link ArticleMapReducer} first.
+ * A recent summary of the topic is updated with a few new articles instead, as configured in
+ * {@link NewsSummarizerSettings.Update}.
  */
 @Service
 @Slf4j
@@ -26,63 +54,368 @@ public class NewsSummarizerService {
     private final NewsApiClient newsApiClient;
     private final ChatClient chatClient;
     private final OutputSummaryParser outputSummaryParser;
-    private final ObjectMapper objectMapper;
+    private final ArticleDeduplicator articleDeduplicator;
+    private final ArticlePromptBuilder articlePromptBuilder;
+    private final ArticleMapReducer articleMapReducer;
+    private final ArticleEmbedder articleEmbedder;
+    private final ArticleClusterer articleClusterer;
+    private final OutputSummaryJdbcRepository summaryRepository;
+    private final SummaryDeltaMerger summaryDeltaMerger;
+    private final NewsSummarizerSettings settings;
+    private final ChatOptions updateOptions;
+    private final Semaphore newsApiPermits;
+    private final LlmPermits llmPermits;
 
     /**
      * Constructs a NewsSummarizerService with the specified dependencies.
      *
-     * @param newsApiClient       the News API client
-     * @param chatClient          the chat client for AI interactions
-     * @param outputSummaryParser the parser for output summaries
-     * @param objectMapperBuilder the builder for the ObjectMapper
+     * @param newsApiClient        the News API client
+     * @param chatClient           the chat client for AI interactions
+     * @param outputSummaryParser  the parser for output summaries
+     * @param articleDeduplicator  the filter of already summarized articles
+     * @param articlePromptBuilder the builder of the LLM prompt
+     * @param articleMapReducer    the condenser of large article sets
+     * @param articleEmbedder      the embedder of articles for clustering
+     * @param articleClusterer     the clusterer of articles into stories
+     * @param summaryRepository    the repository of the summaries to update
+     * @param summaryDeltaMerger   the merger of updates into summaries
+     * @param llmPermits           the bound on concurrent LLM calls, shared with the map calls
+     * @param settings             the summarizer settings
      */
-    public NewsSummarizerService(NewsApiClient newsApiClient, ChatClient chatClient, OutputSummaryParser outputSummaryParser, Jackson2ObjectMapperBuilder objectMapperBuilder) {
+    public NewsSummarizerService(NewsApiClient newsApiClient, ChatClient chatClient, OutputSummaryParser outputSummaryParser, ArticleDeduplicator articleDeduplicator, ArticlePromptBuilder articlePromptBuilder, ArticleMapReducer articleMapReducer, ArticleEmbedder articleEmbedder, ArticleClusterer articleClusterer, OutputSummaryJdbcRepository summaryRepository, SummaryDeltaMerger summaryDeltaMerger, LlmPermits llmPermits, NewsSummarizerSettings settings) {
         this.newsApiClient = newsApiClient;
         this.chatClient = chatClient;
         this.outputSummaryParser = outputSummaryParser;
-        this.objectMapper = objectMapperBuilder.build();
+        this.articleDeduplicator = articleDeduplicator;
+        this.articlePromptBuilder = articlePromptBuilder;
+        this.articleMapReducer = articleMapReducer;
+        this.articleEmbedder = articleEmbedder;
+        this.articleClusterer = articleClusterer;
+        this.summaryRepository = summaryRepository;
+        this.summaryDeltaMerger = summaryDeltaMerger;
+        this.llmPermits = llmPermits;
+        this.settings = settings;
+        this.updateOptions = ChatOptions.builder()
+            .model(settings.getUpdate().getModel())
+            .maxTokens(settings.getUpdate().getMaxTokens())
+            .build();
+        this.newsApiPermits = new Semaphore(settings.getConcurrency().getNewsApi(), true);
     }
 
     /**
      * Summarizes news articles based on the specified query.
      *
      * @param query the search query for news articles
-     * @return the summarized output
+     * @param run   the run recording the stages of this summarization
+     * @return the summaries, one per story, or empty if no new articles were found
+     */
+    public List<StorySummary> summarize(String query, SummarizationRunRecorder.Run run) {
+        return summarize(Topic.of(query), run);
+    }
+
+    /**
+     * Summarizes news articles of the specified topic, one summary per story.
+     * Articles already covered by a previous summary are left out; if no new articles are found,
+     * the LLM is not called at all. The new articles are clustered into stories as configured in
+     * {@link NewsSummarizerSettings.Clustering}, and the largest stories are summarized separately; if no story is
+     * large enough, all new articles are summarized as a single story.
+     * Every summary comes with the articles it covers, to be marked as seen once it is saved by the
+     * {@link StorySummarySaver}: only the articles that fit in the prompt budget of their story,
+     * so the rest remain eligible for the next run. With map-reduce, the budget is that of the map calls, and the
+     * final call writes the summary from their notes.
+     * A story none of whose articles fits in the budget is skipped without calling the LLM.
+     *
+     * <p>
+     * If a story fails, the remaining stories are still summarized and the failure is only rethrown when no story
+     * succeeded; the articles of the failed story stay eligible for the next run.
+     *
+     * <p>
+     * If the topic has a summary created within {@link NewsSummarizerSettings.Update#getMaxAge()} and at most
+     * {@link NewsSummarizerSettings.Update#getMaxNewArticles()} new articles, the LLM only writes the changes the new
+     * articles bring, which are merged into that summary. The updated summary keeps its ID, so saving it updates the
+     * stored summary and archives its previous revision.
+     *
+     * @param topic the topic whose articles to summarize
+     * @param run   the run recording the stages of this summarization
+     * @return the summaries, one per story, or the updated summary; empty if no new articles were found
+     */
+    public List<StorySummary> summarize(Topic topic, SummarizationRunRecorder.Run run) {
+        List<NewsApiArticle> articles = run.time(FETCH, () -> fetchNewArticles(topic, run));
+        if (articles.isEmpty()) {
+            log.info("[{}] No new articles, skipping summarization", topic.getName());
+            return List.of();
+        }
+
+        Optional<OutputSummary> latest = run.time(FETCH, () -> findUpdatableSummary(topic, articles));
+        if (latest.isPresent()) {
+            return updateSummary(topic, latest.get(), articles, run).stream().toList();
+        }
+
+        List<ArticleCluster> stories = run.time(CLUSTER, () -> selectStories(topic, articles));
+        List<StorySummary> summaries = new ArrayList<>(stories.size());
+        RuntimeException failure = null;
+        for (ArticleCluster story : stories) {
+            try {
+                summarizeStory(topic, story, run).ifPresent(summaries::add);
+            } catch (RuntimeException ex) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw ex;
+                }
+                log.warn("[{}] Failed to summarize a story of {} articles", topic.getName(), story.size(), ex);
+                failure = failure == null ? ex : failure;
+            }
+        }
+
+        if (summaries.isEmpty() && failure != null) {
+            throw failure;
+        }
+        return summaries;
+    }
+
+    /**
+     * Summarizes news articles of the specified topic in streaming mode.
+     *
+     * <p>
+     * The LLM output is parsed while it is generated: a {@link SummarizationEvent.FrontMatter} event is emitted as soon
+     * as the front matter is complete, followed by {@link SummarizationEvent.Content} events for the body and a final
+     * {@link SummarizationEvent.Completed} event, with the articles to mark as seen once the summary is saved.
+     * Malformed output terminates the stream with an {@link OutputSummaryParsingException}, cancelling the generation.
+     * If no new articles are found, the stream completes without events and the LLM is not called.
+     * Only the largest story is summarized; the articles of the others stay eligible for the next run.
+     * A new summary is always written, even if the topic has a recent summary to update.
+     *
+     * @param topic the topic whose articles to summarize
+     * @param run   the run recording the stages of this summarization
+     * @return the stream of summarization events
      */
-    public OutputSummary summarize(String query) {
-
-        // TODO: make query parameters configurable
-        NewsApiQueryParams queryParams = NewsApiQueryParams.builder()
-            .q(query)
-            .from(LocalDate.now())
-            .to(LocalDate.now().minusDays(7))
-            .sortBy(SortBy.POPULARITY)
-            .searchIn(SearchIn.TITLE, SearchIn.DESCRIPTION)
-            .pageSize(10)
+    public Flux<SummarizationEvent> summarizeStream(Topic topic, SummarizationRunRecorder.Run run) {
+        return Mono.fromCallable(() -> run.time(FETCH, () -> fetchNewArticles(topic, run)))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMapMany(articles -> {
+                if (articles.isEmpty()) {
+                    log.info("[{}] No new articles, skipping summarization", topic.getName());
+                    return Flux.empty();
+                }
+
+                List<ArticleCluster> stories = run.time(CLUSTER, () -> selectStories(topic, articles));
+                if (stories.isEmpty()) {
+                    return Flux.empty();
+                }
+
+                ArticleCluster story = stories.getFirst();
+                ArticlePrompt prompt = buildPrompt(topic, story.articles(), run);
+                if (prompt.articles().isEmpty()) {
+                    log.warn("[{}] No article fits in the prompt budget, skipping summarization", topic.getName());
+                    return Flux.empty();
+                }
+                run.prompt(prompt.text());
+                OutputSummaryStreamParser parser = outputSummaryParser.newStreamParser();
+
+                // The permit is released on completion, error and cancellation, and if building the stream throws
+                Flux<String> chunks = Flux.using(
+                        () -> {
+                            llmPermits.acquire();
+                            return System.nanoTime();
+                        },
+                        start -> chatClient.prompt(prompt.text())
+                            .stream()
+                            .content(),
+                        start -> {
+                            llmPermits.release();
+                            run.record(LLM, System.nanoTime() - start);
+                        })
+                    .subscribeOn(Schedulers.boundedElastic());
+
+                return chunks
+                    .concatMapIterable(chunk -> {
+                        run.output(chunk);
+                        boolean hadFrontMatter = parser.hasFrontMatter();
+                        String delta = run.time(PARSE, () -> parser.accept(chunk));
+
+                        List<SummarizationEvent> events = new ArrayList<>(2);
+                        if (!hadFrontMatter && parser.hasFrontMatter()) {
+                            events.add(new SummarizationEvent.FrontMatter(parser.frontMatter()));
+                        }
+                        if (!delta.isEmpty()) {
+                            events.add(new SummarizationEvent.Content(delta));
+                        }
+                        return events;
+                    })
+                    .concatWith(Mono.fromCallable(() -> {
+                        OutputSummary summary = run.time(PARSE, parser::finish).toBuilder()
+                            .topic(topic.getName())
+                            .build();
+                        return new SummarizationEvent.Completed(summary, summarizedArticles(story, prompt));
+                    }));
+            });
+    }
+
+    private Optional<StorySummary> summarizeStory(Topic topic, ArticleCluster story, SummarizationRunRecorder.Run run) {
+        ArticlePrompt prompt = buildPrompt(topic, story.articles(), run);
+        if (prompt.articles().isEmpty()) {
+            // Without articles, the LLM would only make a summary up
+            log.warn("[{}] No article of a story of {} fits in the prompt budget, skipping it", topic.getName(), story.size());
+            return Optional.empty();
+        }
+        run.prompt(prompt.text());
+
+        ChatResponse response = llmPermits.call(() -> run.time(LLM, () -> chatClient.prompt(prompt.text())
+            .call()
+            .chatResponse()));
+
+        String content = response == null ? null : response.getResult().getOutput().getText();
+        run.output(content);
+        run.usage(response == null ? null : response.getMetadata().getUsage());
+
+        log.debug("[{}] AI response: {}", topic.getName(), content);
+
+        if (content == null) {
+            throw new OutputSummaryParsingException("LLM returned no output");
+        }
+        OutputSummary summary = run.time(PARSE, () -> outputSummaryParser.parse(content)).toBuilder()
+            .topic(topic.getName())
             .build();
+        return Optional.of(new StorySummary(summary, summarizedArticles(story, prompt)));
+    }
 
-        NewsApiResponse response = newsApiClient.getEverything(queryParams);
+    private Optional<OutputSummary> findUpdatableSummary(Topic topic, List<NewsApiArticle> articles) {
+        NewsSummarizerSettings.Update update = settings.getUpdate();
+        if (!update.isEnabled() || articles.size() > update.getMaxNewArticles()) {
+            return Optional.empty();
+        }
+        return summaryRepository.findLatestByTopic(topic.getName(), LocalDateTime.now().minus(update.getMaxAge()));
+    }
 
-        log.info("Fetched {}/{} articles", response.articles().size(), response.totalResults());
+    private Optional<StorySummary> updateSummary(Topic topic, OutputSummary existing, List<NewsApiArticle> articles, SummarizationRunRecorder.Run run) {
+        ArticlePrompt prompt = run.time(PROMPT, () -> articlePromptBuilder.build(topic, articles));
+        if (prompt.articles().isEmpty()) {
+            log.warn("[{}] No new article fits in the prompt budget, leaving summary {} as is", topic.getName(), existing.id());
+            return Optional.empty();
+        }
+        String text = updatePrompt(existing, prompt);
+        run.prompt(text);
 
-        var content = chatClient.prompt(createArticlesSummaryText(response))
+        ChatResponse response = llmPermits.call(() -> run.time(LLM, () -> chatClient.prompt()
+            .system(settings.getUpdate().getInstructions())
+            .user(text)
+            .options(updateOptions)
             .call()
-            .content();
+            .chatResponse()));
+
+        String content = response == null ? null : response.getResult().getOutput().getText();
+        run.output(content);
+        run.usage(response == null ? null : response.getMetadata().getUsage());
+
+        log.debug("[{}] AI update: {}", topic.getName(), content);
+
+        if (content == null) {
+            throw new OutputSummaryParsingException("LLM returned no output");
+        }
+        OutputSummary summary = run.time(PARSE, () -> summaryDeltaMerger.merge(existing, outputSummaryParser.parse(content)));
+
+        log.info("[{}] Updated summary {} with {} new articles", topic.getName(), existing.id(), prompt.articles().size());
+        return Optional.of(new StorySummary(summary, prompt.articles()));
+    }
+
+    private static String updatePrompt(OutputSummary existing, ArticlePrompt prompt) {
+        StringBuilder text = new StringBuilder("Existing summary:\n\n# ").append(existing.title()).append("\n\n");
+        if (existing.highlights() != null && !existing.highlights().isEmpty()) {
+            text.append("Highlights:\n");
+            existing.highlights().forEach(highlight -> text.append("- ").append(highlight).append('\n'));
+            text.append('\n');
+        }
+        return text.append(existing.content())
+            .append("\n\nNew articles:\n\n")
+            .append(prompt.text())
+            .toString();
+    }
+
+    private List<ArticleCluster> selectStories(Topic topic, List<NewsApiArticle> articles) {
+        NewsSummarizerSettings.Clustering clustering = settings.getClustering();
+        if (!clustering.isEnabled()) {
+            return List.of(new ArticleCluster(articles, List.of()));
+        }
+
+        List<NewsApiArticle> ranked = articlePromptBuilder.rank(topic, articles);
+        List<float[]> embeddings;
+        try {
+            embeddings = articleEmbedder.embed(ranked);
+        } catch (RuntimeException ex) {
+            log.warn("[{}] Failed to embed articles, summarizing them as a single story", topic.getName(), ex);
+            return List.of(new ArticleCluster(ranked, List.of()));
+        }
 
-        log.info("AI response: {}", content);
+        List<ArticleCluster> clusters = articleClusterer.cluster(ranked, embeddings);
+        List<ArticleCluster> stories = clusters.stream()
+            .filter(cluster -> cluster.size() >= clustering.getMinClusterSize())
+            .limit(clustering.getMaxClusters())
+            .toList();
+        if (stories.isEmpty() && !clusters.isEmpty()) {
+            // Waiting for a story to grow would starve topics whose articles never cluster
+            log.info("[{}] No story of {} or more articles among {} articles, summarizing them as a single story",
+                topic.getName(), clustering.getMinClusterSize(), articles.size());
+            return List.of(combine(ranked, clusters));
+        }
+
+        log.info("[{}] Clustered {} articles into {} stories, summarizing {}", topic.getName(), articles.size(), clusters.size(), stories.size());
+        return stories;
+    }
+
+    private static ArticleCluster combine(List<NewsApiArticle> ranked, List<ArticleCluster> clusters) {
+        List<NewsApiArticle> duplicates = clusters.stream()
+            .flatMap(cluster -> cluster.duplicates().stream())
+            .toList();
+        Set<NewsApiArticle> left = new HashSet<>(duplicates);
+        return new ArticleCluster(ranked.stream().filter(article -> !left.contains(article)).toList(), duplicates);
+    }
+
+    private static List<NewsApiArticle> summarizedArticles(ArticleCluster story, ArticlePrompt prompt) {
+        // Near-duplicates are only covered if the whole story made it into the prompt
+        if (prompt.articles().size() < story.articles().size()) {
+            return prompt.articles();
+        }
+        List<NewsApiArticle> articles = new ArrayList<>(prompt.articles());
+        articles.addAll(story.duplicates());
+        return articles;
+    }
+
+    private ArticlePrompt buildPrompt(Topic topic, List<NewsApiArticle> articles, SummarizationRunRecorder.Run run) {
+        if (articleMapReducer.applies(articles.size())) {
+            return run.time(MAP, () -> articleMapReducer.build(topic, articles));
+        }
+        return run.time(PROMPT, () -> articlePromptBuilder.build(topic, articles));
+    }
+
+    private List<NewsApiArticle> fetchNewArticles(Topic topic, SummarizationRunRecorder.Run run) {
+        LocalDate today = LocalDate.now();
+        NewsApiQueryParams queryParams = NewsApiQueryParams.of(topic.getQuery()).toBuilder()
+            .from(today.minusDays(topic.getLookback().toDays()))
+            .to(today)
+            .build();
+
+        NewsApiResponse response = withPermit(newsApiPermits, () -> newsApiClient.getEverything(queryParams));
+        List<NewsApiArticle> articles = articleDeduplicator.filterUnseen(topic.getName(), response.articles());
+        run.articles(response.articles().size(), articles.size());
 
-        return outputSummaryParser.parse(content);
+        log.info("[{}] Fetched {}/{} articles, {} new", topic.getName(), response.articles().size(), response.totalResults(), articles.size());
+        return articles;
+    }
+
+    private static <T> T withPermit(Semaphore permits, Supplier<T> call) {
+        acquire(permits);
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
     }
 
-    private String createArticlesSummaryText(NewsApiResponse response) {
+    private static void acquire(Semaphore permits) {
         try {
-            StringBuilder builder = new StringBuilder();
-            builder.append("Here are the articles to summarize:\n");
-            String articles = objectMapper.writeValueAsString(response.articles());
-            builder.append(articles);
-            return builder.toString();
-        } catch (JsonProcessingException ex) {
-            throw new IllegalArgumentException("Error while converting articles to JSON", ex);
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free slot", ex);
         }
     }
 
@@ -4,9 +4,16 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Configuration properties for the News Summarizer.
- * Includes settings such as summarization instructions.
+ * Includes settings such as summarization instructions, topics, concurrency limits, story clustering, the prompt
+ * budget, map-reduce summarization, incremental summary updates, near-duplicate summary detection, and the job queue.
  */
 @Getter
 @Setter
@@ -22,4 +29,470 @@ public class NewsSummarizerSettings {
      * Instructions for the summarization process.
      */
     private String instructions;
+
+    /**
+     * Topics summarized on every scheduled run.
+     */
+    private List<Topic> topics = new ArrayList<>();
+
+    /**
+     * Maximum time a single summarization job attempt may take, including the time spent waiting for a free
+     * News API or LLM slot. Attempts exceeding it are cancelled and retried.
+     */
+    private Duration topicTimeout = Duration.ofMinutes(4);
+
+    /**
+     * Concurrency limits for the summarization pipeline.
+     */
+    private Concurrency concurrency = new Concurrency();
+
+    /**
+     * Settings of the clustering of new articles into stories, each summarized separately.
+     */
+    private Clustering clustering = new Clustering();
+
+    /**
+     * Limits applied when building the LLM prompt from the fetched articles.
+     */
+    private Prompt prompt = new Prompt();
+
+    /**
+     * Settings of the map-reduce mode used to summarize more articles than fit in a single prompt.
+     */
+    private MapReduce mapReduce = new MapReduce();
+
+    /**
+     * Settings of the incremental update of the latest summary of a topic with a few new articles.
+     */
+    private Update update = new Update();
+
+    /**
+     * Settings of the detection of generated summaries that nearly duplicate a stored one.
+     */
+    private Dedup dedup = new Dedup();
+
+    /**
+     * Settings of the summarization job queue and its workers.
+     */
+    private Jobs jobs = new Jobs();
+
+    /**
+     * Settings of the lease electing the instance that runs the scheduled summarization.
+     */
+    private Lease lease = new Lease();
+
+    /**
+     * A topic to summarize, with the News API query used to fetch its articles.
+     */
+    @Getter
+    @Setter
+    public static class Topic {
+
+        /**
+         * Name of the topic, used for logging.
+         */
+        private String name;
+
+        /**
+         * Template of the News API query parameters, as accepted by
+         * {@link io.github.lefpap.news_summarizer.news_api.NewsApiQueryParams#of(Map)}.
+         * The {@code from} and {@code to} dates are derived from {@link #lookback} on every run.
+         */
+        private Map<String, String> query = new LinkedHashMap<>();
+
+        /**
+         * How far back to look for articles on every run.
+         */
+        private Duration lookback = Duration.ofDays(7);
+
+        /**
+         * Creates a topic searching for the given query with the default lookback.
+         *
+         * @param query the search query
+         * @return a new topic
+         */
+        public static Topic of(String query) {
+            Topic topic = new Topic();
+            topic.setName(query);
+            topic.getQuery().put("q", query);
+            return topic;
+        }
+    }
+
+    /**
+     * Concurrency limits applied across all topics of a run.
+     */
+    @Getter
+    @Setter
+    public static class Concurrency {
+
+        /**
+         * Maximum number of concurrent News API requests.
+         */
+        private int newsApi = 4;
+
+        /**
+         * Maximum number of concurrent LLM calls, including the map calls of map-reduce summarization.
+         */
+        private int llm = 1;
+    }
+
+    /**
+     * Settings of the clustering of new articles into stories.
+     * Articles are embedded with the configured Spring AI embedding model and linked when the cosine similarity of
+     * their embeddings reaches {@link #similarityThreshold}; every group of linked articles is a story, summarized on
+     * its own.
+     */
+    @Getter
+    @Setter
+    public static class Clustering {
+
+        /**
+         * Whether articles are clustered into stories. If disabled, all new articles go into a single summary.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Minimum cosine similarity of two articles about the same story.
+         */
+        private double similarityThreshold = 0.75;
+
+        /**
+         * Minimum cosine similarity of two articles considered near-duplicates. Only the highest ranked of them is
+         * summarized; the others are marked as seen along with it.
+         */
+        private double duplicateThreshold = 0.95;
+
+        /**
+         * Minimum number of articles (near-duplicates included) of a story to be summarized. Articles of smaller
+         * stories are left for the next run, where they may join a larger story. If no story reaches it, all new
+         * articles are summarized as a single story instead.
+         */
+        private int minClusterSize = 2;
+
+        /**
+         * Maximum number of stories summarized per run, largest first. Keep
+         * {@link NewsSummarizerSettings#getTopicTimeout()} long enough for this many LLM calls.
+         */
+        private int maxClusters = 3;
+
+        /**
+         * Maximum number of cached article embeddings.
+         */
+        private long cacheSize = 10_000;
+
+        /**
+         * How long article embeddings are cached.
+         */
+        private Duration cacheTtl = Duration.ofDays(7);
+    }
+
+    /**
+     * Settings of the incremental update mode.
+     * When a topic has a recent summary and only a few new articles, the LLM is given the summary and the new articles
+     * and writes only what changes: new highlights, new sources, and new or revised sections. The changes are merged
+     * into the summary by the {@link SummaryDeltaMerger}, and its previous revision is archived.
+     */
+    @Getter
+    @Setter
+    public static class Update {
+
+        /**
+         * Whether recent summaries are updated with new articles instead of writing a new summary.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum age of the latest summary of a topic to be updated; older summaries are left as they are.
+         */
+        private Duration maxAge = Duration.ofDays(3);
+
+        /**
+         * Maximum number of new articles merged into the latest summary. Runs with more new articles write new
+         * summaries, one per story.
+         */
+        private int maxNewArticles = 5;
+
+        /**
+         * Maximum number of tokens the LLM may generate for the changes.
+         */
+        private int maxTokens = 1000;
+
+        /**
+         * Maximum number of highlights of an updated summary, newest first.
+         */
+        private int maxHighlights = 8;
+
+        /**
+         * Model used for the updates. Defaults to the model of the full summaries.
+         */
+        private String model;
+
+        /**
+         * Instructions for the updates.
+         */
+        private String instructions = """
+            You will be given an existing news summary, followed by a numbered list of new news articles on the same
+            topic. Write only the changes the new articles bring to the summary, as Markdown with YAML front matter:
+            - `title`: the title of the summary, revised only if the new articles change the main story.
+            - `description`: a revised one-sentence description, or omit it to keep the existing one.
+            - `highlights`: only the new highlights, or `[]`.
+            - `sources`: only the sources of the new articles, as `name` and `url`, or `[]`.
+            In the body, write only new sections and sections that the new articles revise, each with a `###` heading.
+            A revised section must keep the heading of the existing section and replace it entirely.
+            Do not repeat unchanged sections, and do not add facts not in the summary or the articles.
+            """;
+    }
+
+    /**
+     * Settings of the detection of near-duplicate summaries before they are saved.
+     * Summaries are compared by the MinHash signatures of their title, highlights and content, looked up in an
+     * in-memory LSH index of the stored summaries; see {@link MinHashLshIndex} for how {@link #hashes} and
+     * {@link #bands} trade accuracy for speed.
+     */
+    @Getter
+    @Setter
+    public static class Dedup {
+
+        /**
+         * Whether generated summaries are checked for near-duplicates before they are saved.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Minimum estimated Jaccard similarity of the word shingles of two summaries considered duplicates.
+         */
+        private double similarityThreshold = 0.8;
+
+        /**
+         * What to do with a summary that duplicates a stored one.
+         */
+        private Action action = Action.MERGE;
+
+        /**
+         * Length of the MinHash signatures; longer signatures estimate the similarity more precisely.
+         */
+        private int hashes = 64;
+
+        /**
+         * Number of LSH bands the signatures are split into. Must divide {@link #hashes}.
+         */
+        private int bands = 16;
+
+        /**
+         * Number of consecutive words per shingle.
+         */
+        private int shingleSize = 3;
+
+        /**
+         * How far back stored summaries are loaded into the index at startup. Summaries saved since are indexed as
+         * they are saved by this instance.
+         */
+        private Duration warmStartWindow = Duration.ofDays(30);
+
+        /**
+         * Enum representing what happens to a near-duplicate summary.
+         */
+        public enum Action {
+            /**
+             * The sources of the duplicate are added to the stored summary, and the duplicate is dropped.
+             */
+            MERGE,
+
+            /**
+             * The duplicate is dropped, leaving the stored summary unchanged.
+             */
+            DISCARD,
+        }
+    }
+
+    /**
+     * Limits applied when building the LLM prompt from the fetched articles.
+     * Keep {@link #maxTokens}, the instructions, and the expected output within the context window of the model.
+     */
+    @Getter
+    @Setter
+    public static class Prompt {
+
+        /**
+         * Estimated token budget for the articles in the prompt. Articles that do not fit are left out,
+         * lowest ranked first, and are not marked as seen.
+         */
+        private int maxTokens = 6000;
+
+        /**
+         * Average number of characters per token, used to estimate the token count of the prompt.
+         */
+        private double charsPerToken = 4.0;
+
+        /**
+         * Maximum length of an article description, in characters; 0 to leave descriptions out.
+         */
+        private int maxDescriptionChars = 300;
+
+        /**
+         * Maximum length of an article content excerpt, in characters; 0 to leave content out.
+         */
+        private int maxContentChars = 600;
+    }
+
+    /**
+     * Settings of the map-reduce summarization mode.
+     * When a run has more new articles than {@link #threshold}, they are split into chunks that are condensed into
+     * notes by parallel "map" calls; the final "reduce" call then writes the summary from the notes instead of the
+     * articles. Keep {@link #maxArticles} / {@link #chunkSize} times {@link #maxNotesTokens} within
+     * {@link Prompt#getMaxTokens()}, or the notes are cut to fit.
+     */
+    @Getter
+    @Setter
+    public static class MapReduce {
+
+        /**
+         * Whether map-reduce is used for large article sets. If disabled, articles that do not fit in the prompt
+         * budget are left for the next run.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of new articles above which map-reduce is used.
+         */
+        private int threshold = 20;
+
+        /**
+         * Maximum number of articles per map call; each chunk is also limited to {@link Prompt#getMaxTokens()}.
+         */
+        private int chunkSize = 10;
+
+        /**
+         * Maximum number of articles summarized in one run, highest ranked first. The rest are left for the next run.
+         */
+        private int maxArticles = 120;
+
+        /**
+         * Model used for the map calls, e.g. a smaller and faster one. Defaults to the model of the reduce call.
+         */
+        private String model;
+
+        /**
+         * Maximum number of tokens the map calls may generate per chunk.
+         */
+        private int maxNotesTokens = 500;
+
+        /**
+         * Instructions for the map calls.
+         */
+        private String instructions = """
+            You will be given a numbered list of news articles. Condense them into notes for a writer who will combine
+            them with notes on other articles. For every distinct story, write one Markdown bullet with its key facts,
+            figures, names, and quotes, followed by its sources as `(Source Name, URL)`. Merge articles covering the
+            same story into one bullet. Do not add an introduction, a conclusion, or facts not in the articles.
+            """;
+
+        /**
+         * Cache of chunk notes, so a retried or overlapping run does not condense the same chunk again.
+         */
+        private Cache cache = new Cache();
+
+        /**
+         * Settings of the in-memory cache of chunk notes.
+         */
+        @Getter
+        @Setter
+        public static class Cache {
+
+            /**
+             * Whether chunk notes are cached.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Maximum number of cached chunk notes.
+             */
+            private long maxSize = 1000;
+
+            /**
+             * How long chunk notes are kept.
+             */
+            private Duration ttl = Duration.ofHours(6);
+        }
+    }
+
+    /**
+     * Settings of the Postgres-backed summarization job queue.
+     */
+    @Getter
+    @Setter
+    public static class Jobs {
+
+        /**
+         * Whether this instance runs job workers. Instances with workers disabled can still enqueue jobs.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of jobs this instance processes concurrently.
+         */
+        private int workers = 2;
+
+        /**
+         * How long an idle worker waits before polling the queue again.
+         */
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        /**
+         * Maximum number of attempts of a job, including the first one.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Delay before the first retry; doubled on every further retry.
+         */
+        private Duration initialBackoff = Duration.ofSeconds(30);
+
+        /**
+         * Upper bound of the delay between retries.
+         */
+        private Duration maxBackoff = Duration.ofMinutes(10);
+
+        /**
+         * How long a job may stay claimed before its worker is considered gone and the job is released.
+         * Must be longer than {@link NewsSummarizerSettings#getTopicTimeout()}.
+         */
+        private Duration staleAfter = Duration.ofMinutes(15);
+
+        /**
+         * Returns the delay before retrying a job that failed the given number of attempts.
+         *
+         * @param attempts the number of attempts so far
+         * @return the exponential backoff, capped at {@link #maxBackoff}
+         */
+        public Duration backoff(int attempts) {
+            int exponent = Math.clamp(attempts - 1, 0, 30);
+            Duration backoff = initialBackoff.multipliedBy(1L << exponent);
+            return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+        }
+    }
+
+    /**
+     * Settings of the lease electing the single instance that runs the scheduled summarization.
+     */
+    @Getter
+    @Setter
+    public static class Lease {
+
+        /**
+         * Whether the lease is used. Disable only when running a single instance.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long the lease stays valid without a heartbeat; the failover delay when the holder dies.
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /**
+         * How often the holder renews the lease. Must be well below {@link #ttl}.
+         */
+        private Duration heartbeat = Duration.ofSeconds(10);
+    }
 }
@@ -0,0 +1,136 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lease electing the single instance that runs the scheduled summarization.
+ *
+ * <p>
+ * The lease is a row in the {@code scheduler_leases} table, renewed by a heartbeat every
+ * {@link NewsSummarizerSettings.Lease#getHeartbeat()}. If the holder stops renewing it (e.g. because it died), the
+ * lease expires after {@link NewsSummarizerSettings.Lease#getTtl()} and the next instance to ask takes it over.
+ *
+ * <p>
+ * Exposes the {@code summarizer.scheduler.lease.held} gauge (1 on the holder, 0 elsewhere), tagged by {@code node},
+ * and the {@code summarizer.scheduler.lease.transitions} counter, tagged by {@code type} ({@code acquired} or
+ * {@code lost}).
+ */
+@Component
+@Slf4j
+public class SchedulerLease implements SmartLifecycle {
+
+    private static final String LEASE_NAME = "summarizer-scheduler";
+
+    private final SchedulerLeaseJdbcRepository leaseRepository;
+    private final NewsSummarizerSettings.Lease settings;
+    private final TaskScheduler taskScheduler;
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean held = new AtomicBoolean();
+    private ScheduledFuture<?> heartbeat;
+
+    /**
+     * Constructs a SchedulerLease with the specified dependencies.
+     *
+     * @param leaseRepository the lease repository
+     * @param settings        the summarizer settings
+     * @param taskScheduler   the scheduler running the heartbeat
+     * @param meterRegistry   the registry for lease metrics
+     */
+    public SchedulerLease(SchedulerLeaseJdbcRepository leaseRepository, NewsSummarizerSettings settings, TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        this.leaseRepository = leaseRepository;
+        this.settings = settings.getLease();
+        this.taskScheduler = taskScheduler;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("summarizer.scheduler.lease.held", held, value -> value.get() ? 1 : 0)
+            .description("Whether this instance holds the scheduler lease")
+            .tag("node", SummarizerNode.ID)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Acquires or renews the lease, checking with the database.
+     * Always succeeds if the lease is disabled.
+     *
+     * @return true if this instance holds the lease
+     */
+    public boolean tryAcquire() {
+        if (!settings.isEnabled()) {
+            return true;
+        }
+
+        boolean acquired;
+        try {
+            acquired = leaseRepository.tryAcquire(LEASE_NAME, SummarizerNode.ID, settings.getTtl());
+        } catch (RuntimeException ex) {
+            log.warn("Failed to renew the scheduler lease", ex);
+            acquired = false;
+        }
+
+        boolean previous = held.getAndSet(acquired);
+        if (acquired && !previous) {
+            log.info("Acquired the scheduler lease as {}", SummarizerNode.ID);
+            transition("acquired");
+        } else if (!acquired && previous) {
+            log.warn("Lost the scheduler lease held as {}", SummarizerNode.ID);
+            transition("lost");
+        }
+        return acquired;
+    }
+
+    /**
+     * Starts the heartbeat renewing the lease.
+     */
+    @Override
+    public synchronized void start() {
+        if (settings.isEnabled() && heartbeat == null) {
+            heartbeat = taskScheduler.scheduleWithFixedDelay(this::tryAcquire, settings.getHeartbeat());
+        }
+    }
+
+    /**
+     * Stops the heartbeat and releases the lease, so another instance can take over without waiting for it to expire.
+     */
+    @Override
+    public synchronized void stop() {
+        if (heartbeat != null) {
+            heartbeat.cancel(false);
+            heartbeat = null;
+        }
+        if (held.getAndSet(false)) {
+            try {
+                leaseRepository.release(LEASE_NAME, SummarizerNode.ID);
+                log.info("Released the scheduler lease");
+            } catch (RuntimeException ex) {
+                log.warn("Failed to release the scheduler lease", ex);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the heartbeat is running.
+     *
+     * @return true if the heartbeat is running
+     */
+    @Override
+    public synchronized boolean isRunning() {
+        return heartbeat != null;
+    }
+
+    private void transition(String type) {
+        Counter.builder("summarizer.scheduler.lease.transitions")
+            .description("Scheduler lease acquisitions and losses by this instance")
+            .tag("type", type)
+            .register(meterRegistry)
+            .increment();
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+import static io.github.lefpap.news_summarizer.summarizer.SchedulerLeaseSql.ACQUIRE_SQL;
+import static io.github.lefpap.news_summarizer.summarizer.SchedulerLeaseSql.RELEASE_SQL;
+
+/**
+ * Repository for leases coordinating scheduled work between instances sharing the database.
+ * Lease expiry is evaluated with the database clock, so instance clocks need not agree.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SchedulerLeaseJdbcRepository {
+
+    private final JdbcClient jdbcClient;
+
+    /**
+     * Acquires or renews a lease for the given holder.
+     *
+     * @param name   the name of the lease
+     * @param holder the ID of the instance acquiring the lease
+     * @param ttl    how long the lease is valid unless renewed
+     * @return true if the holder now holds the lease
+     */
+    public boolean tryAcquire(String name, String holder, Duration ttl) {
+        return jdbcClient.sql(ACQUIRE_SQL)
+            .param("name", name)
+            .param("holder", holder)
+            .param("ttl_ms", ttl.toMillis())
+            .query(String.class)
+            .optional()
+            .isPresent();
+    }
+
+    /**
+     * Releases a lease, if held by the given holder.
+     *
+     * @param name   the name of the lease
+     * @param holder the ID of the instance releasing the lease
+     */
+    public void release(String name, String holder) {
+        jdbcClient.sql(RELEASE_SQL)
+            .param("name", name)
+            .param("holder", holder)
+            .update();
+    }
+}
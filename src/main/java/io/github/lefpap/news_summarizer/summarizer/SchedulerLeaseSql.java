@@ -0,0 +1,38 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+/**
+ * Contains SQL queries for managing scheduler leases.
+ */
+public class SchedulerLeaseSql {
+
+    private SchedulerLeaseSql() {
+        // Prevent instantiation
+    }
+
+    /**
+     * SQL query to acquire a lease, or renew it if already held by the same holder.
+     * Succeeds, returning a row, only if the lease is free, expired, or held by the same holder.
+     */
+    public static final String ACQUIRE_SQL = """
+        INSERT INTO scheduler_leases (name, holder, acquired_at, renewed_at, expires_at)
+        VALUES (:name, :holder, now(), now(), now() + :ttl_ms * INTERVAL '1 millisecond')
+        ON CONFLICT (name) DO UPDATE SET
+            holder      = EXCLUDED.holder,
+            acquired_at = CASE
+                WHEN scheduler_leases.holder = EXCLUDED.holder THEN scheduler_leases.acquired_at
+                ELSE now()
+            END,
+            renewed_at  = now(),
+            expires_at  = EXCLUDED.expires_at
+        WHERE scheduler_leases.holder = EXCLUDED.holder OR scheduler_leases.expires_at < now()
+        RETURNING holder
+        """;
+
+    /**
+     * SQL query to release a lease held by the given holder.
+     */
+    public static final String RELEASE_SQL = """
+        DELETE FROM scheduler_leases
+        WHERE name = :name AND holder = :holder
+        """;
+}
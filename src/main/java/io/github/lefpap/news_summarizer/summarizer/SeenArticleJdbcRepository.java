@@ -0,0 +1,66 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.github.lefpap.news_summarizer.summarizer.SeenArticleSql.SELECT_CONTENT_HASHES_SQL;
+import static io.github.lefpap.news_summarizer.summarizer.SeenArticleSql.UPSERT_SQL;
+
+/**
+ * Repository for the persistent index of articles that have already been summarized.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SeenArticleJdbcRepository {
+
+    private final JdbcClient jdbcClient;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Retrieves the stored content hashes of the given articles, as seen for the topic.
+     *
+     * @param topic     the name of the topic
+     * @param urlHashes the URL hashes of the articles
+     * @return a map from URL hash to content hash, containing only the articles seen before
+     */
+    public Map<String, String> findContentHashes(String topic, Collection<String> urlHashes) {
+        if (urlHashes.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, String> contentHashes = new HashMap<>();
+        jdbcClient.sql(SELECT_CONTENT_HASHES_SQL)
+            .param("topic", topic)
+            .param("url_hashes", urlHashes)
+            .query(rs -> {
+                contentHashes.put(rs.getString("url_hash"), rs.getString("content_hash"));
+            });
+        return contentHashes;
+    }
+
+    /**
+     * Records the given articles as seen for the topic, in a single batch.
+     *
+     * @param topic        the name of the topic
+     * @param fingerprints the fingerprints of the articles
+     */
+    public void saveAll(String topic, Collection<ArticleFingerprint> fingerprints) {
+        SqlParameterSource[] batch = fingerprints.stream()
+            .map(fingerprint -> new MapSqlParameterSource()
+                .addValue("topic", topic)
+                .addValue("url_hash", fingerprint.urlHash())
+                .addValue("url", fingerprint.url())
+                .addValue("content_hash", fingerprint.contentHash()))
+            .toArray(SqlParameterSource[]::new);
+
+        namedParameterJdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+    }
+}
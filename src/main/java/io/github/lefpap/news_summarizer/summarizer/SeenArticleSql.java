@@ -0,0 +1,33 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+/**
+ * Contains SQL queries for managing the index of already summarized articles.
+ */
+public class SeenArticleSql {
+
+    private SeenArticleSql() {
+        // Prevent instantiation
+    }
+
+    /**
+     * SQL query to select the content hashes of the given URL hashes, as seen for a topic.
+     * Rows recorded before articles were tracked per topic have an empty topic and count for every topic, unless the
+     * topic has its own row.
+     */
+    public static final String SELECT_CONTENT_HASHES_SQL = """
+        SELECT DISTINCT ON (url_hash) url_hash, content_hash FROM seen_articles
+        WHERE topic IN (:topic, '') AND url_hash IN (:url_hashes)
+        ORDER BY url_hash, topic DESC
+        """;
+
+    /**
+     * SQL query to record an article as seen for a topic, refreshing its content hash if it was seen before.
+     */
+    public static final String UPSERT_SQL = """
+        INSERT INTO seen_articles (topic, url_hash, url, content_hash)
+        VALUES (:topic, :url_hash, :url, :content_hash)
+        ON CONFLICT (topic, url_hash) DO UPDATE SET
+            content_hash = EXCLUDED.content_hash,
+            last_seen_at = NOW()
+        """;
+}
@@ -0,0 +1,19 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import io.github.lefpap.news_summarizer.summary.OutputSummary;
+
+import java.util.List;
+
+/**
+ * Represents a generated summary, not saved yet, with the articles it covers.
+ * The articles are only marked as seen once the summary is saved, by the {@link StorySummarySaver}.
+ *
+ * @param summary  the generated summary
+ * @param articles the articles covered by the summary, near-duplicates included
+ */
+public record StorySummary(
+    OutputSummary summary,
+    List<NewsApiArticle> articles
+) {
+}
@@ -0,0 +1,51 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import io.github.lefpap.news_summarizer.summary.OutputSummary;
+import io.github.lefpap.news_summarizer.summary.OutputSummaryJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Saves generated summaries and marks the articles they cover as seen, in one transaction.
+ *
+ * <p>
+ * Articles are only marked as seen once their summary is saved or discarded as a near-duplicate of a stored one: a
+ * summary lost before that (a failed save, a cancelled job) leaves its articles eligible for the next run, while a
+ * discarded one does not, so the same articles are not summarized and discarded again on every run.
+ */
+@Component
+@RequiredArgsConstructor
+public class StorySummarySaver {
+
+    private final OutputSummaryJdbcRepository summaryRepository;
+    private final ArticleDeduplicator articleDeduplicator;
+
+    /**
+     * Saves a summary and marks the articles it covers as seen for the topic.
+     *
+     * @param topic    the name of the topic the articles were summarized for
+     * @param summary  the summary to save, either a generated one or the stored summary a generated one was merged into
+     * @param articles the articles covered by the generated summary
+     * @return the saved summary
+     */
+    @Transactional
+    public OutputSummary save(String topic, OutputSummary summary, List<NewsApiArticle> articles) {
+        OutputSummary saved = summaryRepository.save(summary);
+        articleDeduplicator.markSeen(topic, articles);
+        return saved;
+    }
+
+    /**
+     * Marks the articles covered by a discarded summary as seen for the topic, without saving the summary.
+     *
+     * @param topic    the name of the topic the articles were summarized for
+     * @param articles the articles covered by the discarded summary
+     */
+    public void discard(String topic, List<NewsApiArticle> articles) {
+        articleDeduplicator.markSeen(topic, articles);
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import io.github.lefpap.news_summarizer.summary.OutputSummary;
+
+import java.util.List;
+
+/**
+ * Event emitted while a summary is being generated in streaming mode.
+ */
+public sealed interface SummarizationEvent {
+
+    /**
+     * Emitted once, as soon as the front matter of the summary has been generated and parsed.
+     *
+     * @param summary the summary holding the front-matter fields, without content
+     */
+    record FrontMatter(OutputSummary summary) implements SummarizationEvent {
+    }
+
+    /**
+     * Emitted for every chunk of the body as it is generated.
+     *
+     * @param delta the newly generated body text
+     */
+    record Content(String delta) implements SummarizationEvent {
+    }
+
+    /**
+     * Emitted last, once the whole summary has been generated and parsed.
+     *
+     * @param summary  the complete summary, not saved yet
+     * @param articles the articles covered by the summary, to mark as seen once it is saved
+     */
+    record Completed(OutputSummary summary, List<NewsApiArticle> articles) implements SummarizationEvent {
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.summarizer.NewsSummarizerSettings.Topic;
+import lombok.Builder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Represents a queued summarization of a topic, processed by a {@link SummarizationJobWorker}.
+ *
+ * @param id          the unique identifier of the job
+ * @param topic       the name of the topic
+ * @param query       the News API query template of the topic
+ * @param lookback    how far back to look for articles
+ * @param status      the state of the job
+ * @param attempts    the number of attempts started so far
+ * @param maxAttempts the maximum number of attempts
+ * @param runAt       the earliest time the job may be claimed
+ * @param lockedBy    the worker processing the job, if running
+ * @param lockedAt    the time the job was claimed, if running
+ * @param lastError   the error of the last failed attempt, if any
+ * @param summaryId   the ID of the first saved summary, if any
+ * @param createdAt   the time the job was enqueued
+ * @param startedAt   the time the last attempt started
+ * @param finishedAt  the time the last attempt finished
+ * @param duration    the duration of the last attempt
+ */
+@Builder(toBuilder = true)
+public record SummarizationJob(
+    UUID id,
+    String topic,
+    Map<String, String> query,
+    Duration lookback,
+    Status status,
+    int attempts,
+    int maxAttempts,
+    LocalDateTime runAt,
+    String lockedBy,
+    LocalDateTime lockedAt,
+    String lastError,
+    UUID summaryId,
+    LocalDateTime createdAt,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt,
+    Duration duration
+) {
+
+    /**
+     * Returns the topic to summarize.
+     *
+     * @return a new topic with the name, query and lookback of this job
+     */
+    public Topic toTopic() {
+        Topic topic = new Topic();
+        topic.setName(this.topic);
+        topic.getQuery().putAll(query);
+        topic.setLookback(lookback);
+        return topic;
+    }
+
+    /**
+     * Enum representing the state of a job.
+     */
+    public enum Status {
+        /**
+         * Waiting to be claimed, possibly after a backoff.
+         */
+        PENDING,
+
+        /**
+         * Claimed by a worker.
+         */
+        RUNNING,
+
+        /**
+         * Finished, with or without a new summary.
+         */
+        SUCCEEDED,
+
+        /**
+         * Failed on every attempt.
+         */
+        FAILED,
+    }
+}
@@ -0,0 +1,229 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.util.PGobject;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static io.github.lefpap.news_summarizer.summarizer.SummarizationJobSql.CLAIM_SQL;
+import static io.github.lefpap.news_summarizer.summarizer.SummarizationJobSql.COMPLETE_SQL;
+import static io.github.lefpap.news_summarizer.summarizer.SummarizationJobSql.FAIL_SQL;
+import static io.github.lefpap.news_summarizer.summarizer.SummarizationJobSql.INSERT_SQL;
+import static io.github.lefpap.news_summarizer.summarizer.SummarizationJobSql.RELEASE_STALE_SQL;
+import static io.github.lefpap.news_summarizer.summarizer.SummarizationJobSql.SELECT_ACTIVE_BY_TOPIC_SQL;
+import static io.github.lefpap.news_summarizer.summarizer.SummarizationJobSql.SELECT_BY_ID_SQL;
+import static io.github.lefpap.news_summarizer.summarizer.SummarizationJobSql.SELECT_RECENT_SQL;
+
+/**
+ * Repository for the Postgres-backed summarization job queue.
+ *
+ * <p>
+ * Every state transition is a single statement, so no transaction is held while a job runs. Workers claim jobs with
+ * {@code FOR UPDATE SKIP LOCKED} and may only complete or fail jobs they hold, so any number of instances can share
+ * the queue.
+ */
+@Repository
+public class SummarizationJobJdbcRepository {
+
+    private static final TypeReference<Map<String, String>> QUERY_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcClient jdbcClient;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a SummarizationJobJdbcRepository.
+     *
+     * @param jdbcClient          the JDBC client
+     * @param objectMapperBuilder the builder for the ObjectMapper used for the JSONB query column
+     */
+    public SummarizationJobJdbcRepository(JdbcClient jdbcClient, Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.jdbcClient = jdbcClient;
+        this.objectMapper = objectMapperBuilder.build();
+    }
+
+    /**
+     * Enqueues a job for the given topic, unless one is already queued or running.
+     *
+     * @param topic       the name of the topic
+     * @param query       the News API query template of the topic
+     * @param lookback    how far back to look for articles
+     * @param maxAttempts the maximum number of attempts
+     * @return the new job, or empty if the topic already has an active job
+     */
+    public Optional<SummarizationJob> insert(String topic, Map<String, String> query, Duration lookback, int maxAttempts) {
+        return jdbcClient.sql(INSERT_SQL)
+            .param("id", UUID.randomUUID())
+            .param("topic", topic)
+            .param("query", toJsonb(query))
+            .param("lookback_seconds", lookback.toSeconds())
+            .param("max_attempts", maxAttempts)
+            .query(rowMapper())
+            .optional();
+    }
+
+    /**
+     * Retrieves the queued or running job of a topic.
+     *
+     * @param topic the name of the topic
+     * @return an Optional containing the active job, if any
+     */
+    public Optional<SummarizationJob> findActive(String topic) {
+        return jdbcClient.sql(SELECT_ACTIVE_BY_TOPIC_SQL)
+            .param("topic", topic)
+            .query(rowMapper())
+            .optional();
+    }
+
+    /**
+     * Retrieves a job by its ID.
+     *
+     * @param id the ID of the job
+     * @return an Optional containing the job if found
+     */
+    public Optional<SummarizationJob> findOne(UUID id) {
+        return jdbcClient.sql(SELECT_BY_ID_SQL)
+            .param("id", id)
+            .query(rowMapper())
+            .optional();
+    }
+
+    /**
+     * Retrieves the most recent jobs, newest first.
+     *
+     * @param limit the maximum number of jobs to return
+     * @return a list of at most {@code limit} jobs
+     */
+    public List<SummarizationJob> findRecent(int limit) {
+        return jdbcClient.sql(SELECT_RECENT_SQL)
+            .param("limit", limit)
+            .query(rowMapper())
+            .list();
+    }
+
+    /**
+     * Claims the next due job for the given worker.
+     *
+     * @param worker the ID of the worker
+     * @return the claimed job, or empty if no job is due
+     */
+    public Optional<SummarizationJob> claim(String worker) {
+        return jdbcClient.sql(CLAIM_SQL)
+            .param("worker", worker)
+            .query(rowMapper())
+            .optional();
+    }
+
+    /**
+     * Marks a job held by the given worker as succeeded.
+     *
+     * @param id        the ID of the job
+     * @param worker    the ID of the worker holding the job
+     * @param summaryId the ID of the first saved summary, or null if there was nothing to summarize
+     * @param duration  the duration of the attempt
+     * @return true if the job was still held by the worker
+     */
+    public boolean complete(UUID id, String worker, UUID summaryId, Duration duration) {
+        return jdbcClient.sql(COMPLETE_SQL)
+            .param("id", id)
+            .param("worker", worker)
+            .param("summary_id", summaryId)
+            .param("duration_ms", duration.toMillis())
+            .update() > 0;
+    }
+
+    /**
+     * Records a failed attempt of a job held by the given worker.
+     *
+     * @param id       the ID of the job
+     * @param worker   the ID of the worker holding the job
+     * @param error    the error message
+     * @param backoff  the delay before the job may be retried
+     * @param duration the duration of the attempt
+     * @return true if the job was still held by the worker
+     */
+    public boolean fail(UUID id, String worker, String error, Duration backoff, Duration duration) {
+        return jdbcClient.sql(FAIL_SQL)
+            .param("id", id)
+            .param("worker", worker)
+            .param("error", error)
+            .param("backoff_ms", backoff.toMillis())
+            .param("duration_ms", duration.toMillis())
+            .update() > 0;
+    }
+
+    /**
+     * Releases running jobs claimed longer ago than the given duration, making them available again.
+     *
+     * @param staleAfter how long a job may run before its worker is considered gone
+     * @return the number of released jobs
+     */
+    public int releaseStale(Duration staleAfter) {
+        return jdbcClient.sql(RELEASE_STALE_SQL)
+            .param("stale_ms", staleAfter.toMillis())
+            .update();
+    }
+
+    private RowMapper<SummarizationJob> rowMapper() {
+        return (rs, rowNum) -> {
+            long durationMs = rs.getLong("duration_ms");
+            Duration duration = rs.wasNull() ? null : Duration.ofMillis(durationMs);
+
+            return SummarizationJob.builder()
+                .id(rs.getObject("id", UUID.class))
+                .topic(rs.getString("topic"))
+                .query(fromJson(rs.getString("query")))
+                .lookback(Duration.ofSeconds(rs.getLong("lookback_seconds")))
+                .status(SummarizationJob.Status.valueOf(rs.getString("status")))
+                .attempts(rs.getInt("attempts"))
+                .maxAttempts(rs.getInt("max_attempts"))
+                .runAt(toLocalDateTime(rs.getTimestamp("run_at")))
+                .lockedBy(rs.getString("locked_by"))
+                .lockedAt(toLocalDateTime(rs.getTimestamp("locked_at")))
+                .lastError(rs.getString("last_error"))
+                .summaryId(rs.getObject("summary_id", UUID.class))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .startedAt(toLocalDateTime(rs.getTimestamp("started_at")))
+                .finishedAt(toLocalDateTime(rs.getTimestamp("finished_at")))
+                .duration(duration)
+                .build();
+        };
+    }
+
+    private Map<String, String> fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, QUERY_TYPE);
+        } catch (JsonProcessingException ex) {
+            throw new DataRetrievalFailureException("Failed to parse JSON", ex);
+        }
+    }
+
+    private PGobject toJsonb(Object value) {
+        try {
+            PGobject pg = new PGobject();
+            pg.setType("jsonb");
+            pg.setValue(objectMapper.writeValueAsString(value));
+            return pg;
+        } catch (SQLException | JsonProcessingException ex) {
+            throw new DataRetrievalFailureException("Failed to convert to JSONB", ex);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
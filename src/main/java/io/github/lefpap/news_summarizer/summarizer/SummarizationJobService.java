@@ -0,0 +1,75 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.summarizer.NewsSummarizerSettings.Topic;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Service for enqueuing and inspecting summarization jobs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SummarizationJobService {
+
+    private final SummarizationJobJdbcRepository jobRepository;
+    private final NewsSummarizerSettings settings;
+
+    /**
+     * Enqueues a summarization of the given topic.
+     * If the topic already has a queued or running job, that job is returned instead.
+     *
+     * @param topic the topic to summarize
+     * @return the enqueued or already active job
+     */
+    public SummarizationJob enqueue(Topic topic) {
+        return jobRepository.insert(topic.getName(), topic.getQuery(), topic.getLookback(), settings.getJobs().getMaxAttempts())
+            .map(job -> {
+                log.info("[{}] Enqueued summarization job {}", topic.getName(), job.id());
+                return job;
+            })
+            .or(() -> jobRepository.findActive(topic.getName()))
+            .orElseThrow(() -> new IllegalStateException("Job for topic " + topic.getName() + " finished while enqueuing"));
+    }
+
+    /**
+     * Retrieves the configured topic with the given name.
+     *
+     * @param name the name of the topic
+     * @return the configured topic
+     * @throws NoSuchElementException if no topic with that name is configured
+     */
+    public Topic getConfiguredTopic(String name) {
+        return settings.getTopics().stream()
+            .filter(topic -> topic.getName().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new NoSuchElementException("Topic not configured: " + name));
+    }
+
+    /**
+     * Retrieves a job by its ID.
+     *
+     * @param id the ID of the job
+     * @return the job
+     * @throws NoSuchElementException if the job does not exist
+     */
+    public SummarizationJob getJob(UUID id) {
+        return jobRepository.findOne(id)
+            .orElseThrow(() -> new NoSuchElementException("Job not found: " + id));
+    }
+
+    /**
+     * Retrieves the most recent jobs, newest first.
+     *
+     * @param limit the maximum number of jobs to return
+     * @return a list of at most {@code limit} jobs
+     */
+    public List<SummarizationJob> listJobs(int limit) {
+        return jobRepository.findRecent(limit);
+    }
+}
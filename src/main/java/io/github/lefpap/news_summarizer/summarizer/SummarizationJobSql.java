@@ -0,0 +1,112 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+/**
+ * Contains SQL queries for managing the summarization job queue.
+ */
+public class SummarizationJobSql {
+
+    private SummarizationJobSql() {
+        // Prevent instantiation
+    }
+
+    /**
+     * SQL query to enqueue a job, unless a job for the same topic is already queued or running.
+     */
+    public static final String INSERT_SQL = """
+        INSERT INTO summarization_jobs (id, topic, query, lookback_seconds, max_attempts)
+        VALUES (:id, :topic, :query, :lookback_seconds, :max_attempts)
+        ON CONFLICT (topic) WHERE status IN ('PENDING', 'RUNNING') DO NOTHING
+        RETURNING *
+        """;
+
+    /**
+     * SQL query to select the queued or running job of a topic.
+     */
+    public static final String SELECT_ACTIVE_BY_TOPIC_SQL = """
+        SELECT * FROM summarization_jobs
+        WHERE topic = :topic AND status IN ('PENDING', 'RUNNING')
+        """;
+
+    /**
+     * SQL query to select a job by its ID.
+     */
+    public static final String SELECT_BY_ID_SQL = """
+        SELECT * FROM summarization_jobs
+        WHERE id = :id
+        """;
+
+    /**
+     * SQL query to select the most recent jobs.
+     */
+    public static final String SELECT_RECENT_SQL = """
+        SELECT * FROM summarization_jobs
+        ORDER BY created_at DESC
+        LIMIT :limit
+        """;
+
+    /**
+     * SQL query to claim the next due job for a worker.
+     * Rows locked by concurrent claims are skipped, so each job is claimed by exactly one worker.
+     */
+    public static final String CLAIM_SQL = """
+        UPDATE summarization_jobs
+        SET status      = 'RUNNING',
+            attempts    = attempts + 1,
+            locked_by   = :worker,
+            locked_at   = now(),
+            started_at  = now(),
+            finished_at = NULL
+        WHERE id = (
+            SELECT id FROM summarization_jobs
+            WHERE status = 'PENDING' AND run_at <= now()
+            ORDER BY run_at, created_at
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING *
+        """;
+
+    /**
+     * SQL query to mark a job claimed by the given worker as succeeded.
+     */
+    public static final String COMPLETE_SQL = """
+        UPDATE summarization_jobs
+        SET status      = 'SUCCEEDED',
+            summary_id  = :summary_id,
+            last_error  = NULL,
+            locked_by   = NULL,
+            locked_at   = NULL,
+            finished_at = now(),
+            duration_ms = :duration_ms
+        WHERE id = :id AND locked_by = :worker
+        """;
+
+    /**
+     * SQL query to record a failed attempt of a job claimed by the given worker.
+     * The job is retried after the backoff, or marked as failed once it ran out of attempts.
+     */
+    public static final String FAIL_SQL = """
+        UPDATE summarization_jobs
+        SET status      = CASE WHEN attempts >= max_attempts THEN 'FAILED' ELSE 'PENDING' END,
+            run_at      = now() + :backoff_ms * INTERVAL '1 millisecond',
+            last_error  = :error,
+            locked_by   = NULL,
+            locked_at   = NULL,
+            finished_at = now(),
+            duration_ms = :duration_ms
+        WHERE id = :id AND locked_by = :worker
+        """;
+
+    /**
+     * SQL query to release jobs whose worker stopped responding, e.g. because its instance was restarted.
+     */
+    public static final String RELEASE_STALE_SQL = """
+        UPDATE summarization_jobs
+        SET status     = CASE WHEN attempts >= max_attempts THEN 'FAILED' ELSE 'PENDING' END,
+            run_at     = now(),
+            last_error = 'Worker ' || locked_by || ' stopped responding',
+            locked_by  = NULL,
+            locked_at  = NULL
+        WHERE status = 'RUNNING' AND locked_at < now() - :stale_ms * INTERVAL '1 millisecond'
+        """;
+}
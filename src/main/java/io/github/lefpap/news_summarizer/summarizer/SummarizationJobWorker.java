@@ -0,0 +1,243 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.summarizer.NewsSummarizerSettings.Topic;
+import io.github.lefpap.news_summarizer.summary.OutputSummary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pool of workers processing the summarization job queue.
+ *
+ * <p>
+ * Each worker is a virtual thread that claims one due job at a time, summarizes its topic within the configured
+ * topic timeout, and saves the result, merging or discarding near-duplicates of stored summaries. The articles of a
+ * summary are only marked as seen once it is saved or discarded, so a failed or timed out attempt leaves them to the
+ * retry. Failed or timed out attempts are retried with exponential backoff until the job runs out of attempts. Jobs
+ * left running by an instance that stopped (e.g. restarted mid-generation) are released once they become stale, so no
+ * work is lost.
+ *
+ * <p>
+ * Exposes the {@code summarizer.jobs} counter, tagged by {@code outcome}
+ * ({@code succeeded}, {@code retried}, {@code failed} or {@code released}).
+ */
+@Component
+@Slf4j
+public class SummarizationJobWorker implements SmartLifecycle {
+
+    private final SummarizationJobJdbcRepository jobRepository;
+    private final NewsSummarizerService newsSummarizerService;
+    private final StorySummarySaver storySummarySaver;
+    private final SummaryDeduplicator summaryDeduplicator;
+    private final SummarizationRunRecorder runRecorder;
+    private final NewsSummarizerSettings settings;
+    private final MeterRegistry meterRegistry;
+    private final String workerId;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    /**
+     * Constructs a SummarizationJobWorker with the specified dependencies.
+     *
+     * @param jobRepository         the job queue repository
+     * @param newsSummarizerService the summarization service
+     * @param storySummarySaver     the saver of summaries and their articles
+     * @param summaryDeduplicator   the detector of near-duplicate summaries
+     * @param runRecorder           the recorder of summarization runs
+     * @param settings              the summarizer settings
+     * @param meterRegistry         the registry for job metrics
+     */
+    public SummarizationJobWorker(SummarizationJobJdbcRepository jobRepository, NewsSummarizerService newsSummarizerService, StorySummarySaver storySummarySaver, SummaryDeduplicator summaryDeduplicator, SummarizationRunRecorder runRecorder, NewsSummarizerSettings settings, MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.newsSummarizerService = newsSummarizerService;
+        this.storySummarySaver = storySummarySaver;
+        this.summaryDeduplicator = summaryDeduplicator;
+        this.runRecorder = runRecorder;
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+        this.workerId = SummarizerNode.ID;
+    }
+
+    /**
+     * Starts the workers, unless disabled in the settings.
+     */
+    @Override
+    public synchronized void start() {
+        if (running || !settings.getJobs().isEnabled()) {
+            return;
+        }
+
+        running = true;
+        for (int i = 0; i < settings.getJobs().getWorkers(); i++) {
+            int index = i;
+            threads.add(Thread.ofVirtual()
+                .name("summarizer-worker-" + index)
+                .start(() -> poll(index)));
+        }
+        log.info("Started {} summarization workers as {}", threads.size(), workerId);
+    }
+
+    /**
+     * Stops the workers, cancelling the jobs they are processing.
+     * Cancelled jobs are released with their attempt counted, and retried by any instance.
+     */
+    @Override
+    public synchronized void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+        threads.clear();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns whether the workers are running.
+     *
+     * @return true if the workers are running
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void poll(int index) {
+        while (running) {
+            try {
+                if (index == 0) {
+                    releaseStale();
+                }
+
+                Optional<SummarizationJob> job = jobRepository.claim(workerId);
+                if (job.isPresent()) {
+                    process(job.get());
+                } else {
+                    Thread.sleep(settings.getJobs().getPollInterval());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Failed to poll the summarization job queue", ex);
+                if (!sleep(settings.getJobs().getPollInterval())) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void releaseStale() {
+        int released = jobRepository.releaseStale(settings.getJobs().getStaleAfter());
+        if (released > 0) {
+            log.warn("Released {} stale summarization jobs", released);
+            count("released", released);
+        }
+    }
+
+    private void process(SummarizationJob job) throws InterruptedException {
+        Topic topic = job.toTopic();
+        long start = System.nanoTime();
+        log.info("[{}] Processing job {}, attempt {}/{}", topic.getName(), job.id(), job.attempts(), job.maxAttempts());
+
+        Future<List<OutputSummary>> run = executor.submit(() -> summarizeAndSave(topic));
+        try {
+            List<OutputSummary> saved = run.get(settings.getTopicTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            jobRepository.complete(job.id(), workerId, saved.isEmpty() ? null : saved.getFirst().id(), elapsed(start));
+            count("succeeded", 1);
+        } catch (TimeoutException ex) {
+            run.cancel(true);
+            fail(job, "Timed out after " + settings.getTopicTimeout(), start);
+        } catch (ExecutionException ex) {
+            log.error("[{}] Job {} failed", topic.getName(), job.id(), ex.getCause());
+            fail(job, String.valueOf(ex.getCause().getMessage()), start);
+        } catch (InterruptedException ex) {
+            run.cancel(true);
+            fail(job, "Interrupted by shutdown", start);
+            throw ex;
+        }
+    }
+
+    private void fail(SummarizationJob job, String error, long start) {
+        boolean retry = job.attempts() < job.maxAttempts();
+        Duration backoff = retry ? settings.getJobs().backoff(job.attempts()) : Duration.ZERO;
+        jobRepository.fail(job.id(), workerId, error, backoff, elapsed(start));
+
+        if (retry) {
+            log.warn("[{}] Job {} failed ({}), retrying in {}", job.topic(), job.id(), error, backoff);
+            count("retried", 1);
+        } else {
+            log.error("[{}] Job {} failed ({}) after {} attempts", job.topic(), job.id(), error, job.attempts());
+            count("failed", 1);
+        }
+    }
+
+    /**
+     * Summarizes a topic and saves its summaries, recording the run.
+     *
+     * @param topic the topic to summarize
+     * @return the saved summaries, without the discarded near-duplicates
+     */
+    List<OutputSummary> summarizeAndSave(Topic topic) {
+        SummarizationRunRecorder.Run run = runRecorder.start(topic.getName());
+        try {
+            List<OutputSummary> saved = new ArrayList<>();
+            for (StorySummary story : newsSummarizerService.summarize(topic, run)) {
+                Optional<OutputSummary> summary = run.time(SummarizationStage.DEDUP,
+                    () -> summaryDeduplicator.deduplicate(story.summary()));
+                if (summary.isPresent()) {
+                    saved.add(run.time(SummarizationStage.SAVE, () -> summaryDeduplicator.index(
+                        storySummarySaver.save(topic.getName(), summary.get(), story.articles()))));
+                } else {
+                    storySummarySaver.discard(topic.getName(), story.articles());
+                }
+            }
+
+            if (saved.isEmpty()) {
+                run.skipped();
+            } else {
+                run.succeeded(saved.stream().map(OutputSummary::id).toList());
+                saved.forEach(summary -> log.info("[{}] Saved summary with ID: {}", topic.getName(), summary.id()));
+            }
+            return saved;
+        } catch (RuntimeException ex) {
+            run.failed(ex);
+            throw ex;
+        } finally {
+            runRecorder.finish(run);
+        }
+    }
+
+    private void count(String outcome, int amount) {
+        Counter.builder("summarizer.jobs")
+            .description("Summarization job attempts by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment(amount);
+    }
+
+    private static Duration elapsed(long start) {
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
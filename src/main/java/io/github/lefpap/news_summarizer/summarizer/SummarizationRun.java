@@ -0,0 +1,72 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import lombok.Builder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Represents the persisted record of a single summarization run, with its per-stage breakdown.
+ *
+ * @param id               the unique identifier of the run
+ * @param topic            the name of the summarized topic
+ * @param status           the outcome of the run
+ * @param startedAt        the time the run started
+ * @param finishedAt       the time the run finished
+ * @param stageDurations   the time spent in each stage that was reached
+ * @param articlesFetched  the number of articles returned by the News API
+ * @param articlesNew      the number of articles not summarized before
+ * @param promptChars      the length of the LLM prompts in characters
+ * @param outputChars      the length of the LLM outputs in characters
+ * @param promptTokens     the number of prompt tokens reported by the LLM, if any
+ * @param completionTokens the number of completion tokens reported by the LLM, if any
+ * @param summaryId        the ID of the first saved summary, if any
+ * @param summaries        the number of saved summaries, one per story
+ * @param error            the error message of a failed run
+ */
+@Builder(toBuilder = true)
+public record SummarizationRun(
+    UUID id,
+    String topic,
+    Status status,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt,
+    Map<SummarizationStage, Duration> stageDurations,
+    Integer articlesFetched,
+    Integer articlesNew,
+    Integer promptChars,
+    Integer outputChars,
+    Integer promptTokens,
+    Integer completionTokens,
+    UUID summaryId,
+    Integer summaries,
+    String error
+) {
+
+    /**
+     * Enum representing the outcome of a summarization run.
+     */
+    public enum Status {
+        /**
+         * A summary was generated and saved.
+         */
+        SUCCEEDED,
+
+        /**
+         * There were no new articles, so the LLM was not called, or every summary was a discarded duplicate.
+         */
+        SKIPPED,
+
+        /**
+         * The run failed with an error.
+         */
+        FAILED,
+
+        /**
+         * The run was cancelled before finishing, e.g. because the client disconnected.
+         */
+        CANCELLED,
+    }
+}
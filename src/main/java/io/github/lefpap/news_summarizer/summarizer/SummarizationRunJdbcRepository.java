@@ -0,0 +1,119 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.github.lefpap.news_summarizer.summarizer.SummarizationRunSql.INSERT_SQL;
+import static io.github.lefpap.news_summarizer.summarizer.SummarizationRunSql.SELECT_RECENT_SQL;
+
+/**
+ * Repository for the persisted records of summarization runs.
+ * Stage durations are stored in one millisecond column per {@link SummarizationStage}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SummarizationRunJdbcRepository {
+
+    private final JdbcClient jdbcClient;
+
+    /**
+     * Retrieves the most recent runs, newest first.
+     *
+     * @param limit the maximum number of runs to return
+     * @return a list of at most {@code limit} runs
+     */
+    public List<SummarizationRun> findRecent(int limit) {
+        return jdbcClient.sql(SELECT_RECENT_SQL)
+            .param("limit", limit)
+            .query(rowMapper())
+            .list();
+    }
+
+    /**
+     * Saves a run to the database.
+     *
+     * @param run the run to save
+     */
+    public void save(SummarizationRun run) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("id", run.id())
+            .addValue("topic", run.topic())
+            .addValue("status", run.status().name())
+            .addValue("started_at", run.startedAt())
+            .addValue("finished_at", run.finishedAt())
+            .addValue("articles_fetched", run.articlesFetched())
+            .addValue("articles_new", run.articlesNew())
+            .addValue("prompt_chars", run.promptChars())
+            .addValue("output_chars", run.outputChars())
+            .addValue("prompt_tokens", run.promptTokens())
+            .addValue("completion_tokens", run.completionTokens())
+            .addValue("summary_id", run.summaryId())
+            .addValue("summaries", run.summaries())
+            .addValue("error", run.error());
+
+        for (SummarizationStage stage : SummarizationStage.values()) {
+            Duration duration = run.stageDurations().get(stage);
+            params.addValue(stageColumn(stage), duration == null ? null : duration.toMillis());
+        }
+
+        jdbcClient.sql(INSERT_SQL)
+            .paramSource(params)
+            .update();
+    }
+
+    private static RowMapper<SummarizationRun> rowMapper() {
+        return (rs, rowNum) -> {
+            Map<SummarizationStage, Duration> stageDurations = new EnumMap<>(SummarizationStage.class);
+            for (SummarizationStage stage : SummarizationStage.values()) {
+                long millis = rs.getLong(stageColumn(stage));
+                if (!rs.wasNull()) {
+                    stageDurations.put(stage, Duration.ofMillis(millis));
+                }
+            }
+
+            return SummarizationRun.builder()
+                .id(rs.getObject("id", UUID.class))
+                .topic(rs.getString("topic"))
+                .status(SummarizationRun.Status.valueOf(rs.getString("status")))
+                .startedAt(rs.getTimestamp("started_at").toLocalDateTime())
+                .finishedAt(toLocalDateTime(rs.getTimestamp("finished_at")))
+                .stageDurations(stageDurations)
+                .articlesFetched(getInteger(rs, "articles_fetched"))
+                .articlesNew(getInteger(rs, "articles_new"))
+                .promptChars(getInteger(rs, "prompt_chars"))
+                .outputChars(getInteger(rs, "output_chars"))
+                .promptTokens(getInteger(rs, "prompt_tokens"))
+                .completionTokens(getInteger(rs, "completion_tokens"))
+                .summaryId(rs.getObject("summary_id", UUID.class))
+                .summaries(getInteger(rs, "summaries"))
+                .error(rs.getString("error"))
+                .build();
+        };
+    }
+
+    private static String stageColumn(SummarizationStage stage) {
+        return stage.tag() + "_ms";
+    }
+
+    private static Integer getInteger(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,286 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.summary.OutputSummaryParsingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Records the per-stage breakdown of summarization runs, both as metrics and as persisted run records.
+ *
+ * <p>
+ * A {@link Run} is started by the caller driving the summarization, passed through every stage, and finished once
+ * the outcome is known. Stage durations are accumulated while the run is in progress and published when it
+ * finishes, so a stage interleaved with another (such as parsing while the LLM streams) is recorded once per run.
+ *
+ * <p>
+ * Published meters:
+ * <ul>
+ *     <li>{@code summarizer.stage} timer, tagged by {@code stage}</li>
+ *     <li>{@code summarizer.runs} counter, tagged by {@code status}</li>
+ *     <li>{@code summarizer.parse.failures} counter</li>
+ *     <li>{@code summarizer.run.articles} summary, tagged by {@code status} ({@code fetched} or {@code new})</li>
+ *     <li>{@code summarizer.prompt.size} and {@code summarizer.output.size} summaries, in characters</li>
+ *     <li>{@code summarizer.tokens} summary, tagged by {@code type} ({@code prompt} or {@code completion})</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class SummarizationRunRecorder {
+
+    private final MeterRegistry meterRegistry;
+    private final SummarizationRunJdbcRepository runRepository;
+    private final Counter parseFailures;
+
+    /**
+     * Constructs a SummarizationRunRecorder with the specified dependencies.
+     *
+     * @param meterRegistry the registry to publish metrics to
+     * @param runRepository the repository for persisting run records
+     */
+    public SummarizationRunRecorder(MeterRegistry meterRegistry, SummarizationRunJdbcRepository runRepository) {
+        this.meterRegistry = meterRegistry;
+        this.runRepository = runRepository;
+        this.parseFailures = Counter.builder("summarizer.parse.failures")
+            .description("LLM outputs that could not be parsed into a summary")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Starts recording a new run.
+     *
+     * @param topic the name of the topic being summarized
+     * @return the run in progress
+     */
+    public Run start(String topic) {
+        return new Run(topic);
+    }
+
+    /**
+     * Finishes the given run, publishing its metrics and persisting its record.
+     * A run without an outcome is recorded as {@link SummarizationRun.Status#CANCELLED}.
+     * Failing to persist the record is logged, but does not fail the run.
+     *
+     * @param run the run to finish
+     * @return the finished run record
+     */
+    public SummarizationRun finish(Run run) {
+        SummarizationRun record = run.toRecord();
+
+        record.stageDurations().forEach((stage, duration) -> Timer.builder("summarizer.stage")
+            .description("Time spent in each stage of a summarization run")
+            .tag("stage", stage.tag())
+            .register(meterRegistry)
+            .record(duration));
+
+        Counter.builder("summarizer.runs")
+            .description("Summarization runs by outcome")
+            .tag("status", record.status().name().toLowerCase(Locale.ROOT))
+            .register(meterRegistry)
+            .increment();
+
+        recordSize("summarizer.run.articles", "status", "fetched", record.articlesFetched());
+        recordSize("summarizer.run.articles", "status", "new", record.articlesNew());
+        recordSize("summarizer.tokens", "type", "prompt", record.promptTokens());
+        recordSize("summarizer.tokens", "type", "completion", record.completionTokens());
+        if (record.promptChars() != null) {
+            DistributionSummary.builder("summarizer.prompt.size").baseUnit("chars").register(meterRegistry)
+                .record(record.promptChars());
+        }
+        if (record.outputChars() != null) {
+            DistributionSummary.builder("summarizer.output.size").baseUnit("chars").register(meterRegistry)
+                .record(record.outputChars());
+        }
+
+        try {
+            runRepository.save(record);
+        } catch (DataAccessException ex) {
+            log.warn("[{}] Failed to persist summarization run {}", record.topic(), record.id(), ex);
+        }
+
+        return record;
+    }
+
+    private void recordSize(String name, String tagKey, String tagValue, Integer value) {
+        if (value != null) {
+            DistributionSummary.builder(name)
+                .tag(tagKey, tagValue)
+                .register(meterRegistry)
+                .record(value);
+        }
+    }
+
+    /**
+     * A summarization run in progress.
+     * Not thread-safe: the stages of a run must be recorded sequentially, though not necessarily on the same thread.
+     */
+    public final class Run {
+
+        private final UUID id = UUID.randomUUID();
+        private final String topic;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final Map<SummarizationStage, Duration> stageDurations = new EnumMap<>(SummarizationStage.class);
+        private SummarizationRun.Status status;
+        private Integer articlesFetched;
+        private Integer articlesNew;
+        private Integer promptChars;
+        private Integer outputChars;
+        private Integer promptTokens;
+        private Integer completionTokens;
+        private UUID summaryId;
+        private Integer summaries;
+        private String error;
+
+        private Run(String topic) {
+            this.topic = topic;
+        }
+
+        /**
+         * Runs the given call as part of a stage, adding its duration to the stage.
+         *
+         * @param stage the stage the call belongs to
+         * @param call  the call to run
+         * @param <T>   the type of the call result
+         * @return the call result
+         */
+        public <T> T time(SummarizationStage stage, Supplier<T> call) {
+            long start = System.nanoTime();
+            try {
+                return call.get();
+            } finally {
+                record(stage, System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * Adds the given duration to a stage.
+         *
+         * @param stage the stage to add the duration to
+         * @param nanos the duration in nanoseconds
+         */
+        public void record(SummarizationStage stage, long nanos) {
+            stageDurations.merge(stage, Duration.ofNanos(nanos), Duration::plus);
+        }
+
+        /**
+         * Records the number of articles fetched and how many of them were not summarized before.
+         *
+         * @param fetched the number of fetched articles
+         * @param fresh   the number of new articles
+         */
+        public void articles(int fetched, int fresh) {
+            this.articlesFetched = fetched;
+            this.articlesNew = fresh;
+        }
+
+        /**
+         * Records an LLM prompt, adding its length to those of the previous prompts of the run.
+         *
+         * @param prompt the prompt text
+         */
+        public void prompt(String prompt) {
+            this.promptChars = (promptChars == null ? 0 : promptChars) + prompt.length();
+        }
+
+        /**
+         * Records (a part of) the LLM output.
+         *
+         * @param output the output text, or a chunk of it when streaming
+         */
+        public void output(String output) {
+            if (output != null) {
+                this.outputChars = (outputChars == null ? 0 : outputChars) + output.length();
+            }
+        }
+
+        /**
+         * Records the token usage reported by the LLM, adding it to that of the previous calls of the run.
+         *
+         * @param usage the token usage, or null if not reported
+         */
+        public void usage(Usage usage) {
+            if (usage != null) {
+                this.promptTokens = add(promptTokens, usage.getPromptTokens());
+                this.completionTokens = add(completionTokens, usage.getCompletionTokens());
+            }
+        }
+
+        /**
+         * Marks the run as succeeded.
+         *
+         * @param summaryId the ID of the saved summary
+         */
+        public void succeeded(UUID summaryId) {
+            succeeded(List.of(summaryId));
+        }
+
+        /**
+         * Marks the run as succeeded with one or more summaries.
+         *
+         * @param summaryIds the IDs of the saved summaries, at least one
+         */
+        public void succeeded(List<UUID> summaryIds) {
+            this.status = SummarizationRun.Status.SUCCEEDED;
+            this.summaryId = summaryIds.getFirst();
+            this.summaries = summaryIds.size();
+        }
+
+        /**
+         * Marks the run as skipped, because there were no new articles or only duplicate summaries.
+         */
+        public void skipped() {
+            this.status = SummarizationRun.Status.SKIPPED;
+        }
+
+        /**
+         * Marks the run as failed.
+         *
+         * @param ex the cause of the failure
+         */
+        public void failed(Throwable ex) {
+            this.status = SummarizationRun.Status.FAILED;
+            this.error = String.valueOf(ex.getMessage());
+            if (ex instanceof OutputSummaryParsingException) {
+                parseFailures.increment();
+            }
+        }
+
+        private static Integer add(Integer total, Integer value) {
+            return value == null ? total : (total == null ? 0 : total) + value;
+        }
+
+        private SummarizationRun toRecord() {
+            return SummarizationRun.builder()
+                .id(id)
+                .topic(topic)
+                .status(status == null ? SummarizationRun.Status.CANCELLED : status)
+                .startedAt(startedAt)
+                .finishedAt(LocalDateTime.now())
+                .stageDurations(Map.copyOf(stageDurations))
+                .articlesFetched(articlesFetched)
+                .articlesNew(articlesNew)
+                .promptChars(promptChars)
+                .outputChars(outputChars)
+                .promptTokens(promptTokens)
+                .completionTokens(completionTokens)
+                .summaryId(summaryId)
+                .summaries(summaries)
+                .error(error)
+                .build();
+        }
+    }
+}
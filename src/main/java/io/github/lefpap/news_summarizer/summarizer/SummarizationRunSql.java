@@ -0,0 +1,38 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+/**
+ * Contains SQL queries for managing summarization run records.
+ */
+public class SummarizationRunSql {
+
+    private SummarizationRunSql() {
+        // Prevent instantiation
+    }
+
+    /**
+     * SQL query to select the most recent runs.
+     */
+    public static final String SELECT_RECENT_SQL = """
+        SELECT * FROM summarization_runs
+        ORDER BY started_at DESC
+        LIMIT :limit
+        """;
+
+    /**
+     * SQL query to insert a run.
+     */
+    public static final String INSERT_SQL = """
+        INSERT INTO summarization_runs (
+            id, topic, status, started_at, finished_at,
+            fetch_ms, cluster_ms, prompt_ms, map_ms, llm_ms, parse_ms, dedup_ms, save_ms,
+            articles_fetched, articles_new, prompt_chars, output_chars, prompt_tokens, completion_tokens,
+            summary_id, summaries, error
+        )
+        VALUES (
+            :id, :topic, :status, :started_at, :finished_at,
+            :fetch_ms, :cluster_ms, :prompt_ms, :map_ms, :llm_ms, :parse_ms, :dedup_ms, :save_ms,
+            :articles_fetched, :articles_new, :prompt_chars, :output_chars, :prompt_tokens, :completion_tokens,
+            :summary_id, :summaries, :error
+        )
+        """;
+}
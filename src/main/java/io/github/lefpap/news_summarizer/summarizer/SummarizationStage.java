@@ -0,0 +1,58 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import java.util.Locale;
+
+/**
+ * Enum representing the stages of a summarization run, timed individually.
+ */
+public enum SummarizationStage {
+
+    /**
+     * Fetching the articles from the News API and filtering out those already summarized.
+     */
+    FETCH,
+
+    /**
+     * Embedding the new articles and clustering them into stories.
+     */
+    CLUSTER,
+
+    /**
+     * Building the LLM prompt from the articles.
+     */
+    PROMPT,
+
+    /**
+     * Condensing the articles into notes with parallel LLM calls, when there are too many for one prompt.
+     */
+    MAP,
+
+    /**
+     * Generating the summary with the LLM.
+     */
+    LLM,
+
+    /**
+     * Parsing the LLM output into a summary.
+     */
+    PARSE,
+
+    /**
+     * Checking the summary against the stored ones for near-duplicates.
+     */
+    DEDUP,
+
+    /**
+     * Saving the summary to the database.
+     */
+    SAVE;
+
+    /**
+     * Returns the value of this stage used in metric tags.
+     *
+     * @return the lower-case stage name
+     */
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
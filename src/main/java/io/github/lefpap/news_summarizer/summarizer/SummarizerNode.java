@@ -0,0 +1,19 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+/**
+ * Identifies this application instance among the instances sharing the database.
+ */
+final class SummarizerNode {
+
+    /**
+     * The ID of this instance: process ID, host name and a random suffix, so a restarted instance gets a new ID.
+     */
+    static final String ID = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+
+    private SummarizerNode() {
+        // Prevent instantiation
+    }
+}
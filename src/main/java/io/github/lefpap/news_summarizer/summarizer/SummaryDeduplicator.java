@@ -0,0 +1,155 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.summary.OutputSummary;
+import io.github.lefpap.news_summarizer.summary.OutputSummaryJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Detects generated summaries that nearly duplicate a stored one, before they are saved.
+ *
+ * <p>
+ * Two summaries are near-duplicates when the estimated Jaccard similarity of the word shingles of their title,
+ * highlights and content reaches {@link NewsSummarizerSettings.Dedup#getSimilarityThreshold()}. This happens when
+ * consecutive runs pick up the same story from different articles, which the seen-article check cannot tell apart.
+ * Stored summaries are looked up in an in-memory {@link MinHashLshIndex}, loaded in the background at startup with the
+ * summaries created within {@link NewsSummarizerSettings.Dedup#getWarmStartWindow()}, and kept up to date with every
+ * summary saved by this instance. A duplicate is merged into the stored summary or discarded, depending on
+ * {@link NewsSummarizerSettings.Dedup#getAction()}.
+ *
+ * <p>
+ * Exposes the {@code summarizer.duplicates} counter, tagged {@code action=merged|discarded}, and the
+ * {@code summarizer.dedup.index.size} gauge.
+ */
+@Component
+@Slf4j
+public class SummaryDeduplicator {
+
+    private final OutputSummaryJdbcRepository repository;
+    private final NewsSummarizerSettings.Dedup settings;
+    private final MinHash minHash;
+    private final MinHashLshIndex index;
+    private final Counter mergedDuplicates;
+    private final Counter discardedDuplicates;
+
+    /**
+     * Constructs a SummaryDeduplicator with an empty index.
+     *
+     * @param repository    the summary repository
+     * @param settings      the summarizer settings
+     * @param meterRegistry the registry for deduplication metrics
+     */
+    public SummaryDeduplicator(OutputSummaryJdbcRepository repository, NewsSummarizerSettings settings, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.settings = settings.getDedup();
+        this.minHash = new MinHash(this.settings.getHashes(), this.settings.getShingleSize());
+        this.index = new MinHashLshIndex(this.settings.getHashes(), this.settings.getBands());
+        this.mergedDuplicates = Counter.builder("summarizer.duplicates")
+            .description("Near-duplicate summaries by action")
+            .tag("action", "merged")
+            .register(meterRegistry);
+        this.discardedDuplicates = Counter.builder("summarizer.duplicates")
+            .description("Near-duplicate summaries by action")
+            .tag("action", "discarded")
+            .register(meterRegistry);
+        Gauge.builder("summarizer.dedup.index.size", index, MinHashLshIndex::size)
+            .description("Summaries in the near-duplicate index")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Loads the recent summaries into the index in the background, so the application starts without waiting for it.
+     * Summaries checked before the index is loaded are only compared against those loaded so far.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmStart() {
+        if (settings.isEnabled()) {
+            Thread.ofVirtual()
+                .name("summary-dedup-warm-start")
+                .start(this::load);
+        }
+    }
+
+    /**
+     * Loads the summaries created within the warm start window into the index.
+     */
+    void load() {
+        long start = System.nanoTime();
+        AtomicInteger loaded = new AtomicInteger();
+        try {
+            repository.streamCreatedSince(LocalDateTime.now().minus(settings.getWarmStartWindow()), summary -> {
+                index(summary);
+                loaded.incrementAndGet();
+            });
+            log.info("Indexed {} summaries for near-duplicate detection in {} ms", loaded.get(),
+                (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to index stored summaries after {} summaries, near-duplicates of the others go undetected",
+                loaded.get(), ex);
+        }
+    }
+
+    /**
+     * Checks a generated summary against the stored ones before it is saved.
+     *
+     * <p>
+     * Summaries with an ID are updates of a stored summary, and are never duplicates.
+     *
+     * @param summary the generated summary, not saved yet
+     * @return the summary to save: the given one if it is not a duplicate, or the stored summary with the sources of
+     * the duplicate merged in; empty if the duplicate is discarded
+     */
+    public Optional<OutputSummary> deduplicate(OutputSummary summary) {
+        if (!settings.isEnabled() || summary.id() != null) {
+            return Optional.of(summary);
+        }
+
+        Optional<MinHashLshIndex.Match> match = index.findMostSimilar(minHash.signature(summary), settings.getSimilarityThreshold());
+        if (match.isEmpty()) {
+            return Optional.of(summary);
+        }
+
+        Optional<OutputSummary> existing = repository.findOne(match.get().id());
+        if (existing.isEmpty()) {
+            // Deleted since it was indexed
+            index.remove(match.get().id());
+            return deduplicate(summary);
+        }
+
+        if (settings.getAction() == NewsSummarizerSettings.Dedup.Action.DISCARD) {
+            log.info("Discarding summary \"{}\", a {}% duplicate of summary {}", summary.title(),
+                Math.round(match.get().similarity() * 100), match.get().id());
+            discardedDuplicates.increment();
+            return Optional.empty();
+        }
+
+        log.info("Merging summary \"{}\" into summary {}, of which it is a {}% duplicate", summary.title(),
+            match.get().id(), Math.round(match.get().similarity() * 100));
+        mergedDuplicates.increment();
+        return Optional.of(existing.get().toBuilder()
+            .sources(SummaryDeltaMerger.mergeSources(existing.get().sources(), summary.sources()))
+            .build());
+    }
+
+    /**
+     * Adds a saved summary to the index, so later summaries are checked against it.
+     *
+     * @param saved the saved summary, with its ID
+     * @return the saved summary
+     */
+    public OutputSummary index(OutputSummary saved) {
+        if (settings.isEnabled()) {
+            index.put(saved.id(), minHash.signature(saved));
+        }
+        return saved;
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.summary.OutputSummary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Merges the changes written by the LLM in update mode into the summary they update.
+ *
+ * <p>
+ * The changes are parsed like a summary: a title and description that replace the existing ones, new highlights that
+ * are put first, new sources that are added to the existing ones unless their URL is already cited, and Markdown
+ * sections in the body. A section whose heading matches an existing section replaces it; any other section is appended.
+ * The reading time is recomputed from the merged content.
+ */
+@Component
+public class SummaryDeltaMerger {
+
+    private static final Pattern HEADING = Pattern.compile("(?m)^#{1,3}[ \\t]+(.+?)[ \\t#]*$");
+    private static final int WORDS_PER_MINUTE = 250;
+
+    private final int maxHighlights;
+
+    /**
+     * Constructs a SummaryDeltaMerger.
+     *
+     * @param settings the summarizer settings
+     */
+    public SummaryDeltaMerger(NewsSummarizerSettings settings) {
+        this.maxHighlights = settings.getUpdate().getMaxHighlights();
+    }
+
+    /**
+     * Merges changes into a summary.
+     *
+     * @param existing the stored summary
+     * @param delta    the changes, as parsed from the LLM output
+     * @return the updated summary, with the ID, topic and creation time of the stored one
+     */
+    public OutputSummary merge(OutputSummary existing, OutputSummary delta) {
+        String content = mergeContent(existing.content(), delta.content());
+        return existing.toBuilder()
+            .title(isBlank(delta.title()) ? existing.title() : delta.title())
+            .description(isBlank(delta.description()) ? existing.description() : delta.description())
+            .readingTime(readingTime(content))
+            .highlights(mergeHighlights(existing.highlights(), delta.highlights()))
+            .sources(mergeSources(existing.sources(), delta.sources()))
+            .content(content)
+            .build();
+    }
+
+    /**
+     * Adds sources to a list of sources, skipping those whose normalized URL (or name, if they have no URL) is
+     * already listed.
+     *
+     * @param existing the sources to keep, first
+     * @param added    the sources to add
+     * @return the union of the sources
+     */
+    static List<OutputSummary.Source> mergeSources(List<OutputSummary.Source> existing, List<OutputSummary.Source> added) {
+        Map<String, OutputSummary.Source> sources = new LinkedHashMap<>();
+        for (List<OutputSummary.Source> list : List.of(nullToEmpty(existing), nullToEmpty(added))) {
+            for (OutputSummary.Source source : list) {
+                sources.putIfAbsent(source.url() == null ? source.name() : ArticleFingerprint.normalizeUrl(source.url()), source);
+            }
+        }
+        return new ArrayList<>(sources.values());
+    }
+
+    private List<String> mergeHighlights(List<String> existing, List<String> added) {
+        Set<String> highlights = new LinkedHashSet<>(nullToEmpty(added));
+        highlights.addAll(nullToEmpty(existing));
+        return highlights.stream()
+            .filter(highlight -> !isBlank(highlight))
+            .limit(maxHighlights)
+            .toList();
+    }
+
+    private static String mergeContent(String existing, String delta) {
+        if (isBlank(delta)) {
+            return existing;
+        }
+        if (isBlank(existing)) {
+            return delta.strip();
+        }
+
+        Map<String, String> sections = sections(existing);
+        for (Map.Entry<String, String> section : sections(delta).entrySet()) {
+            if (section.getKey().isEmpty()) {
+                // Text before the first heading of the changes goes with the text before the first section
+                sections.merge("", section.getValue(), (preamble, text) -> preamble + "\n\n" + text);
+            } else {
+                sections.put(section.getKey(), section.getValue());
+            }
+        }
+        return String.join("\n\n", sections.values());
+    }
+
+    /**
+     * Splits Markdown into sections, keyed by their normalized heading, in order. Text before the first heading is
+     * keyed by the empty string.
+     */
+    private static Map<String, String> sections(String markdown) {
+        Map<String, String> sections = new LinkedHashMap<>();
+        Matcher matcher = HEADING.matcher(markdown);
+        String key = "";
+        int start = 0;
+        while (matcher.find()) {
+            addSection(sections, key, markdown.substring(start, matcher.start()));
+            key = normalizeHeading(matcher.group(1));
+            start = matcher.start();
+        }
+        addSection(sections, key, markdown.substring(start));
+        return sections;
+    }
+
+    private static void addSection(Map<String, String> sections, String key, String text) {
+        String section = text.strip();
+        if (!section.isEmpty()) {
+            sections.merge(key, section, (first, second) -> first + "\n\n" + second);
+        }
+    }
+
+    private static String normalizeHeading(String heading) {
+        return heading.replaceAll("[*_`]", "").strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static String readingTime(String content) {
+        int words = isBlank(content) ? 0 : content.strip().split("\\s+").length;
+        return Math.max(1, Math.round((float) words / WORDS_PER_MINUTE)) + " min";
+    }
+
+    private static boolean isBlank(String text) {
+        return text == null || text.isBlank();
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.lefpap.news_summarizer.summarizer.api;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Represents a request to enqueue a summarization job.
+ * Either names a configured topic, or describes an ad-hoc topic with its own News API query.
+ *
+ * @param topic    the name of a configured topic, or the name of the ad-hoc topic
+ * @param query    the News API query template of an ad-hoc topic; if absent, {@code topic} must be configured
+ * @param lookback how far back an ad-hoc topic looks for articles; defaults to the configured default
+ */
+public record ApiEnqueueJobRequest(
+    String topic,
+    Map<String, String> query,
+    Duration lookback
+) {
+}
@@ -0,0 +1,14 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published by {@link OutputSummaryJdbcRepository} after summaries were inserted or updated.
+ *
+ * @param ids the IDs of the saved summaries
+ */
+public record OutputSummariesSavedEvent(
+    List<UUID> ids
+) {
+}
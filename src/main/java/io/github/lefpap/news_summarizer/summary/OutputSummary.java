@@ -8,11 +8,12 @@ import java.util.UUID;
 
 /**
  * Represents the summarized output of a news article.
- * Includes metadata, highlights, and content.
+ * Includes metadata, highlights, and content, and the name of the topic it was generated for, if any.
  */
 @Builder(toBuilder = true)
 public record OutputSummary(
     UUID id,
+    String topic,
     String title,
     String description,
     String readingTime,
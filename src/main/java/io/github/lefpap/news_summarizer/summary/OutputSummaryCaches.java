@@ -0,0 +1,27 @@
+package io.github.lefpap.news_summarizer.summary;
+
+/**
+ * Contains the names of the caches holding OutputSummary reads.
+ * The caches themselves are configured through {@code spring.cache} in the application properties.
+ */
+public class OutputSummaryCaches {
+
+    private OutputSummaryCaches() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Cache of full summaries, keyed by summary ID.
+     */
+    public static final String SUMMARIES = "summaries";
+
+    /**
+     * Cache of summary card pages, keyed by query, cursor, and limit.
+     */
+    public static final String SUMMARY_PAGES = "summary-pages";
+
+    /**
+     * Cache of full-text search result pages, keyed by query, cursor, and limit.
+     */
+    public static final String SUMMARY_SEARCHES = "summary-searches";
+}
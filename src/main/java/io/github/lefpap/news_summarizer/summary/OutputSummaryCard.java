@@ -0,0 +1,21 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lightweight projection of an {@link OutputSummary} used for listings.
+ * Omits the content, highlights, and sources so listing queries never load them.
+ */
+@Builder(toBuilder = true)
+public record OutputSummaryCard(
+    UUID id,
+    String title,
+    String description,
+    String readingTime,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+}
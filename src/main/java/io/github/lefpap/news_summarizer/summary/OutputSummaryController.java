@@ -1,20 +1,39 @@
 package io.github.lefpap.news_summarizer.summary;
 
 import io.github.lefpap.news_summarizer.summary.api.ApiCreateSummaryRequest;
+import io.github.lefpap.news_summarizer.summary.api.ApiImportResult;
+import io.github.lefpap.news_summarizer.summary.api.ApiPage;
 import io.github.lefpap.news_summarizer.summary.api.ApiSummary;
+import io.github.lefpap.news_summarizer.summary.api.ApiSummaryCard;
+import io.github.lefpap.news_summarizer.summary.api.ApiSummaryRevision;
+import io.github.lefpap.news_summarizer.summary.api.ApiSummarySearchHit;
+import io.github.lefpap.news_summarizer.summary.api.ApiSummarySimilarHit;
 import io.github.lefpap.news_summarizer.summary.api.ApiUpdateSummaryRequest;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.UUID;
 
 /**
  * REST controller for managing summaries.
- * Provides endpoints for creating, retrieving, updating, and deleting summaries.
+ * Provides endpoints for creating, retrieving, updating, and deleting summaries, and for finding related summaries.
  */
 @RestController()
 @RequestMapping("/api/v1/summaries")
@@ -22,29 +41,212 @@ import java.util.UUID;
 public class OutputSummaryController {
 
     private final OutputSummaryService service;
+    private final OutputSummarySemanticService semanticService;
 
     /**
-     * Retrieves a list of summaries, optionally filtered by a query.
+     * Retrieves a page of summary cards, optionally filtered by a query.
+     * The full summary, including its content, is only returned by {@link #getSummary(UUID, WebRequest)}.
      *
-     * @param query the optional search query
-     * @return a list of summaries
+     * @param query      the optional search query
+     * @param cursor     the optional cursor returned as {@code next} by the previous page
+     * @param limit      the maximum number of cards in the page
+     * @param webRequest the current request, used to evaluate {@code If-None-Match}
+     * @return a page of summary cards, or 304 Not Modified if the client's copy is current
      */
     @GetMapping
-    public ResponseEntity<List<ApiSummary>> listSummaries(@RequestParam(value = "q", required = false) String query) {
-        List<ApiSummary> summaries = service.listSummaries(query);
-        return ResponseEntity.ok(summaries);
+    public ResponseEntity<ApiPage<ApiSummaryCard>> listSummaries(
+        @RequestParam(value = "q", required = false) String query,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "limit", defaultValue = "20") @Min(1) @Max(100) int limit,
+        WebRequest webRequest
+    ) {
+        ApiPage<ApiSummaryCard> summaries = service.listSummaries(query, cursor, limit);
+
+        String eTag = pageETag(summaries.items(), summaries.next());
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(summaries);
+    }
+
+    /**
+     * Streams summary cards, optionally filtered by a query, as newline-delimited JSON, newest first.
+     * Selected over {@link #listSummaries(String, String, int, WebRequest)} by {@code Accept: application/x-ndjson};
+     * cards are written as they are read from the database instead of being collected into a page.
+     *
+     * @param query  the optional search query
+     * @param cursor the optional cursor returned as {@code next} by a page, to continue after it
+     * @param limit  the optional maximum number of cards to stream, all matching cards by default
+     * @return a streaming response of one card per line
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSummaries(
+        @RequestParam(value = "q", required = false) String query,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "limit", required = false) @Min(1) Integer limit
+    ) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(service.streamSummaries(query, cursor, limit));
+    }
+
+    /**
+     * Searches summaries by relevance, returning highlight snippets for each hit.
+     *
+     * @param query      the full-text search query
+     * @param cursor     the optional cursor returned as {@code next} by the previous page
+     * @param limit      the maximum number of hits in the page
+     * @param webRequest the current request, used to evaluate {@code If-None-Match}
+     * @return a page of search hits, most relevant first, or 304 Not Modified if the client's copy is current
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiPage<ApiSummarySearchHit>> searchSummaries(
+        @RequestParam(value = "q") @NotBlank String query,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "limit", defaultValue = "20") @Min(1) @Max(100) int limit,
+        WebRequest webRequest
+    ) {
+        ApiPage<ApiSummarySearchHit> hits = service.searchSummaries(query, cursor, limit);
+
+        String eTag = pageETag(hits.items().stream().map(ApiSummarySearchHit::summary).toList(), hits.next());
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(hits);
+    }
+
+    /**
+     * Streams search hits as newline-delimited JSON, most relevant first.
+     * Selected over {@link #searchSummaries(String, String, int, WebRequest)} by {@code Accept: application/x-ndjson};
+     * hits are written as they are read from the database instead of being collected into a page.
+     *
+     * @param query  the full-text search query
+     * @param cursor the optional cursor returned as {@code next} by a page, to continue after it
+     * @param limit  the optional maximum number of hits to stream, all matching hits by default
+     * @return a streaming response of one search hit per line
+     */
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSearch(
+        @RequestParam(value = "q") @NotBlank String query,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "limit", required = false) @Min(1) Integer limit
+    ) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(service.streamSearch(query, cursor, limit));
+    }
+
+    /**
+     * Searches summaries by meaning rather than by keywords: the query is embedded and compared with the summary
+     * embeddings. Summaries saved in the last few seconds may not be embedded yet.
+     *
+     * @param query         the free-text query
+     * @param since         the optional earliest creation date of the returned summaries
+     * @param until         the optional latest creation date of the returned summaries
+     * @param minSimilarity the minimum cosine similarity of the returned summaries
+     * @param limit         the maximum number of summaries to return
+     * @return the closest summaries, most similar first
+     */
+    @GetMapping("/search/semantic")
+    public List<ApiSummarySimilarHit> semanticSearch(
+        @RequestParam(value = "q") @NotBlank String query,
+        @RequestParam(value = "since", required = false) LocalDate since,
+        @RequestParam(value = "until", required = false) LocalDate until,
+        @RequestParam(value = "minSimilarity", defaultValue = "0") @DecimalMin("-1") @DecimalMax("1") double minSimilarity,
+        @RequestParam(value = "limit", defaultValue = "10") @Min(1) @Max(100) int limit
+    ) {
+        return semanticService.search(query, since, until, minSimilarity, limit);
     }
 
     /**
      * Retrieves a specific summary by its ID.
+     * The revision is checked first with a lightweight query, so conditional requests for an unchanged summary
+     * are answered with 304 Not Modified without loading or serializing it.
      *
-     * @param id the ID of the summary
-     * @return the requested summary
+     * @param id         the ID of the summary
+     * @param webRequest the current request, used to evaluate {@code If-None-Match} and {@code If-Modified-Since}
+     * @return the requested summary, or 304 Not Modified if the client's copy is current
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiSummary> getSummary(@PathVariable("id") UUID id) {
+    public ResponseEntity<ApiSummary> getSummary(@PathVariable("id") UUID id, WebRequest webRequest) {
+        OutputSummaryVersion version = service.getSummaryVersion(id);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(version.eTag())
+                .lastModified(version.lastModified())
+                .build();
+        }
+
         ApiSummary summary = service.getSummary(id);
-        return ResponseEntity.ok(summary);
+        OutputSummaryVersion current = new OutputSummaryVersion(summary.id(), summary.updatedAt());
+        return ResponseEntity.ok()
+            .eTag(current.eTag())
+            .lastModified(current.lastModified())
+            .body(summary);
+    }
+
+    /**
+     * Retrieves the summaries most similar to the given summary ("more like this"), by embedding similarity.
+     *
+     * @param id            the ID of the summary
+     * @param since         the optional earliest creation date of the returned summaries
+     * @param until         the optional latest creation date of the returned summaries
+     * @param minSimilarity the minimum cosine similarity of the returned summaries
+     * @param limit         the maximum number of summaries to return
+     * @return the related summaries, most similar first; empty while the summary is not embedded yet
+     */
+    @GetMapping("/{id}/related")
+    public List<ApiSummarySimilarHit> getRelatedSummaries(
+        @PathVariable("id") UUID id,
+        @RequestParam(value = "since", required = false) LocalDate since,
+        @RequestParam(value = "until", required = false) LocalDate until,
+        @RequestParam(value = "minSimilarity", defaultValue = "0") @DecimalMin("-1") @DecimalMax("1") double minSimilarity,
+        @RequestParam(value = "limit", defaultValue = "10") @Min(1) @Max(100) int limit
+    ) {
+        return semanticService.findRelated(id, since, until, minSimilarity, limit);
+    }
+
+    /**
+     * Retrieves the previous revisions of a summary, archived whenever it was updated, by the API or by a summarization
+     * run adding new articles to it.
+     *
+     * @param id    the ID of the summary
+     * @param limit the maximum number of revisions to return
+     * @return the previous revisions of the summary, newest first
+     */
+    @GetMapping("/{id}/revisions")
+    public List<ApiSummaryRevision> getSummaryRevisions(
+        @PathVariable("id") UUID id,
+        @RequestParam(value = "limit", defaultValue = "20") @Min(1) @Max(100) int limit
+    ) {
+        return service.getSummaryRevisions(id, limit);
+    }
+
+    /**
+     * Exports all summaries as newline-delimited JSON, streamed as they are read from the database.
+     *
+     * @return a streaming response of one summary per line
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSummaries() {
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("summaries.ndjson").build().toString())
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(service::exportSummaries);
+    }
+
+    /**
+     * Imports summaries from newline-delimited JSON, in the format produced by {@link #exportSummaries()}.
+     * Summaries keep their IDs and overwrite existing summaries with the same ID.
+     *
+     * @param body the request body, read as a stream
+     * @return the number of imported and rejected summaries
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ApiImportResult> importSummaries(InputStream body) {
+        return ResponseEntity.ok(service.importSummaries(body));
     }
 
     /**
@@ -95,6 +297,20 @@ public class OutputSummaryController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Computes the entity tag of a page of summary cards.
+     *
+     * @param cards the cards of the page
+     * @param next  the cursor of the next page, or null if there is none
+     * @return the quoted entity tag
+     */
+    private static String pageETag(List<ApiSummaryCard> cards, String next) {
+        return OutputSummaryVersion.eTagOf(
+            cards.stream().map(card -> new OutputSummaryVersion(card.id(), card.updatedAt())).toList(),
+            next
+        );
+    }
+
     /**
      * Handles NoSuchElementException by returning a 404 Not Found response.
      *
@@ -106,4 +322,15 @@ public class OutputSummaryController {
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * Handles IllegalArgumentException (e.g. a malformed cursor) by returning a 400 Bad Request response.
+     *
+     * @param e the exception
+     * @return a 400 Bad Request response
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
 }
@@ -0,0 +1,69 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset pagination cursor over summaries, ordered by {@code (created_at, id)} descending.
+ * Encoded as an opaque URL-safe token so clients never depend on its format.
+ *
+ * @param createdAt the creation timestamp of the last summary of the previous page
+ * @param id        the ID of the last summary of the previous page
+ */
+public record OutputSummaryCursor(
+    LocalDateTime createdAt,
+    UUID id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Creates a cursor pointing right after the given position.
+     *
+     * @param createdAt the creation timestamp of the last returned summary
+     * @param id        the ID of the last returned summary
+     * @return a new cursor
+     */
+    public static OutputSummaryCursor of(LocalDateTime createdAt, UUID id) {
+        return new OutputSummaryCursor(createdAt, id);
+    }
+
+    /**
+     * Encodes this cursor into an opaque token.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static OutputSummaryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.indexOf(SEPARATOR);
+            if (idx < 0) {
+                throw new IllegalArgumentException("Invalid cursor: %s".formatted(token));
+            }
+
+            return new OutputSummaryCursor(
+                LocalDateTime.parse(raw.substring(0, idx)),
+                UUID.fromString(raw.substring(idx + 1))
+            );
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor: %s".formatted(token), ex);
+        }
+    }
+}
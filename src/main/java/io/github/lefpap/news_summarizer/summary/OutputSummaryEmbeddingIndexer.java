@@ -0,0 +1,161 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Computes the embeddings of summaries in the background, off the request path.
+ *
+ * <p>
+ * Summaries saved through {@link OutputSummaryJdbcRepository} are queued, and embedded in batches of
+ * {@link OutputSummarySettings.Embeddings#getBatchSize()} every
+ * {@link OutputSummarySettings.Embeddings#getFlushInterval()}. A backfill scans the database every
+ * {@link OutputSummarySettings.Embeddings#getBackfillInterval()} for summaries still without an embedding, which covers
+ * rows saved before embeddings existed, queue overflows, restarts, and embedding failures. Storing an embedding is
+ * idempotent, so concurrent flushes, backfills, or instances never corrupt it; they only duplicate work.
+ *
+ * <p>
+ * Exposes the {@code summaries.embeddings} counter, tagged {@code outcome=stored|skipped}.
+ */
+@Component
+@Slf4j
+public class OutputSummaryEmbeddingIndexer {
+
+    private final OutputSummaryJdbcRepository repository;
+    private final EmbeddingModel embeddingModel;
+    private final OutputSummarySettings.Embeddings settings;
+    private final BlockingQueue<UUID> queue;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter storedEmbeddings;
+    private final Counter skippedEmbeddings;
+
+    /**
+     * Constructs an OutputSummaryEmbeddingIndexer.
+     *
+     * @param repository     the summary repository
+     * @param embeddingModel the embedding model
+     * @param settings       the summary settings
+     * @param meterRegistry  the registry for embedding metrics
+     */
+    public OutputSummaryEmbeddingIndexer(OutputSummaryJdbcRepository repository, EmbeddingModel embeddingModel, OutputSummarySettings settings, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.embeddingModel = embeddingModel;
+        this.settings = settings.getEmbeddings();
+        this.queue = new LinkedBlockingQueue<>(this.settings.getQueueCapacity());
+        this.storedEmbeddings = Counter.builder("summaries.embeddings")
+            .description("Summary embeddings by outcome")
+            .tag("outcome", "stored")
+            .register(meterRegistry);
+        this.skippedEmbeddings = Counter.builder("summaries.embeddings")
+            .description("Summary embeddings by outcome")
+            .tag("outcome", "skipped")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queues the saved summaries to be embedded on the next flush, once the transaction saving them commits (or right
+     * away when they are saved outside a transaction), so a flush never reads uncommitted or rolled back summaries.
+     *
+     * @param event the saved summaries
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSaved(OutputSummariesSavedEvent event) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        for (UUID id : event.ids()) {
+            if (!queue.offer(id)) {
+                log.debug("Embedding queue is full, leaving summary {} to the backfill", id);
+            }
+        }
+    }
+
+    /**
+     * Embeds the queued summaries, batch by batch, until the queue is empty.
+     */
+    @Scheduled(fixedDelayString = "${app.summaries.embeddings.flush-interval:2s}")
+    public void flush() {
+        if (!settings.isEnabled() || queue.isEmpty()) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            List<UUID> ids = new ArrayList<>(settings.getBatchSize());
+            while (queue.drainTo(ids, settings.getBatchSize()) > 0) {
+                // Summaries saved twice in a row are queued twice, but only need one embedding
+                Set<UUID> batch = new LinkedHashSet<>(ids);
+                embed(repository.findUnembedded(batch));
+                ids.clear();
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to embed saved summaries, leaving them to the backfill", ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Embeds all summaries that have no embedding yet, oldest first.
+     *
+     * @return the number of stored embeddings
+     */
+    @Scheduled(fixedDelayString = "${app.summaries.embeddings.backfill-interval:10m}", initialDelayString = "${app.summaries.embeddings.flush-interval:2s}")
+    public int backfill() {
+        if (!settings.isEnabled()) {
+            return 0;
+        }
+
+        lock.lock();
+        int total = 0;
+        try {
+            List<OutputSummaryEmbeddingInput> inputs;
+            while (!(inputs = repository.findUnembedded(settings.getBatchSize())).isEmpty()) {
+                int stored = embed(inputs);
+                if (stored == 0) {
+                    // Every summary of the batch changed in the meantime; retry on the next backfill
+                    break;
+                }
+                total += stored;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to backfill summary embeddings after {} summaries", total, ex);
+        } finally {
+            lock.unlock();
+        }
+
+        if (total > 0) {
+            log.info("Backfilled the embeddings of {} summaries", total);
+        }
+        return total;
+    }
+
+    private int embed(List<OutputSummaryEmbeddingInput> inputs) {
+        if (inputs.isEmpty()) {
+            return 0;
+        }
+
+        List<float[]> embeddings = embeddingModel.embed(inputs.stream()
+            .map(input -> input.text(settings.getMaxChars()))
+            .toList());
+        int stored = repository.saveEmbeddings(inputs, embeddings);
+
+        storedEmbeddings.increment(stored);
+        skippedEmbeddings.increment(inputs.size() - stored);
+        return stored;
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The text of a summary to compute the embedding of.
+ *
+ * @param id          the ID of the summary
+ * @param title       the title of the summary
+ * @param description the description of the summary
+ * @param content     the Markdown content of the summary, if any
+ * @param updatedAt   the last modification time of the summary, guarding against storing a stale embedding
+ */
+public record OutputSummaryEmbeddingInput(
+    UUID id,
+    String title,
+    String description,
+    String content,
+    LocalDateTime updatedAt
+) {
+
+    /**
+     * Returns the text to embed: the title, the description, and the beginning of the content.
+     *
+     * @param maxChars the maximum length of the text
+     * @return the text to embed
+     */
+    public String text(int maxChars) {
+        String text = String.join("\n", title, description, Objects.toString(content, ""));
+        return text.length() <= maxChars ? text : text.substring(0, maxChars);
+    }
+}
@@ -12,7 +12,9 @@ import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.stereotype.Component;
 
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -23,6 +25,7 @@ import java.util.UUID;
 public class OutputSummaryJdbcMapper {
 
     private static final String ID_COLUMN = "id";
+    private static final String TOPIC_COLUMN = "topic";
     private static final String TITLE_COLUMN = "title";
     private static final String DESCRIPTION_COLUMN = "description";
     private static final String READING_TIME_COLUMN = "reading_time";
@@ -31,6 +34,12 @@ public class OutputSummaryJdbcMapper {
     private static final String CONTENT_COLUMN = "content";
     private static final String CREATED_AT_COLUMN = "created_at";
     private static final String UPDATED_AT_COLUMN = "updated_at";
+    private static final String RANK_COLUMN = "rank";
+    private static final String HEADLINE_COLUMN = "headline";
+    private static final String SIMILARITY_COLUMN = "similarity";
+    private static final String EMBEDDING_COLUMN = "embedding";
+    private static final String REVISION_COLUMN = "revision";
+    private static final String ARCHIVED_AT_COLUMN = "archived_at";
 
     private final ObjectMapper objectMapper;
 
@@ -66,6 +75,7 @@ public class OutputSummaryJdbcMapper {
 
                 return OutputSummary.builder()
                     .id(UUID.fromString(rs.getString(ID_COLUMN)))
+                    .topic(rs.getString(TOPIC_COLUMN))
                     .title(rs.getString(TITLE_COLUMN))
                     .description(rs.getString(DESCRIPTION_COLUMN))
                     .readingTime(rs.getString(READING_TIME_COLUMN))
@@ -81,6 +91,122 @@ public class OutputSummaryJdbcMapper {
         };
     }
 
+    /**
+     * Provides a RowMapper for mapping card projection rows to OutputSummaryCard objects.
+     * Reads only the columns selected by the card queries, so no JSON parsing takes place.
+     *
+     * @return a RowMapper for OutputSummaryCard
+     */
+    public RowMapper<OutputSummaryCard> cardRowMapper() {
+        return (rs, rowNum) -> OutputSummaryCard.builder()
+            .id(UUID.fromString(rs.getString(ID_COLUMN)))
+            .title(rs.getString(TITLE_COLUMN))
+            .description(rs.getString(DESCRIPTION_COLUMN))
+            .readingTime(rs.getString(READING_TIME_COLUMN))
+            .createdAt(rs.getTimestamp(CREATED_AT_COLUMN).toLocalDateTime())
+            .updatedAt(rs.getTimestamp(UPDATED_AT_COLUMN).toLocalDateTime())
+            .build();
+    }
+
+    /**
+     * Provides a RowMapper for mapping revision rows to OutputSummaryVersion objects.
+     *
+     * @return a RowMapper for OutputSummaryVersion
+     */
+    public RowMapper<OutputSummaryVersion> versionRowMapper() {
+        return (rs, rowNum) -> new OutputSummaryVersion(
+            UUID.fromString(rs.getString(ID_COLUMN)),
+            rs.getTimestamp(UPDATED_AT_COLUMN).toLocalDateTime()
+        );
+    }
+
+    /**
+     * Provides a RowMapper for mapping archived revision rows to OutputSummaryRevision objects.
+     *
+     * @return a RowMapper for OutputSummaryRevision
+     */
+    public RowMapper<OutputSummaryRevision> revisionRowMapper() {
+        RowMapper<OutputSummary> rowMapper = rowMapper();
+        return (rs, rowNum) -> new OutputSummaryRevision(
+            rs.getInt(REVISION_COLUMN),
+            rowMapper.mapRow(rs, rowNum),
+            rs.getTimestamp(ARCHIVED_AT_COLUMN).toLocalDateTime()
+        );
+    }
+
+    /**
+     * Provides a RowMapper for mapping full-text search rows to OutputSummarySearchHit objects.
+     *
+     * @return a RowMapper for OutputSummarySearchHit
+     */
+    public RowMapper<OutputSummarySearchHit> searchHitRowMapper() {
+        RowMapper<OutputSummaryCard> cardRowMapper = cardRowMapper();
+        return (rs, rowNum) -> new OutputSummarySearchHit(
+            cardRowMapper.mapRow(rs, rowNum),
+            rs.getFloat(RANK_COLUMN),
+            rs.getString(HEADLINE_COLUMN)
+        );
+    }
+
+    /**
+     * Provides a RowMapper for mapping similarity search rows to OutputSummarySimilarHit objects.
+     *
+     * @return a RowMapper for OutputSummarySimilarHit
+     */
+    public RowMapper<OutputSummarySimilarHit> similarHitRowMapper() {
+        RowMapper<OutputSummaryCard> cardRowMapper = cardRowMapper();
+        return (rs, rowNum) -> new OutputSummarySimilarHit(
+            cardRowMapper.mapRow(rs, rowNum),
+            rs.getFloat(SIMILARITY_COLUMN)
+        );
+    }
+
+    /**
+     * Provides a RowMapper for mapping the text of summaries to embed to OutputSummaryEmbeddingInput objects.
+     *
+     * @return a RowMapper for OutputSummaryEmbeddingInput
+     */
+    public RowMapper<OutputSummaryEmbeddingInput> embeddingInputRowMapper() {
+        return (rs, rowNum) -> new OutputSummaryEmbeddingInput(
+            UUID.fromString(rs.getString(ID_COLUMN)),
+            rs.getString(TITLE_COLUMN),
+            rs.getString(DESCRIPTION_COLUMN),
+            rs.getString(CONTENT_COLUMN),
+            rs.getTimestamp(UPDATED_AT_COLUMN).toLocalDateTime()
+        );
+    }
+
+    /**
+     * Build a MapSqlParameterSource for storing the embedding of a summary read at the given revision.
+     *
+     * @param input     the summary text the embedding was computed from
+     * @param embedding the embedding
+     * @return a MapSqlParameterSource for the embedding UPDATE operation
+     */
+    public MapSqlParameterSource embeddingParameterSource(OutputSummaryEmbeddingInput input, float[] embedding) {
+        return new MapSqlParameterSource()
+            .addValue(ID_COLUMN, input.id())
+            .addValue(UPDATED_AT_COLUMN, input.updatedAt())
+            .addValue(EMBEDDING_COLUMN, toVector(embedding));
+    }
+
+    /**
+     * Formats an embedding as a pgvector literal, e.g. {@code [0.1,0.2,0.3]}, to be cast to {@code VECTOR} in SQL.
+     *
+     * @param embedding the embedding
+     * @return the pgvector literal
+     */
+    public String toVector(float[] embedding) {
+        StringBuilder vector = new StringBuilder(embedding.length * 12 + 2).append('[');
+        for (int i = 0; i < embedding.length; i++) {
+            if (i > 0) {
+                vector.append(',');
+            }
+            vector.append(embedding[i]);
+        }
+        return vector.append(']').toString();
+    }
+
     /**
      * Build a MapSqlParameterSource for INSERT, converting JSON fields
      * into PGobject with type "jsonb" so Postgres stores them correctly.
@@ -91,6 +217,7 @@ public class OutputSummaryJdbcMapper {
     public MapSqlParameterSource insertParameterSource(OutputSummary summary) {
         return new MapSqlParameterSource()
             .addValue(ID_COLUMN, UUID.randomUUID())
+            .addValue(TOPIC_COLUMN, summary.topic())
             .addValue(TITLE_COLUMN, summary.title())
             .addValue(DESCRIPTION_COLUMN, summary.description())
             .addValue(READING_TIME_COLUMN, summary.readingTime())
@@ -117,6 +244,28 @@ public class OutputSummaryJdbcMapper {
             .addValue(CONTENT_COLUMN, summary.content());
     }
 
+    /**
+     * Build a MapSqlParameterSource for an imported summary, keeping its ID and timestamps.
+     * Missing values are filled in: a random ID, and the current time for the timestamps.
+     *
+     * @param summary the OutputSummary object to import
+     * @return a MapSqlParameterSource for the UPSERT operation
+     */
+    public MapSqlParameterSource importParameterSource(OutputSummary summary) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime createdAt = Optional.ofNullable(summary.createdAt()).orElse(now);
+        return new MapSqlParameterSource()
+            .addValue(ID_COLUMN, Optional.ofNullable(summary.id()).orElseGet(UUID::randomUUID))
+            .addValue(TITLE_COLUMN, summary.title())
+            .addValue(DESCRIPTION_COLUMN, summary.description())
+            .addValue(READING_TIME_COLUMN, summary.readingTime())
+            .addValue(HIGHLIGHTS_COLUMN, toJsonb(summary.highlights()))
+            .addValue(SOURCES_COLUMN, toJsonb(summary.sources()))
+            .addValue(CONTENT_COLUMN, summary.content())
+            .addValue(CREATED_AT_COLUMN, createdAt)
+            .addValue(UPDATED_AT_COLUMN, Optional.ofNullable(summary.updatedAt()).orElse(createdAt));
+    }
+
     /**
      * Helper to wrap any serializable object into a PGobject("jsonb").
      *
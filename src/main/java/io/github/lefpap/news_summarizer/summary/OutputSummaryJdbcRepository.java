@@ -1,52 +1,280 @@
 package io.github.lefpap.news_summarizer.summary;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.sql.DataSource;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import static io.github.lefpap.news_summarizer.summary.OutputSummaryCaches.SUMMARIES;
+import static io.github.lefpap.news_summarizer.summary.OutputSummaryCaches.SUMMARY_PAGES;
+import static io.github.lefpap.news_summarizer.summary.OutputSummaryCaches.SUMMARY_SEARCHES;
 import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.INSERT_SQL;
-import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SELECT_ALL_MATCHED_SQL;
+import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SEARCH_PAGE_AFTER_SQL;
+import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SEARCH_PAGE_SQL;
 import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SELECT_ALL_SQL;
 import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SELECT_BY_ID_SQL;
+import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SELECT_CARD_PAGE_AFTER_SQL;
+import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SELECT_CREATED_SINCE_SQL;
+import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SELECT_LATEST_BY_TOPIC_SQL;
+import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SELECT_CARD_PAGE_SQL;
+import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SELECT_MATCHED_CARD_PAGE_AFTER_SQL;
+import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SELECT_MATCHED_CARD_PAGE_SQL;
+import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SELECT_RELATED_SQL;
+import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SELECT_REVISIONS_SQL;
+import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SELECT_SIMILAR_SQL;
+import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SELECT_UNEMBEDDED_BY_IDS_SQL;
+import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SELECT_UNEMBEDDED_SQL;
+import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.SELECT_VERSION_BY_ID_SQL;
+import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.UPDATE_EMBEDDING_SQL;
+import static io.github.lefpap.news_summarizer.summary.OutputSummarySql.UPSERT_SQL;
 
 /**
  * Repository for accessing OutputSummary data in the database.
  * Provides methods for CRUD operations and custom queries.
+ *
+ * <p>
+ * Reads are cached in {@link OutputSummaryCaches}; every write through this repository evicts the affected entries,
+ * so callers (the REST API and the scheduler alike) never observe stale data. Every query that reaches the database
+ * is timed in the {@code summaries.repository.queries} timer, tagged by repository method; cache hits are not.
+ *
+ * <p>
+ * Every insert or update publishes an {@link OutputSummariesSavedEvent}, so the embeddings of the saved summaries
+ * can be computed off the request path.
+ *
+ * <p>
+ * Every update archives the previous revision of the summary in the same statement, listed by
+ * {@link #findRevisions(UUID, int)}. Imports overwrite summaries without archiving them.
  */
 @Repository
-@RequiredArgsConstructor
 public class OutputSummaryJdbcRepository {
 
+    /**
+     * Number of rows fetched per round trip when streaming, bounding the memory used by the JDBC driver.
+     */
+    private static final int STREAM_FETCH_SIZE = 200;
+
     private final JdbcClient jdbcClient;
+    private final JdbcClient streamingJdbcClient;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
     private final OutputSummaryJdbcMapper jdbcMapper;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Retrieves all summaries from the database.
+     * Constructs an OutputSummaryJdbcRepository.
      *
-     * @return a list of all summaries
+     * @param jdbcClient                 the JDBC client
+     * @param namedParameterJdbcTemplate the JDBC template used for batch updates
+     * @param dataSource                 the data source, used for a JDBC client with a cursor fetch size
+     * @param jdbcMapper                 the mapper between rows and summaries
+     * @param meterRegistry              the registry for query metrics
+     * @param eventPublisher             the publisher of saved summary events
      */
-    public List<OutputSummary> findAll() {
-        return jdbcClient.sql(SELECT_ALL_SQL)
-            .query(jdbcMapper.rowMapper())
-            .list();
+    public OutputSummaryJdbcRepository(JdbcClient jdbcClient, NamedParameterJdbcTemplate namedParameterJdbcTemplate, DataSource dataSource, OutputSummaryJdbcMapper jdbcMapper, MeterRegistry meterRegistry, ApplicationEventPublisher eventPublisher) {
+        JdbcTemplate streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        streamingJdbcTemplate.setFetchSize(STREAM_FETCH_SIZE);
+
+        this.jdbcClient = jdbcClient;
+        this.streamingJdbcClient = JdbcClient.create(streamingJdbcTemplate);
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.jdbcMapper = jdbcMapper;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Retrieves a page of summary cards, newest first.
+     *
+     * @param after the cursor to continue from, or null for the first page
+     * @param limit the maximum number of cards to return
+     * @return a list of at most {@code limit} summary cards
+     */
+    @Cacheable(cacheNames = SUMMARY_PAGES)
+    public List<OutputSummaryCard> findCardPage(OutputSummaryCursor after, int limit) {
+        return timed("findCardPage", () -> cardStatement(jdbcClient, null, after, limit)
+            .query(jdbcMapper.cardRowMapper())
+            .list());
     }
 
     /**
-     * Retrieves summaries matching the given query.
+     * Retrieves a page of summary cards matching the given query, newest first.
      *
      * @param query the search query
-     * @return a list of matching summaries
+     * @param after the cursor to continue from, or null for the first page
+     * @param limit the maximum number of cards to return
+     * @return a list of at most {@code limit} matching summary cards
      */
-    public List<OutputSummary> findAllMatched(String query) {
-        return jdbcClient.sql(SELECT_ALL_MATCHED_SQL)
-            .param("title", query)
-            .param("description", query)
-            .query(jdbcMapper.rowMapper())
-            .list();
+    @Cacheable(cacheNames = SUMMARY_PAGES)
+    public List<OutputSummaryCard> findMatchedCardPage(String query, OutputSummaryCursor after, int limit) {
+        return timed("findMatchedCardPage", () -> cardStatement(jdbcClient, query, after, limit)
+            .query(jdbcMapper.cardRowMapper())
+            .list());
+    }
+
+    /**
+     * Streams summary cards, optionally matching the given query, newest first, to the given consumer without
+     * loading them into memory. Rows are read from a cursor as in {@link #streamAll(Consumer)}.
+     *
+     * @param query    the search query, or null to stream all cards
+     * @param after    the cursor to continue from, or null to start from the newest card
+     * @param limit    the maximum number of cards to stream, or null for no limit
+     * @param consumer the consumer of the cards
+     */
+    @Transactional(readOnly = true)
+    public void streamCards(String query, OutputSummaryCursor after, Integer limit, Consumer<OutputSummaryCard> consumer) {
+        RowMapper<OutputSummaryCard> rowMapper = jdbcMapper.cardRowMapper();
+        timed("streamCards", () -> {
+            cardStatement(streamingJdbcClient, query, after, limit)
+                .query((RowCallbackHandler) rs -> consumer.accept(rowMapper.mapRow(rs, rs.getRow())));
+            return null;
+        });
+    }
+
+    /**
+     * Searches summaries using the full-text search index, most relevant first.
+     * The query accepts web search syntax (quoted phrases, {@code OR}, {@code -} for exclusion).
+     *
+     * @param query the full-text search query
+     * @param after the cursor to continue from, or null for the first page
+     * @param limit the maximum number of hits to return
+     * @return a list of at most {@code limit} search hits with highlight snippets
+     */
+    @Cacheable(cacheNames = SUMMARY_SEARCHES)
+    public List<OutputSummarySearchHit> search(String query, OutputSummarySearchCursor after, int limit) {
+        return timed("search", () -> searchStatement(jdbcClient, query, after, limit)
+            .query(jdbcMapper.searchHitRowMapper())
+            .list());
+    }
+
+    /**
+     * Streams full-text search hits, most relevant first, to the given consumer without loading them into memory.
+     * Rows are read from a cursor as in {@link #streamAll(Consumer)}.
+     *
+     * @param query    the full-text search query
+     * @param after    the cursor to continue from, or null to start from the most relevant hit
+     * @param limit    the maximum number of hits to stream, or null for no limit
+     * @param consumer the consumer of the search hits
+     */
+    @Transactional(readOnly = true)
+    public void streamSearch(String query, OutputSummarySearchCursor after, Integer limit, Consumer<OutputSummarySearchHit> consumer) {
+        RowMapper<OutputSummarySearchHit> rowMapper = jdbcMapper.searchHitRowMapper();
+        timed("streamSearch", () -> {
+            searchStatement(streamingJdbcClient, query, after, limit)
+                .query((RowCallbackHandler) rs -> consumer.accept(rowMapper.mapRow(rs, rs.getRow())));
+            return null;
+        });
+    }
+
+    /**
+     * Finds the summaries most similar to the given summary by embedding, most similar first.
+     * Returns nothing if the summary has no embedding yet.
+     *
+     * @param id            the ID of the summary
+     * @param since         the earliest creation time of the returned summaries, or null
+     * @param until         the creation time the returned summaries must precede, or null
+     * @param minSimilarity the minimum cosine similarity of the returned summaries
+     * @param limit         the maximum number of summaries to return
+     * @return a list of at most {@code limit} similar summary cards
+     */
+    public List<OutputSummarySimilarHit> findRelated(UUID id, LocalDateTime since, LocalDateTime until, double minSimilarity, int limit) {
+        return timed("findRelated", () -> jdbcClient.sql(SELECT_RELATED_SQL)
+            .param("id", id)
+            .param("since", since, Types.TIMESTAMP)
+            .param("until", until, Types.TIMESTAMP)
+            .param("min_similarity", minSimilarity)
+            .param("limit", limit)
+            .query(jdbcMapper.similarHitRowMapper())
+            .list());
+    }
+
+    /**
+     * Finds the summaries most similar to the given embedding, most similar first.
+     *
+     * @param embedding     the embedding to compare the summaries with
+     * @param since         the earliest creation time of the returned summaries, or null
+     * @param until         the creation time the returned summaries must precede, or null
+     * @param minSimilarity the minimum cosine similarity of the returned summaries
+     * @param limit         the maximum number of summaries to return
+     * @return a list of at most {@code limit} similar summary cards
+     */
+    public List<OutputSummarySimilarHit> findSimilar(float[] embedding, LocalDateTime since, LocalDateTime until, double minSimilarity, int limit) {
+        return timed("findSimilar", () -> jdbcClient.sql(SELECT_SIMILAR_SQL)
+            .param("embedding", jdbcMapper.toVector(embedding))
+            .param("since", since, Types.TIMESTAMP)
+            .param("until", until, Types.TIMESTAMP)
+            .param("min_similarity", minSimilarity)
+            .param("limit", limit)
+            .query(jdbcMapper.similarHitRowMapper())
+            .list());
+    }
+
+    /**
+     * Retrieves the text of those of the given summaries that have no embedding yet.
+     *
+     * @param ids the IDs of the summaries
+     * @return the text of the summaries without an embedding
+     */
+    public List<OutputSummaryEmbeddingInput> findUnembedded(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return timed("findUnembedded", () -> jdbcClient.sql(SELECT_UNEMBEDDED_BY_IDS_SQL)
+            .param("ids", ids)
+            .query(jdbcMapper.embeddingInputRowMapper())
+            .list());
+    }
+
+    /**
+     * Retrieves the text of the oldest summaries that have no embedding yet.
+     *
+     * @param limit the maximum number of summaries to return
+     * @return the text of at most {@code limit} summaries without an embedding
+     */
+    public List<OutputSummaryEmbeddingInput> findUnembedded(int limit) {
+        return timed("findUnembedded", () -> jdbcClient.sql(SELECT_UNEMBEDDED_SQL)
+            .param("limit", limit)
+            .query(jdbcMapper.embeddingInputRowMapper())
+            .list());
+    }
+
+    /**
+     * Stores the embeddings of summaries in a single batch. An embedding is skipped if its summary was modified
+     * after its text was read, or was embedded in the meantime.
+     *
+     * @param inputs     the summary texts the embeddings were computed from
+     * @param embeddings the embeddings, in the same order
+     * @return the number of stored embeddings
+     */
+    public int saveEmbeddings(List<OutputSummaryEmbeddingInput> inputs, List<float[]> embeddings) {
+        SqlParameterSource[] batch = new SqlParameterSource[inputs.size()];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = jdbcMapper.embeddingParameterSource(inputs.get(i), embeddings.get(i));
+        }
+
+        int[] updated = timed("saveEmbeddings", () -> namedParameterJdbcTemplate.batchUpdate(UPDATE_EMBEDDING_SQL, batch));
+        return Arrays.stream(updated).map(count -> Math.max(count, 0)).sum();
     }
 
     /**
@@ -55,11 +283,55 @@ public class OutputSummaryJdbcRepository {
      * @param id the ID of the summary
      * @return an Optional containing the summary if found
      */
+    @Cacheable(cacheNames = SUMMARIES, key = "#id", unless = "#result == null")
     public Optional<OutputSummary> findOne(UUID id) {
-        return jdbcClient.sql(SELECT_BY_ID_SQL)
+        return timed("findOne", () -> jdbcClient.sql(SELECT_BY_ID_SQL)
             .param("id", id)
             .query(jdbcMapper.rowMapper())
-            .optional();
+            .optional());
+    }
+
+    /**
+     * Retrieves the latest summary generated for a topic, if it was created since the given time.
+     *
+     * @param topic the name of the topic
+     * @param since the earliest creation time of the summary
+     * @return an Optional containing the latest summary of the topic, if any
+     */
+    public Optional<OutputSummary> findLatestByTopic(String topic, LocalDateTime since) {
+        return timed("findLatestByTopic", () -> jdbcClient.sql(SELECT_LATEST_BY_TOPIC_SQL)
+            .param("topic", topic)
+            .param("since", since)
+            .query(jdbcMapper.rowMapper())
+            .optional());
+    }
+
+    /**
+     * Retrieves the previous revisions of a summary, archived by its updates, newest first.
+     *
+     * @param id    the ID of the summary
+     * @param limit the maximum number of revisions to return
+     * @return the archived revisions, empty if the summary was never updated
+     */
+    public List<OutputSummaryRevision> findRevisions(UUID id, int limit) {
+        return timed("findRevisions", () -> jdbcClient.sql(SELECT_REVISIONS_SQL)
+            .param("id", id)
+            .param("limit", limit)
+            .query(jdbcMapper.revisionRowMapper())
+            .list());
+    }
+
+    /**
+     * Retrieves only the revision of a summary by its ID, without loading its content.
+     *
+     * @param id the ID of the summary
+     * @return an Optional containing the revision if the summary exists
+     */
+    public Optional<OutputSummaryVersion> findVersion(UUID id) {
+        return timed("findVersion", () -> jdbcClient.sql(SELECT_VERSION_BY_ID_SQL)
+            .param("id", id)
+            .query(jdbcMapper.versionRowMapper())
+            .optional());
     }
 
     /**
@@ -69,6 +341,10 @@ public class OutputSummaryJdbcRepository {
      * @param summary the summary to save
      * @return the saved summary
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = SUMMARIES, key = "#summary.id", condition = "#summary.id != null"),
+        @CacheEvict(cacheNames = {SUMMARY_PAGES, SUMMARY_SEARCHES}, allEntries = true)
+    })
     public OutputSummary save(OutputSummary summary) {
         if (summary.id() == null) {
             return insert(summary);
@@ -78,23 +354,83 @@ public class OutputSummaryJdbcRepository {
     }
 
 
+    /**
+     * Streams all summaries, oldest first, to the given consumer without loading them all into memory.
+     *
+     * <p>
+     * Rows are read from a server-side cursor, {@value #STREAM_FETCH_SIZE} at a time; Postgres only uses a cursor
+     * inside a transaction, hence the read-only transaction held while the consumer runs. An exception thrown by
+     * the consumer (e.g. because the client disconnected) stops the query and closes the cursor.
+     *
+     * @param consumer the consumer of the summaries
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<OutputSummary> consumer) {
+        RowMapper<OutputSummary> rowMapper = jdbcMapper.rowMapper();
+        timed("streamAll", () -> {
+            streamingJdbcClient.sql(SELECT_ALL_SQL)
+                .query((RowCallbackHandler) rs -> consumer.accept(rowMapper.mapRow(rs, rs.getRow())));
+            return null;
+        });
+    }
+
+    /**
+     * Streams the summaries created since the given time, oldest first, to the given consumer.
+     * Rows are read from a cursor as in {@link #streamAll(Consumer)}.
+     *
+     * @param since    the earliest creation time to include
+     * @param consumer the consumer of the summaries
+     */
+    @Transactional(readOnly = true)
+    public void streamCreatedSince(LocalDateTime since, Consumer<OutputSummary> consumer) {
+        RowMapper<OutputSummary> rowMapper = jdbcMapper.rowMapper();
+        timed("streamCreatedSince", () -> {
+            streamingJdbcClient.sql(SELECT_CREATED_SINCE_SQL)
+                .param("since", since)
+                .query((RowCallbackHandler) rs -> consumer.accept(rowMapper.mapRow(rs, rs.getRow())));
+            return null;
+        });
+    }
+
+    /**
+     * Saves summaries with their own IDs and timestamps in a single batch, overwriting existing summaries with
+     * the same IDs.
+     *
+     * @param summaries the summaries to save
+     */
+    @CacheEvict(cacheNames = {SUMMARIES, SUMMARY_PAGES, SUMMARY_SEARCHES}, allEntries = true)
+    public void upsertAll(List<OutputSummary> summaries) {
+        SqlParameterSource[] batch = summaries.stream()
+            .map(jdbcMapper::importParameterSource)
+            .toArray(SqlParameterSource[]::new);
+
+        timed("upsertAll", () -> namedParameterJdbcTemplate.batchUpdate(UPSERT_SQL, batch));
+        eventPublisher.publishEvent(new OutputSummariesSavedEvent(
+            Arrays.stream(batch).map(params -> (UUID) params.getValue("id")).toList()));
+    }
+
     /**
      * Deletes a summary by its ID.
      *
      * @param id the ID of the summary to delete
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = SUMMARIES, key = "#id"),
+        @CacheEvict(cacheNames = {SUMMARY_PAGES, SUMMARY_SEARCHES}, allEntries = true)
+    })
     public void delete(UUID id) {
-        jdbcClient.sql(OutputSummarySql.DELETE_SQL)
+        timed("delete", () -> jdbcClient.sql(OutputSummarySql.DELETE_SQL)
             .param("id", id)
-            .update();
+            .update());
     }
 
     /**
      * Deletes all summaries from the database.
      */
+    @CacheEvict(cacheNames = {SUMMARIES, SUMMARY_PAGES, SUMMARY_SEARCHES}, allEntries = true)
     public void deleteAll() {
-        jdbcClient.sql(OutputSummarySql.DELETE_ALL_SQL)
-            .update();
+        timed("deleteAll", () -> jdbcClient.sql(OutputSummarySql.DELETE_ALL_SQL)
+            .update());
     }
 
     /**
@@ -104,24 +440,99 @@ public class OutputSummaryJdbcRepository {
      * @return the inserted summary
      */
     private OutputSummary insert(OutputSummary summary) {
-        return jdbcClient.sql(INSERT_SQL)
+        OutputSummary inserted = timed("insert", () -> jdbcClient.sql(INSERT_SQL)
             .paramSource(jdbcMapper.insertParameterSource(summary))
             .query(jdbcMapper.rowMapper())
-            .single();
+            .single());
+        eventPublisher.publishEvent(new OutputSummariesSavedEvent(List.of(inserted.id())));
+        return inserted;
     }
 
     /**
-     * Updates an existing summary in the database.
+     * Updates an existing summary in the database, archiving its previous revision.
+     * The topic of a summary is set when it is inserted and never updated.
      *
      * @param summary the summary to update
      * @return the updated summary
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = SUMMARIES, key = "#summary.id", condition = "#summary.id != null"),
+        @CacheEvict(cacheNames = {SUMMARY_PAGES, SUMMARY_SEARCHES}, allEntries = true)
+    })
     public OutputSummary update(OutputSummary summary) {
-        return jdbcClient.sql(OutputSummarySql.UPDATE_SQL)
+        OutputSummary updated = timed("update", () -> jdbcClient.sql(OutputSummarySql.UPDATE_SQL)
             .paramSource(jdbcMapper.updateParameterSource(summary))
             .query(jdbcMapper.rowMapper())
-            .single();
+            .single());
+        eventPublisher.publishEvent(new OutputSummariesSavedEvent(List.of(updated.id())));
+        return updated;
     }
 
-}
+    /**
+     * Prepares the query of a page of summary cards, optionally matching a search query, newest first.
+     * A null limit is bound as {@code LIMIT NULL}, which Postgres treats as no limit.
+     *
+     * @param client the JDBC client to prepare the statement with
+     * @param query  the search query, or null to match all cards
+     * @param after  the cursor to continue from, or null for the first page
+     * @param limit  the maximum number of cards, or null for no limit
+     * @return the prepared statement
+     */
+    private static JdbcClient.StatementSpec cardStatement(JdbcClient client, String query, OutputSummaryCursor after, Integer limit) {
+        String sql = query == null
+            ? (after == null ? SELECT_CARD_PAGE_SQL : SELECT_CARD_PAGE_AFTER_SQL)
+            : (after == null ? SELECT_MATCHED_CARD_PAGE_SQL : SELECT_MATCHED_CARD_PAGE_AFTER_SQL);
+
+        JdbcClient.StatementSpec statement = client.sql(sql)
+            .param("limit", limit, Types.INTEGER);
+        if (query != null) {
+            statement = statement.param("query", query);
+        }
+        if (after != null) {
+            statement = statement
+                .param("created_at", after.createdAt())
+                .param("id", after.id());
+        }
+        return statement;
+    }
+
+    /**
+     * Prepares the query of a page of full-text search hits, most relevant first.
+     * A null limit is bound as {@code LIMIT NULL}, which Postgres treats as no limit.
+     *
+     * @param client the JDBC client to prepare the statement with
+     * @param query  the full-text search query
+     * @param after  the cursor to continue from, or null for the first page
+     * @param limit  the maximum number of hits, or null for no limit
+     * @return the prepared statement
+     */
+    private static JdbcClient.StatementSpec searchStatement(JdbcClient client, String query, OutputSummarySearchCursor after, Integer limit) {
+        if (after == null) {
+            return client.sql(SEARCH_PAGE_SQL)
+                .param("query", query)
+                .param("limit", limit, Types.INTEGER);
+        }
 
+        return client.sql(SEARCH_PAGE_AFTER_SQL)
+            .param("query", query)
+            .param("rank", after.rank())
+            .param("id", after.id())
+            .param("limit", limit, Types.INTEGER);
+    }
+
+    /**
+     * Runs a database query, recording its duration.
+     *
+     * @param query the name of the query, used as a metric tag
+     * @param call  the query to run
+     * @param <T>   the type of the query result
+     * @return the query result
+     */
+    private <T> T timed(String query, Supplier<T> call) {
+        return Timer.builder("summaries.repository.queries")
+            .description("Summary queries executed against the database")
+            .tag("query", query)
+            .register(meterRegistry)
+            .record(call);
+    }
+}
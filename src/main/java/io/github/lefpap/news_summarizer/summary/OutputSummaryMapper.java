@@ -2,6 +2,10 @@ package io.github.lefpap.news_summarizer.summary;
 
 import io.github.lefpap.news_summarizer.summary.api.ApiCreateSummaryRequest;
 import io.github.lefpap.news_summarizer.summary.api.ApiSummary;
+import io.github.lefpap.news_summarizer.summary.api.ApiSummaryCard;
+import io.github.lefpap.news_summarizer.summary.api.ApiSummaryRevision;
+import io.github.lefpap.news_summarizer.summary.api.ApiSummarySearchHit;
+import io.github.lefpap.news_summarizer.summary.api.ApiSummarySimilarHit;
 import io.github.lefpap.news_summarizer.summary.api.ApiUpdateSummaryRequest;
 import org.springframework.stereotype.Component;
 
@@ -35,6 +39,64 @@ public class OutputSummaryMapper {
             .build();
     }
 
+    /**
+     * Converts an OutputSummaryCard to an ApiSummaryCard.
+     *
+     * @param card the OutputSummaryCard to convert
+     * @return the converted ApiSummaryCard
+     */
+    public ApiSummaryCard toApi(OutputSummaryCard card) {
+        return ApiSummaryCard.builder()
+            .id(card.id())
+            .title(card.title())
+            .description(card.description())
+            .readingTime(card.readingTime())
+            .createdAt(card.createdAt())
+            .updatedAt(card.updatedAt())
+            .build();
+    }
+
+    /**
+     * Converts an OutputSummarySearchHit to an ApiSummarySearchHit.
+     *
+     * @param hit the OutputSummarySearchHit to convert
+     * @return the converted ApiSummarySearchHit
+     */
+    public ApiSummarySearchHit toApi(OutputSummarySearchHit hit) {
+        return ApiSummarySearchHit.builder()
+            .summary(toApi(hit.card()))
+            .rank(hit.rank())
+            .headline(hit.headline())
+            .build();
+    }
+
+    /**
+     * Converts an OutputSummarySimilarHit to an ApiSummarySimilarHit.
+     *
+     * @param hit the OutputSummarySimilarHit to convert
+     * @return the converted ApiSummarySimilarHit
+     */
+    public ApiSummarySimilarHit toApi(OutputSummarySimilarHit hit) {
+        return ApiSummarySimilarHit.builder()
+            .summary(toApi(hit.card()))
+            .similarity(hit.similarity())
+            .build();
+    }
+
+    /**
+     * Converts an OutputSummaryRevision to an ApiSummaryRevision.
+     *
+     * @param revision the OutputSummaryRevision to convert
+     * @return the converted ApiSummaryRevision
+     */
+    public ApiSummaryRevision toApi(OutputSummaryRevision revision) {
+        return ApiSummaryRevision.builder()
+            .revision(revision.revision())
+            .summary(toApi(revision.summary()))
+            .archivedAt(revision.archivedAt())
+            .build();
+    }
+
     /**
      * Converts an ApiCreateSummaryRequest to an OutputSummary.
      *
@@ -52,6 +114,26 @@ public class OutputSummaryMapper {
             .build();
     }
 
+    /**
+     * Converts an ApiSummary, e.g. a line of an import, to an OutputSummary, keeping its ID and timestamps.
+     *
+     * @param summary the ApiSummary to convert
+     * @return the converted OutputSummary
+     */
+    public OutputSummary toOutputSummary(ApiSummary summary) {
+        return OutputSummary.builder()
+            .id(summary.id())
+            .title(summary.title())
+            .description(summary.description())
+            .readingTime(summary.readingTime())
+            .highlights(summary.highlights())
+            .sources(toOutputSources(summary.sources()))
+            .content(summary.content())
+            .createdAt(summary.createdAt())
+            .updatedAt(summary.updatedAt())
+            .build();
+    }
+
     /**
      * Applies updates from an ApiUpdateSummaryRequest to an existing OutputSummary.
      *
@@ -10,8 +10,6 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Parses text into an OutputSummary object.
@@ -21,7 +19,6 @@ import java.util.regex.Pattern;
 @Slf4j
 public class OutputSummaryParser {
 
-    private static final Pattern MARKDOWN_PATTERN = Pattern.compile("^---\\s*\\n([\\s\\S]*?)\\n---\\s*\\n([\\s\\S]*)$", Pattern.MULTILINE);
     private final ObjectMapper objectMapper;
 
     /**
@@ -43,21 +40,40 @@ public class OutputSummaryParser {
      * @throws OutputSummaryParsingException if parsing fails
      */
     public OutputSummary parse(String text) {
-        try {
-            Matcher m = MARKDOWN_PATTERN.matcher(text);
-            if (!m.find())
-                throw new OutputSummaryParsingException("No YAML frontmatter-matter on text:%n%s".formatted(text));
+        OutputSummaryStreamParser parser = newStreamParser();
+        parser.accept(text.endsWith("\n") ? text : text + "\n");
+        return parser.finish();
+    }
 
-            String yamlText = m.group(1);
-            String body = m.group(2).trim();
+    /**
+     * Creates an incremental parser for text that is still being generated.
+     *
+     * @return a new stream parser, to be used for a single document
+     */
+    public OutputSummaryStreamParser newStreamParser() {
+        return new OutputSummaryStreamParser(this::parseFrontMatter);
+    }
 
+    /**
+     * Parses YAML front matter into an OutputSummary without content.
+     *
+     * @param yamlText the YAML front matter, without its fences
+     * @return the parsed OutputSummary object
+     * @throws OutputSummaryParsingException if parsing fails or mandatory fields are missing
+     */
+    private OutputSummary parseFrontMatter(String yamlText) {
+        try {
             Map<String, Object> frontMatter = objectMapper.readValue(
                 yamlText, new TypeReference<>() {
                 }
             );
 
+            if (frontMatter == null || !(frontMatter.get("title") instanceof String title) || title.isBlank()) {
+                throw new OutputSummaryParsingException("YAML front-matter has no title");
+            }
+
             var summaryBuilder = OutputSummary.builder();
-            summaryBuilder.title((String) frontMatter.get("title"));
+            summaryBuilder.title(title);
             summaryBuilder.description((String) frontMatter.get("description"));
             summaryBuilder.readingTime((String) frontMatter.get("readingTime"));
 
@@ -71,8 +87,9 @@ public class OutputSummaryParser {
                 .map(mo -> new OutputSummary.Source(mo.get("name"), mo.get("url")))
                 .toList());
 
-            summaryBuilder.content(body);
             return summaryBuilder.build();
+        } catch (OutputSummaryParsingException ex) {
+            throw ex;
         } catch (IOException ex) {
             throw new OutputSummaryParsingException("Error parsing YAML front-matter: %s".formatted(ex.getMessage()));
         } catch (Exception ex) {
@@ -0,0 +1,17 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a previous revision of a summary, archived when the summary was updated.
+ *
+ * @param revision   the number of the revision, starting at 1 for the summary as first saved
+ * @param summary    the summary as of this revision; its update time is the time the revision was written
+ * @param archivedAt the time the revision was replaced by the next one
+ */
+public record OutputSummaryRevision(
+    int revision,
+    OutputSummary summary,
+    LocalDateTime archivedAt
+) {
+}
@@ -0,0 +1,62 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset pagination cursor over full-text search results, ordered by {@code (rank, id)} descending.
+ * Encoded as an opaque URL-safe token so clients never depend on its format.
+ *
+ * @param rank the relevance rank of the last hit of the previous page
+ * @param id   the ID of the last hit of the previous page
+ */
+public record OutputSummarySearchCursor(
+    float rank,
+    UUID id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Creates a cursor pointing right after the given search hit.
+     *
+     * @param hit the last returned search hit
+     * @return a new cursor
+     */
+    public static OutputSummarySearchCursor of(OutputSummarySearchHit hit) {
+        return new OutputSummarySearchCursor(hit.rank(), hit.card().id());
+    }
+
+    /**
+     * Encodes this cursor into an opaque token.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        String raw = Float.toString(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static OutputSummarySearchCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int idx = raw.indexOf(SEPARATOR);
+        if (idx < 0) {
+            throw new IllegalArgumentException("Invalid cursor: %s".formatted(token));
+        }
+
+        return new OutputSummarySearchCursor(
+            Float.parseFloat(raw.substring(0, idx)),
+            UUID.fromString(raw.substring(idx + 1))
+        );
+    }
+}
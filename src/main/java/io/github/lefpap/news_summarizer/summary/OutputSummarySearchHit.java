@@ -0,0 +1,15 @@
+package io.github.lefpap.news_summarizer.summary;
+
+/**
+ * Represents a full-text search match on a summary.
+ *
+ * @param card     the matched summary card
+ * @param rank     the relevance rank of the match, higher is more relevant
+ * @param headline the highlighted snippet of the summary around the matched terms
+ */
+public record OutputSummarySearchHit(
+    OutputSummaryCard card,
+    float rank,
+    String headline
+) {
+}
@@ -0,0 +1,81 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import io.github.lefpap.news_summarizer.summary.api.ApiSummarySimilarHit;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Service for finding summaries by meaning rather than by keywords, using the summary embeddings maintained by
+ * {@link OutputSummaryEmbeddingIndexer}. Summaries that have not been embedded yet are not found.
+ */
+@Service
+public class OutputSummarySemanticService {
+
+    private final OutputSummaryJdbcRepository repository;
+    private final OutputSummaryMapper mapper;
+    private final EmbeddingModel embeddingModel;
+
+    /**
+     * Constructs an OutputSummarySemanticService.
+     *
+     * @param repository     the summary repository
+     * @param mapper         the mapper between API and domain summaries
+     * @param embeddingModel the embedding model, used to embed search queries
+     */
+    public OutputSummarySemanticService(OutputSummaryJdbcRepository repository, OutputSummaryMapper mapper, EmbeddingModel embeddingModel) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.embeddingModel = embeddingModel;
+    }
+
+    /**
+     * Finds the summaries most similar to the given summary.
+     *
+     * @param id            the ID of the summary
+     * @param since         the earliest creation date of the returned summaries, or null
+     * @param until         the latest creation date of the returned summaries, or null
+     * @param minSimilarity the minimum cosine similarity of the returned summaries
+     * @param limit         the maximum number of summaries to return
+     * @return the similar summaries, most similar first; empty if the summary has no embedding yet
+     * @throws NoSuchElementException if the summary does not exist
+     */
+    public List<ApiSummarySimilarHit> findRelated(UUID id, LocalDate since, LocalDate until, double minSimilarity, int limit) {
+        repository.findVersion(id)
+            .orElseThrow(() -> new NoSuchElementException("Summary not found with ID: " + id));
+
+        return repository.findRelated(id, startOf(since), endOf(until), minSimilarity, limit).stream()
+            .map(mapper::toApi)
+            .toList();
+    }
+
+    /**
+     * Finds the summaries closest in meaning to the given query.
+     *
+     * @param query         the free-text query
+     * @param since         the earliest creation date of the returned summaries, or null
+     * @param until         the latest creation date of the returned summaries, or null
+     * @param minSimilarity the minimum cosine similarity of the returned summaries
+     * @param limit         the maximum number of summaries to return
+     * @return the matching summaries, most similar first
+     */
+    public List<ApiSummarySimilarHit> search(String query, LocalDate since, LocalDate until, double minSimilarity, int limit) {
+        float[] embedding = embeddingModel.embed(query);
+        return repository.findSimilar(embedding, startOf(since), endOf(until), minSimilarity, limit).stream()
+            .map(mapper::toApi)
+            .toList();
+    }
+
+    private static LocalDateTime startOf(LocalDate date) {
+        return date == null ? null : date.atStartOfDay();
+    }
+
+    private static LocalDateTime endOf(LocalDate date) {
+        return date == null ? null : date.plusDays(1).atStartOfDay();
+    }
+}
@@ -1,43 +1,127 @@
 package io.github.lefpap.news_summarizer.summary;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.github.lefpap.news_summarizer.summary.api.ApiCreateSummaryRequest;
+import io.github.lefpap.news_summarizer.summary.api.ApiImportResult;
+import io.github.lefpap.news_summarizer.summary.api.ApiImportResult.ApiImportError;
+import io.github.lefpap.news_summarizer.summary.api.ApiPage;
 import io.github.lefpap.news_summarizer.summary.api.ApiSummary;
+import io.github.lefpap.news_summarizer.summary.api.ApiSummaryCard;
+import io.github.lefpap.news_summarizer.summary.api.ApiSummaryRevision;
+import io.github.lefpap.news_summarizer.summary.api.ApiSummarySearchHit;
 import io.github.lefpap.news_summarizer.summary.api.ApiUpdateSummaryRequest;
-import lombok.RequiredArgsConstructor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+
+import static java.util.function.Predicate.not;
 
 /**
  * Service for managing OutputSummary entities.
  * Provides methods for listing, retrieving, creating, updating, and deleting summaries.
  */
 @Service
-@RequiredArgsConstructor
 public class OutputSummaryService {
 
+    /**
+     * Number of imported summaries written per JDBC batch.
+     */
+    static final int IMPORT_BATCH_SIZE = 500;
+
+    /**
+     * Maximum number of validation errors reported by an import; further rejected lines are only counted.
+     */
+    static final int MAX_IMPORT_ERRORS = 100;
+
     private final OutputSummaryJdbcRepository repository;
     private final OutputSummaryMapper mapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs an OutputSummaryService.
+     *
+     * @param repository          the summary repository
+     * @param mapper              the mapper between API and domain summaries
+     * @param objectMapperBuilder the builder of the ObjectMapper used for NDJSON import and export
+     */
+    public OutputSummaryService(OutputSummaryJdbcRepository repository, OutputSummaryMapper mapper, Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.objectMapper = objectMapperBuilder.build();
+    }
 
     /**
-     * Retrieves a list of summaries, optionally filtered by a query.
+     * Retrieves a page of summary cards, optionally filtered by a query.
      *
-     * @param query the optional search query
-     * @return a list of summaries
+     * @param query  the optional search query
+     * @param cursor the optional cursor returned by the previous page
+     * @param limit  the maximum number of cards in the page
+     * @return a page of summary cards
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    public List<ApiSummary> listSummaries(String query) {
-        if (Objects.nonNull(query) && !query.isBlank()) {
-            return repository.findAllMatched(query).stream()
-                .map(mapper::toApi)
-                .toList();
+    public ApiPage<ApiSummaryCard> listSummaries(String query, String cursor, int limit) {
+        OutputSummaryCursor after = Optional.ofNullable(cursor)
+            .filter(not(String::isBlank))
+            .map(OutputSummaryCursor::decode)
+            .orElse(null);
+
+        // Fetch one extra row to know whether a next page exists
+        List<OutputSummaryCard> cards = Objects.nonNull(query) && !query.isBlank()
+            ? repository.findMatchedCardPage(query, after, limit + 1)
+            : repository.findCardPage(after, limit + 1);
+
+        String next = null;
+        if (cards.size() > limit) {
+            cards = cards.subList(0, limit);
+            OutputSummaryCard last = cards.getLast();
+            next = OutputSummaryCursor.of(last.createdAt(), last.id()).encode();
         }
 
-        return repository.findAll().stream()
-            .map(mapper::toApi)
-            .toList();
+        return new ApiPage<>(cards.stream().map(mapper::toApi).toList(), next);
+    }
+
+    /**
+     * Searches summaries by relevance using the full-text search index.
+     *
+     * @param query  the full-text search query
+     * @param cursor the optional cursor returned by the previous page
+     * @param limit  the maximum number of hits in the page
+     * @return a page of search hits, most relevant first
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public ApiPage<ApiSummarySearchHit> searchSummaries(String query, String cursor, int limit) {
+        OutputSummarySearchCursor after = Optional.ofNullable(cursor)
+            .filter(not(String::isBlank))
+            .map(OutputSummarySearchCursor::decode)
+            .orElse(null);
+
+        // Fetch one extra row to know whether a next page exists
+        List<OutputSummarySearchHit> hits = repository.search(query, after, limit + 1);
+
+        String next = null;
+        if (hits.size() > limit) {
+            hits = hits.subList(0, limit);
+            next = OutputSummarySearchCursor.of(hits.getLast()).encode();
+        }
+
+        return new ApiPage<>(hits.stream().map(mapper::toApi).toList(), next);
     }
 
     /**
@@ -52,6 +136,33 @@ public class OutputSummaryService {
             .orElseThrow(() -> new NoSuchElementException("Summary [%s] not found".formatted(id)));
     }
 
+    /**
+     * Retrieves the current revision of a summary, without loading its content.
+     *
+     * @param id the ID of the summary
+     * @return the current revision of the summary
+     */
+    public OutputSummaryVersion getSummaryVersion(UUID id) {
+        return repository.findVersion(id)
+            .orElseThrow(() -> new NoSuchElementException("Summary [%s] not found".formatted(id)));
+    }
+
+    /**
+     * Retrieves the previous revisions of a summary, archived whenever it was updated.
+     *
+     * @param id    the ID of the summary
+     * @param limit the maximum number of revisions to return
+     * @return the previous revisions of the summary, newest first
+     */
+    public List<ApiSummaryRevision> getSummaryRevisions(UUID id, int limit) {
+        repository.findVersion(id)
+            .orElseThrow(() -> new NoSuchElementException("Summary [%s] not found".formatted(id)));
+
+        return repository.findRevisions(id, limit).stream()
+            .map(mapper::toApi)
+            .toList();
+    }
+
     /**
      * Creates a new summary.
      *
@@ -83,6 +194,187 @@ public class OutputSummaryService {
         return mapper.toApi(savedSummary);
     }
 
+    /**
+     * Imports summaries from newline-delimited JSON, one {@link ApiSummary} per line.
+     *
+     * <p>
+     * The body is read one line at a time and written in batches of {@value #IMPORT_BATCH_SIZE}, so memory use does
+     * not depend on the size of the import. Summaries keep their IDs and timestamps, and overwrite existing summaries
+     * with the same ID, so an export can be imported again. Lines failing validation are skipped and reported; each
+     * batch is committed on its own, so a malformed line aborts the import after the lines before it were written.
+     *
+     * @param body the NDJSON request body
+     * @return the number of imported and rejected summaries
+     * @throws IllegalArgumentException if a line is not a valid summary JSON object
+     */
+    public ApiImportResult importSummaries(InputStream body) {
+        List<OutputSummary> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        List<ApiImportError> errors = new ArrayList<>();
+        int imported = 0;
+        int rejected = 0;
+
+        try (MappingIterator<ApiSummary> lines = objectMapper.readerFor(ApiSummary.class).readValues(body)) {
+            while (lines.hasNextValue()) {
+                ApiSummary summary = lines.nextValue();
+                String error = validate(summary);
+                if (Objects.nonNull(error)) {
+                    rejected++;
+                    if (errors.size() < MAX_IMPORT_ERRORS) {
+                        errors.add(new ApiImportError(lines.getCurrentLocation().getLineNr(), error));
+                    }
+                    continue;
+                }
+
+                batch.add(mapper.toOutputSummary(summary));
+                if (batch.size() == IMPORT_BATCH_SIZE) {
+                    imported += flush(batch);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            imported += flush(batch);
+            throw new IllegalArgumentException("Malformed summary at line %d, %d summaries imported before it: %s"
+                .formatted(e.getLocation().getLineNr(), imported, e.getOriginalMessage()), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        imported += flush(batch);
+        return new ApiImportResult(imported, rejected, errors);
+    }
+
+    /**
+     * Exports all summaries as newline-delimited JSON, one {@link ApiSummary} per line, oldest first.
+     *
+     * <p>
+     * Summaries are streamed from a database cursor straight to the output, so memory use does not depend on the
+     * number of summaries. A failed write (e.g. the client disconnected) stops the query.
+     *
+     * @param output the stream to write to
+     * @throws UncheckedIOException if writing to the output fails
+     */
+    public void exportSummaries(OutputStream output) {
+        writeNdjson(output, ApiSummary.class, line -> repository.streamAll(summary -> line.accept(mapper.toApi(summary))));
+    }
+
+    /**
+     * Streams summary cards, optionally filtered by a query, as newline-delimited JSON, newest first.
+     * Unlike {@link #listSummaries(String, String, int)}, cards are written as they are read from a database cursor,
+     * so memory use is bounded by a single card however many are streamed.
+     *
+     * @param query  the optional search query
+     * @param cursor the optional cursor returned by a page of {@link #listSummaries(String, String, int)}
+     * @param limit  the maximum number of cards to stream, or null for no limit
+     * @return the response body writing the cards
+     * @throws IllegalArgumentException if the cursor is malformed, before anything is written
+     */
+    public StreamingResponseBody streamSummaries(String query, String cursor, Integer limit) {
+        OutputSummaryCursor after = Optional.ofNullable(cursor)
+            .filter(not(String::isBlank))
+            .map(OutputSummaryCursor::decode)
+            .orElse(null);
+        String filter = Optional.ofNullable(query).filter(not(String::isBlank)).orElse(null);
+
+        return output -> writeNdjson(output, ApiSummaryCard.class,
+            line -> repository.streamCards(filter, after, limit, card -> line.accept(mapper.toApi(card))));
+    }
+
+    /**
+     * Streams summaries matching a full-text search query as newline-delimited JSON, most relevant first.
+     * Unlike {@link #searchSummaries(String, String, int)}, hits are written as they are read from a database cursor,
+     * so memory use is bounded by a single hit however many are streamed.
+     *
+     * @param query  the full-text search query
+     * @param cursor the optional cursor returned by a page of {@link #searchSummaries(String, String, int)}
+     * @param limit  the maximum number of hits to stream, or null for no limit
+     * @return the response body writing the search hits
+     * @throws IllegalArgumentException if the cursor is malformed, before anything is written
+     */
+    public StreamingResponseBody streamSearch(String query, String cursor, Integer limit) {
+        OutputSummarySearchCursor after = Optional.ofNullable(cursor)
+            .filter(not(String::isBlank))
+            .map(OutputSummarySearchCursor::decode)
+            .orElse(null);
+
+        return output -> writeNdjson(output, ApiSummarySearchHit.class,
+            line -> repository.streamSearch(query, after, limit, hit -> line.accept(mapper.toApi(hit))));
+    }
+
+    /**
+     * Writes values as newline-delimited JSON as they are produced.
+     * A failed write is rethrown from the line consumer, so the producer (e.g. a database cursor) stops early.
+     *
+     * @param output the stream to write to
+     * @param type   the type of the values
+     * @param lines  the producer of the values, called once with the consumer writing each value as a line
+     * @param <T>    the type of the values
+     * @throws UncheckedIOException if writing to the output fails
+     */
+    private <T> void writeNdjson(OutputStream output, Class<T> type, Consumer<Consumer<T>> lines) {
+        // Let the generator buffer lines instead of flushing the response after every one, and keep ISO timestamps
+        // so an export can be imported again
+        ObjectWriter writer = objectMapper.writerFor(type)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            lines.accept(value -> {
+                try {
+                    writer.writeValue(generator, value);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Validates an imported summary against the constraints of the summaries table.
+     *
+     * @param summary the imported summary
+     * @return the reason the summary is invalid, or null if it is valid
+     */
+    private static String validate(ApiSummary summary) {
+        if (Objects.isNull(summary.title()) || summary.title().isBlank()) {
+            return "title is required";
+        }
+        if (summary.title().length() > 255) {
+            return "title exceeds 255 characters";
+        }
+        if (Objects.isNull(summary.description()) || summary.description().isBlank()) {
+            return "description is required";
+        }
+        if (Objects.isNull(summary.readingTime()) || summary.readingTime().isBlank()) {
+            return "readingTime is required";
+        }
+        if (summary.readingTime().length() > 50) {
+            return "readingTime exceeds 50 characters";
+        }
+        return null;
+    }
+
+    /**
+     * Writes and clears a batch of imported summaries.
+     *
+     * @param batch the summaries to write
+     * @return the number of summaries written
+     */
+    private int flush(List<OutputSummary> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        repository.upsertAll(batch);
+        int written = batch.size();
+        batch.clear();
+        return written;
+    }
+
     /**
      * Deletes a summary by its ID.
      *
@@ -0,0 +1,68 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for stored summaries.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = OutputSummarySettings.CONFIG_PREFIX)
+public class OutputSummarySettings {
+
+    /**
+     * Prefix for summary configuration properties.
+     */
+    public static final String CONFIG_PREFIX = "app.summaries";
+
+    /**
+     * Settings of the summary embeddings used for related summaries and semantic search.
+     */
+    private Embeddings embeddings = new Embeddings();
+
+    /**
+     * Settings of the summary embeddings, computed in the background with the configured Spring AI embedding model.
+     * The number of dimensions of the model is fixed by the {@code embedding_dimensions} Flyway placeholder when
+     * the {@code embedding} column is created.
+     */
+    @Getter
+    @Setter
+    public static class Embeddings {
+
+        /**
+         * Whether embeddings are computed for new and updated summaries.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of summaries embedded per embedding call.
+         */
+        private int batchSize = 32;
+
+        /**
+         * Maximum number of saved summaries waiting to be embedded. Summaries saved while the queue is full are
+         * embedded by the next backfill instead.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * How often saved summaries waiting in the queue are embedded.
+         */
+        private Duration flushInterval = Duration.ofSeconds(2);
+
+        /**
+         * How often the database is scanned for summaries without an embedding, e.g. rows that existed before
+         * embeddings were introduced, or that were saved while the embedding model was unavailable.
+         */
+        private Duration backfillInterval = Duration.ofMinutes(10);
+
+        /**
+         * Maximum length of the summary text embedded, in characters.
+         */
+        private int maxChars = 4000;
+    }
+}
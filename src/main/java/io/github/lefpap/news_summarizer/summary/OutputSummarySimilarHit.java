@@ -0,0 +1,13 @@
+package io.github.lefpap.news_summarizer.summary;
+
+/**
+ * Represents a summary found by embedding similarity.
+ *
+ * @param card       the similar summary card
+ * @param similarity the cosine similarity of the summary embeddings, from -1 to 1, higher is more similar
+ */
+public record OutputSummarySimilarHit(
+    OutputSummaryCard card,
+    float similarity
+) {
+}
@@ -10,44 +10,237 @@ public class OutputSummarySql {
     }
 
     /**
-     * SQL query to select all summaries.
+     * SQL query to select the first page of summary cards, newest first.
      */
-    public static final String SELECT_ALL_SQL = """
-        SELECT * FROM summaries
+    public static final String SELECT_CARD_PAGE_SQL = """
+        SELECT id, title, description, reading_time, created_at, updated_at FROM summaries
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+        """;
+
+    /**
+     * SQL query to select the page of summary cards following a keyset cursor, newest first.
+     */
+    public static final String SELECT_CARD_PAGE_AFTER_SQL = """
+        SELECT id, title, description, reading_time, created_at, updated_at FROM summaries
+        WHERE (created_at, id) < (:created_at, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+        """;
+
+    /**
+     * SQL query to select the first page of summary cards matching a search query, newest first.
+     */
+    public static final String SELECT_MATCHED_CARD_PAGE_SQL = """
+        SELECT id, title, description, reading_time, created_at, updated_at FROM summaries
+        WHERE search_vector @@ websearch_to_tsquery('english', :query)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+        """;
+
+    /**
+     * SQL query to select the page of summary cards matching a search query following a keyset cursor, newest first.
+     */
+    public static final String SELECT_MATCHED_CARD_PAGE_AFTER_SQL = """
+        SELECT id, title, description, reading_time, created_at, updated_at FROM summaries
+        WHERE search_vector @@ websearch_to_tsquery('english', :query)
+        AND (created_at, id) < (:created_at, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+        """;
+
+    /**
+     * SQL query to select the first page of summary cards matching a full-text search query, ranked by relevance.
+     * Highlight snippets are computed only for the rows of the page.
+     */
+    public static final String SEARCH_PAGE_SQL = """
+        WITH ranked AS (
+            SELECT id, title, description, reading_time, content, created_at, updated_at,
+                ts_rank(search_vector, query) AS rank
+            FROM summaries, websearch_to_tsquery('english', :query) AS query
+            WHERE search_vector @@ query
+            ORDER BY rank DESC, id DESC
+            LIMIT :limit
+        )
+        SELECT id, title, description, reading_time, created_at, updated_at, rank,
+            ts_headline('english', coalesce(content, description), websearch_to_tsquery('english', :query),
+                'MaxFragments=2, MaxWords=30, MinWords=10') AS headline
+        FROM ranked
+        ORDER BY rank DESC, id DESC
         """;
 
     /**
-     * SQL query to select summaries matching a search query.
+     * SQL query to select the page of summary cards matching a full-text search query following a keyset cursor,
+     * ranked by relevance. Highlight snippets are computed only for the rows of the page.
      */
-    public static final String SELECT_ALL_MATCHED_SQL = """
-        SELECT * FROM summaries
-        WHERE title ILIKE '%' || :title || '%'
-        OR description ILIKE '%' || :description || '%'
+    public static final String SEARCH_PAGE_AFTER_SQL = """
+        WITH ranked AS (
+            SELECT id, title, description, reading_time, content, created_at, updated_at,
+                ts_rank(search_vector, query) AS rank
+            FROM summaries, websearch_to_tsquery('english', :query) AS query
+            WHERE search_vector @@ query
+            AND (ts_rank(search_vector, query), id) < (CAST(:rank AS REAL), :id)
+            ORDER BY rank DESC, id DESC
+            LIMIT :limit
+        )
+        SELECT id, title, description, reading_time, created_at, updated_at, rank,
+            ts_headline('english', coalesce(content, description), websearch_to_tsquery('english', :query),
+                'MaxFragments=2, MaxWords=30, MinWords=10') AS headline
+        FROM ranked
+        ORDER BY rank DESC, id DESC
+        """;
+
+    /**
+     * SQL query to select summaries most similar to a given summary by embedding, using the HNSW index.
+     * Filters are applied to the nearest neighbours found by the index. The target embedding is a scalar subquery,
+     * evaluated once, rather than a joined column: Postgres only orders by the index when the right-hand operand of
+     * the distance is a constant.
+     */
+    public static final String SELECT_RELATED_SQL = """
+        SELECT id, title, description, reading_time, created_at, updated_at,
+            1 - (embedding <=> (SELECT embedding FROM summaries WHERE id = :id)) AS similarity
+        FROM summaries
+        WHERE id <> :id
+        AND (CAST(:since AS TIMESTAMP) IS NULL OR created_at >= :since)
+        AND (CAST(:until AS TIMESTAMP) IS NULL OR created_at < :until)
+        AND embedding <=> (SELECT embedding FROM summaries WHERE id = :id) <= 1 - :min_similarity
+        ORDER BY embedding <=> (SELECT embedding FROM summaries WHERE id = :id)
+        LIMIT :limit
+        """;
+
+    /**
+     * SQL query to select summaries most similar to a query embedding, using the HNSW index.
+     * Filters are applied to the nearest neighbours found by the index.
+     */
+    public static final String SELECT_SIMILAR_SQL = """
+        SELECT id, title, description, reading_time, created_at, updated_at,
+            1 - (embedding <=> CAST(:embedding AS VECTOR)) AS similarity
+        FROM summaries
+        WHERE (CAST(:since AS TIMESTAMP) IS NULL OR created_at >= :since)
+        AND (CAST(:until AS TIMESTAMP) IS NULL OR created_at < :until)
+        AND embedding <=> CAST(:embedding AS VECTOR) <= 1 - :min_similarity
+        ORDER BY embedding <=> CAST(:embedding AS VECTOR)
+        LIMIT :limit
+        """;
+
+    /**
+     * SQL query to select the text of the given summaries that have no embedding yet.
+     */
+    public static final String SELECT_UNEMBEDDED_BY_IDS_SQL = """
+        SELECT id, title, description, content, updated_at FROM summaries
+        WHERE id IN (:ids)
+        AND embedding IS NULL
+        """;
+
+    /**
+     * SQL query to select the text of the oldest summaries that have no embedding yet.
+     */
+    public static final String SELECT_UNEMBEDDED_SQL = """
+        SELECT id, title, description, content, updated_at FROM summaries
+        WHERE embedding IS NULL
+        ORDER BY created_at, id
+        LIMIT :limit
+        """;
+
+    /**
+     * SQL query to set the embedding of a summary, unless the summary changed since its text was read.
+     */
+    public static final String UPDATE_EMBEDDING_SQL = """
+        UPDATE summaries SET embedding = CAST(:embedding AS VECTOR)
+        WHERE id = :id
+        AND updated_at = :updated_at
+        AND embedding IS NULL
         """;
 
     /**
      * SQL query to select a summary by its ID.
      */
     public static final String SELECT_BY_ID_SQL = """
-        SELECT * FROM summaries
+        SELECT id, topic, title, description, reading_time, highlights, sources, content, created_at, updated_at
+        FROM summaries
+        WHERE id = :id
+        """;
+
+    /**
+     * SQL query to select only the revision (ID and last modification timestamp) of a summary by its ID.
+     */
+    public static final String SELECT_VERSION_BY_ID_SQL = """
+        SELECT id, updated_at FROM summaries
         WHERE id = :id
         """;
 
+    /**
+     * SQL query to select all summaries, oldest first, for streaming exports.
+     */
+    public static final String SELECT_ALL_SQL = """
+        SELECT id, topic, title, description, reading_time, highlights, sources, content, created_at, updated_at
+        FROM summaries
+        ORDER BY created_at, id
+        """;
+
+    /**
+     * SQL query to select all summaries created since a given time, oldest first.
+     */
+    public static final String SELECT_CREATED_SINCE_SQL = """
+        SELECT id, topic, title, description, reading_time, highlights, sources, content, created_at, updated_at
+        FROM summaries
+        WHERE created_at >= :since
+        ORDER BY created_at, id
+        """;
+
+    /**
+     * SQL query to insert a summary with its original ID and timestamps, or overwrite the summary with that ID.
+     * The embedding of an overwritten summary is cleared if the embedded text changed.
+     */
+    public static final String UPSERT_SQL = """
+        INSERT INTO summaries
+            (id, title, description, reading_time, highlights, sources, content, created_at, updated_at)
+        VALUES
+            (:id, :title, :description, :reading_time, :highlights, :sources, :content, :created_at, :updated_at)
+        ON CONFLICT (id) DO UPDATE SET
+            title = EXCLUDED.title,
+            description = EXCLUDED.description,
+            reading_time = EXCLUDED.reading_time,
+            highlights = EXCLUDED.highlights,
+            sources = EXCLUDED.sources,
+            content = EXCLUDED.content,
+            created_at = EXCLUDED.created_at,
+            updated_at = EXCLUDED.updated_at,
+            embedding = CASE
+                WHEN (summaries.title, summaries.description, summaries.content)
+                    IS NOT DISTINCT FROM (EXCLUDED.title, EXCLUDED.description, EXCLUDED.content)
+                THEN summaries.embedding
+            END
+        """;
+
     /**
      * SQL query to insert a new summary.
      */
     public static final String INSERT_SQL = """
         INSERT INTO summaries
-            (id, title, description, reading_time, highlights, sources, content)
+            (id, topic, title, description, reading_time, highlights, sources, content)
         VALUES
-            (:id, :title, :description, :reading_time, :highlights, :sources, :content)
-        RETURNING *
+            (:id, :topic, :title, :description, :reading_time, :highlights, :sources, :content)
+        RETURNING id, topic, title, description, reading_time, highlights, sources, content, created_at, updated_at
         """;
 
     /**
-     * SQL query to update an existing summary.
+     * SQL query to update an existing summary, archiving its previous revision in {@code summary_revisions}.
+     * The row is locked before it is archived, so concurrent updates archive every revision exactly once.
+     * The embedding is cleared if the embedded text changed.
      */
     public static final String UPDATE_SQL = """
+        WITH previous AS (
+            SELECT id, revision, title, description, reading_time, highlights, sources, content, updated_at
+            FROM summaries
+            WHERE id = :id
+            FOR UPDATE
+        ), archived AS (
+            INSERT INTO summary_revisions
+                (summary_id, revision, title, description, reading_time, highlights, sources, content, updated_at)
+            SELECT id, revision, title, description, reading_time, highlights, sources, content, updated_at
+            FROM previous
+        )
         UPDATE summaries SET
             title = :title,
             description = :description,
@@ -55,9 +248,42 @@ public class OutputSummarySql {
             highlights = :highlights,
             sources = :sources,
             content = :content,
-            updated_at = NOW()
-        WHERE id = :id
-        RETURNING *
+            updated_at = NOW(),
+            revision = summaries.revision + 1,
+            embedding = CASE
+                WHEN (summaries.title, summaries.description, summaries.content)
+                    IS NOT DISTINCT FROM (:title, :description, :content)
+                THEN summaries.embedding
+            END
+        FROM previous
+        WHERE summaries.id = previous.id
+        RETURNING summaries.id, summaries.topic, summaries.title, summaries.description, summaries.reading_time,
+            summaries.highlights, summaries.sources, summaries.content, summaries.created_at, summaries.updated_at
+        """;
+
+    /**
+     * SQL query to select the latest summary of a topic created since a given time.
+     */
+    public static final String SELECT_LATEST_BY_TOPIC_SQL = """
+        SELECT id, topic, title, description, reading_time, highlights, sources, content, created_at, updated_at
+        FROM summaries
+        WHERE topic = :topic
+        AND created_at >= :since
+        ORDER BY created_at DESC, id DESC
+        LIMIT 1
+        """;
+
+    /**
+     * SQL query to select the archived revisions of a summary, newest first.
+     */
+    public static final String SELECT_REVISIONS_SQL = """
+        SELECT r.summary_id AS id, s.topic, r.title, r.description, r.reading_time, r.highlights, r.sources,
+            r.content, s.created_at, r.updated_at, r.revision, r.archived_at
+        FROM summary_revisions r
+        JOIN summaries s ON s.id = r.summary_id
+        WHERE r.summary_id = :id
+        ORDER BY r.revision DESC
+        LIMIT :limit
         """;
 
     /**
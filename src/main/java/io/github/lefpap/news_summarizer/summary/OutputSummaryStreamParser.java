@@ -0,0 +1,146 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import java.util.function.Function;
+
+/**
+ * Incremental parser for LLM output made of YAML front matter followed by a Markdown body.
+ *
+ * <p>
+ * Text is fed in arbitrary chunks as it is generated. Any preamble before the opening {@code ---} line is skipped,
+ * the front matter is parsed as soon as its closing {@code ---} line arrives, and the remaining text is accumulated
+ * as the body. Output that cannot be a valid summary (no opening fence within {@value #MAX_PREAMBLE_LENGTH}
+ * characters, front matter longer than {@value #MAX_FRONT_MATTER_LENGTH} characters, or invalid front matter)
+ * fails fast with an {@link OutputSummaryParsingException}, so generation can be aborted early.
+ *
+ * <p>
+ * Instances are stateful and not thread-safe; use one per generated document.
+ */
+public class OutputSummaryStreamParser {
+
+    /**
+     * Maximum length of the text allowed before the opening front-matter fence.
+     */
+    public static final int MAX_PREAMBLE_LENGTH = 2_048;
+
+    /**
+     * Maximum length of the front matter.
+     */
+    public static final int MAX_FRONT_MATTER_LENGTH = 16_384;
+
+    private static final String FENCE = "---";
+
+    private enum State { PREAMBLE, FRONT_MATTER, BODY }
+
+    private final Function<String, OutputSummary> frontMatterParser;
+    private final StringBuilder line = new StringBuilder();
+    private final StringBuilder frontMatterText = new StringBuilder();
+    private final StringBuilder body = new StringBuilder();
+    private State state = State.PREAMBLE;
+    private int preambleLength;
+    private OutputSummary frontMatter;
+
+    /**
+     * Constructs an OutputSummaryStreamParser.
+     *
+     * @param frontMatterParser parses the YAML front matter into a summary without content
+     */
+    OutputSummaryStreamParser(Function<String, OutputSummary> frontMatterParser) {
+        this.frontMatterParser = frontMatterParser;
+    }
+
+    /**
+     * Feeds the next chunk of generated text.
+     *
+     * @param chunk the next chunk of text
+     * @return the part of the chunk that belongs to the body, possibly empty
+     * @throws OutputSummaryParsingException if the text so far cannot be a valid summary
+     */
+    public String accept(String chunk) {
+        if (state == State.BODY) {
+            body.append(chunk);
+            return chunk;
+        }
+
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if (c != '\n') {
+                line.append(c);
+                continue;
+            }
+
+            acceptLine();
+            if (state == State.BODY) {
+                String rest = chunk.substring(i + 1);
+                body.append(rest);
+                return rest;
+            }
+        }
+
+        checkLimits();
+        return "";
+    }
+
+    /**
+     * Returns whether the front matter has been parsed.
+     *
+     * @return true once the closing front-matter fence has been received
+     */
+    public boolean hasFrontMatter() {
+        return frontMatter != null;
+    }
+
+    /**
+     * Returns the parsed front matter.
+     *
+     * @return a summary holding the front-matter fields, without content, or null if not parsed yet
+     */
+    public OutputSummary frontMatter() {
+        return frontMatter;
+    }
+
+    /**
+     * Completes parsing once the whole text has been fed.
+     *
+     * @return the parsed summary, including its body as content
+     * @throws OutputSummaryParsingException if no complete front matter was received
+     */
+    public OutputSummary finish() {
+        if (state != State.BODY) {
+            throw new OutputSummaryParsingException("No YAML front-matter found in output");
+        }
+
+        return frontMatter.toBuilder()
+            .content(body.toString().trim())
+            .build();
+    }
+
+    private void acceptLine() {
+        String current = line.toString();
+        line.setLength(0);
+
+        if (state == State.PREAMBLE) {
+            if (current.strip().equals(FENCE)) {
+                state = State.FRONT_MATTER;
+            } else {
+                preambleLength += current.length() + 1;
+            }
+        } else if (current.strip().equals(FENCE)) {
+            frontMatter = frontMatterParser.apply(frontMatterText.toString());
+            state = State.BODY;
+        } else {
+            frontMatterText.append(current).append('\n');
+        }
+    }
+
+    private void checkLimits() {
+        if (state == State.PREAMBLE && preambleLength + line.length() > MAX_PREAMBLE_LENGTH) {
+            throw new OutputSummaryParsingException("No YAML front-matter found in the first %d characters of output"
+                .formatted(MAX_PREAMBLE_LENGTH));
+        }
+
+        if (state == State.FRONT_MATTER && frontMatterText.length() + line.length() > MAX_FRONT_MATTER_LENGTH) {
+            throw new OutputSummaryParsingException("YAML front-matter exceeds %d characters"
+                .formatted(MAX_FRONT_MATTER_LENGTH));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Identifies a specific revision of a summary, used as the validator for HTTP conditional requests.
+ *
+ * @param id        the ID of the summary
+ * @param updatedAt the last modification timestamp of the summary
+ */
+public record OutputSummaryVersion(
+    UUID id,
+    LocalDateTime updatedAt
+) {
+
+    /**
+     * Returns the strong entity tag of this revision.
+     *
+     * @return the quoted entity tag
+     */
+    public String eTag() {
+        return "\"%s-%x\"".formatted(id, ChronoUnit.MICROS.between(Instant.EPOCH, lastModified()));
+    }
+
+    /**
+     * Returns the last modification instant of this revision.
+     * Timestamps are stored without time zone, in the time zone of the application.
+     *
+     * @return the last modification instant
+     */
+    public Instant lastModified() {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    /**
+     * Returns a strong entity tag for a collection of revisions, e.g. a page of summaries.
+     * The tag changes whenever a summary is added to, removed from, or modified within the collection.
+     *
+     * @param versions the revisions of the collection items, in order
+     * @param next     the cursor of the next page, or null if there is none
+     * @return the quoted entity tag
+     */
+    public static String eTagOf(Collection<OutputSummaryVersion> versions, String next) {
+        StringBuilder builder = new StringBuilder();
+        versions.forEach(version -> builder.append(version.eTag()).append(','));
+        builder.append(next);
+        return "\"%s\"".formatted(DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.lefpap.news_summarizer.summary.api;
+
+import java.util.List;
+
+/**
+ * Represents the outcome of a bulk summary import.
+ *
+ * @param imported the number of summaries written
+ * @param rejected the number of lines rejected by validation
+ * @param errors   the first validation errors, by line
+ */
+public record ApiImportResult(
+    int imported,
+    int rejected,
+    List<ApiImportError> errors
+) {
+
+    /**
+     * Represents a line of an import that was rejected.
+     *
+     * @param line    the 1-based line number in the request body
+     * @param message the reason the line was rejected
+     */
+    public record ApiImportError(
+        long line,
+        String message
+    ) {
+    }
+}
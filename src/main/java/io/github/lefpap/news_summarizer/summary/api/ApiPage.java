@@ -0,0 +1,16 @@
+package io.github.lefpap.news_summarizer.summary.api;
+
+import java.util.List;
+
+/**
+ * Represents a single page of a keyset-paginated API response.
+ *
+ * @param items the items of the current page
+ * @param next  the opaque cursor of the next page, or null if this is the last page
+ * @param <T>   the type of the page items
+ */
+public record ApiPage<T>(
+    List<T> items,
+    String next
+) {
+}
@@ -0,0 +1,21 @@
+package io.github.lefpap.news_summarizer.summary.api;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Represents a summary card in the API response format, as returned by list and search endpoints.
+ * The full summary is available through its ID.
+ */
+@Builder(toBuilder = true)
+public record ApiSummaryCard(
+    UUID id,
+    String title,
+    String description,
+    String readingTime,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,20 @@
+package io.github.lefpap.news_summarizer.summary.api;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a previous revision of a summary in the API response format.
+ *
+ * @param revision   the number of the revision, starting at 1 for the summary as first saved
+ * @param summary    the summary as of this revision
+ * @param archivedAt the time the revision was replaced by the next one
+ */
+@Builder(toBuilder = true)
+public record ApiSummaryRevision(
+    int revision,
+    ApiSummary summary,
+    LocalDateTime archivedAt
+) {
+}
@@ -0,0 +1,18 @@
+package io.github.lefpap.news_summarizer.summary.api;
+
+import lombok.Builder;
+
+/**
+ * Represents a full-text search match on a summary in the API response format.
+ *
+ * @param summary  the matched summary card
+ * @param rank     the relevance rank of the match, higher is more relevant
+ * @param headline the highlighted snippet of the summary around the matched terms
+ */
+@Builder(toBuilder = true)
+public record ApiSummarySearchHit(
+    ApiSummaryCard summary,
+    float rank,
+    String headline
+) {
+}
@@ -0,0 +1,16 @@
+package io.github.lefpap.news_summarizer.summary.api;
+
+import lombok.Builder;
+
+/**
+ * Represents a summary found by embedding similarity in the API response format.
+ *
+ * @param summary    the similar summary card
+ * @param similarity the cosine similarity of the summary embeddings, from -1 to 1, higher is more similar
+ */
+@Builder(toBuilder = true)
+public record ApiSummarySimilarHit(
+    ApiSummaryCard summary,
+    float similarity
+) {
+}
@@ -0,0 +1,3 @@
+ALTER TABLE summarization_runs
+  ADD COLUMN cluster_ms BIGINT,
+  ADD COLUMN summaries  INTEGER;
@@ -0,0 +1,9 @@
+CREATE EXTENSION IF NOT EXISTS vector;
+
+-- Filled in asynchronously after every insert or content change; NULL until then
+ALTER TABLE summaries
+  ADD COLUMN embedding VECTOR(${embedding_dimensions});
+
+CREATE INDEX idx_summaries_embedding ON summaries USING hnsw (embedding vector_cosine_ops);
+
+CREATE INDEX idx_summaries_embedding_missing ON summaries (created_at, id) WHERE embedding IS NULL;
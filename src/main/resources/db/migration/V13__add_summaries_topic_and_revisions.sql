@@ -0,0 +1,21 @@
+-- The topic a summary was generated for, so the latest summary of a topic can be updated in place
+ALTER TABLE summaries
+  ADD COLUMN topic    VARCHAR(255),
+  ADD COLUMN revision INTEGER NOT NULL DEFAULT 1;
+
+CREATE INDEX idx_summaries_topic_created_at ON summaries (topic, created_at DESC) WHERE topic IS NOT NULL;
+
+-- Previous revisions of summaries, archived by every update
+CREATE TABLE summary_revisions (
+  summary_id   UUID NOT NULL REFERENCES summaries (id) ON DELETE CASCADE,
+  revision     INTEGER NOT NULL,
+  title        VARCHAR(255) NOT NULL,
+  description  TEXT NOT NULL,
+  reading_time VARCHAR(50) NOT NULL,
+  highlights   JSONB,
+  sources      JSONB,
+  content      TEXT,
+  updated_at   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  archived_at  TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+  PRIMARY KEY (summary_id, revision)
+);
@@ -0,0 +1,9 @@
+-- Seen articles are tracked per topic, so summarizing an article for one topic no longer hides it from the others.
+-- Rows recorded before keep an empty topic, which the lookup still counts as seen for every topic.
+ALTER TABLE seen_articles
+  ADD COLUMN topic VARCHAR(255) NOT NULL DEFAULT '';
+
+ALTER TABLE seen_articles
+  ALTER COLUMN topic DROP DEFAULT,
+  DROP CONSTRAINT seen_articles_pkey,
+  ADD PRIMARY KEY (topic, url_hash);
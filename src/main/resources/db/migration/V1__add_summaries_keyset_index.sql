@@ -0,0 +1,6 @@
+UPDATE summaries SET created_at = now() WHERE created_at IS NULL;
+
+ALTER TABLE summaries
+  ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX idx_summaries_created_at_id ON summaries (created_at DESC, id DESC);
@@ -0,0 +1,9 @@
+ALTER TABLE summaries
+  ADD COLUMN search_vector TSVECTOR
+    GENERATED ALWAYS AS (
+      setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+      setweight(to_tsvector('english', coalesce(description, '')), 'B') ||
+      setweight(to_tsvector('english', coalesce(content, '')), 'C')
+    ) STORED;
+
+CREATE INDEX idx_summaries_search_vector ON summaries USING GIN (search_vector);
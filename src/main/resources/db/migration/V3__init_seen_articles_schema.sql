@@ -0,0 +1,7 @@
+CREATE TABLE seen_articles (
+  url_hash      CHAR(64) PRIMARY KEY,
+  url           TEXT NOT NULL,
+  content_hash  CHAR(64) NOT NULL,
+  first_seen_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+  last_seen_at  TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now()
+);
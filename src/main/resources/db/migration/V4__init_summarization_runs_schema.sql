@@ -0,0 +1,22 @@
+CREATE TABLE summarization_runs (
+  id                UUID PRIMARY KEY,
+  topic             TEXT NOT NULL,
+  status            VARCHAR(20) NOT NULL,
+  started_at        TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  finished_at       TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  fetch_ms          BIGINT,
+  prompt_ms         BIGINT,
+  llm_ms            BIGINT,
+  parse_ms          BIGINT,
+  save_ms           BIGINT,
+  articles_fetched  INTEGER,
+  articles_new      INTEGER,
+  prompt_chars      INTEGER,
+  output_chars      INTEGER,
+  prompt_tokens     INTEGER,
+  completion_tokens INTEGER,
+  summary_id        UUID,
+  error             TEXT
+);
+
+CREATE INDEX idx_summarization_runs_started_at ON summarization_runs (started_at DESC);
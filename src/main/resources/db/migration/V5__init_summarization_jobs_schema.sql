@@ -0,0 +1,26 @@
+CREATE TABLE summarization_jobs (
+  id               UUID PRIMARY KEY,
+  topic            TEXT NOT NULL,
+  query            JSONB NOT NULL,
+  lookback_seconds BIGINT NOT NULL,
+  status           VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+  attempts         INTEGER NOT NULL DEFAULT 0,
+  max_attempts     INTEGER NOT NULL,
+  run_at           TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+  locked_by        TEXT,
+  locked_at        TIMESTAMP WITHOUT TIME ZONE,
+  last_error       TEXT,
+  summary_id       UUID,
+  created_at       TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+  started_at       TIMESTAMP WITHOUT TIME ZONE,
+  finished_at      TIMESTAMP WITHOUT TIME ZONE,
+  duration_ms      BIGINT
+);
+
+-- Claim order for workers; only pending jobs are ever scanned
+CREATE INDEX idx_summarization_jobs_pending ON summarization_jobs (run_at, created_at) WHERE status = 'PENDING';
+
+-- At most one queued or running job per topic
+CREATE UNIQUE INDEX idx_summarization_jobs_active_topic ON summarization_jobs (topic) WHERE status IN ('PENDING', 'RUNNING');
+
+CREATE INDEX idx_summarization_jobs_created_at ON summarization_jobs (created_at DESC);
@@ -0,0 +1,7 @@
+CREATE TABLE scheduler_leases (
+  name        VARCHAR(100) PRIMARY KEY,
+  holder      TEXT NOT NULL,
+  acquired_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+  renewed_at  TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+  expires_at  TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
@@ -0,0 +1,7 @@
+CREATE TABLE api_keys (
+  id          VARCHAR(100) PRIMARY KEY,
+  secret_hash VARCHAR(255) NOT NULL,
+  role        VARCHAR(20) NOT NULL,
+  created_at  TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+  revoked_at  TIMESTAMP WITHOUT TIME ZONE
+);
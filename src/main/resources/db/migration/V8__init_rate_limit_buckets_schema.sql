@@ -0,0 +1,4 @@
+CREATE TABLE rate_limit_buckets (
+  name   VARCHAR(200) PRIMARY KEY,
+  tat_ms BIGINT NOT NULL
+);
@@ -0,0 +1,2 @@
+ALTER TABLE summarization_runs
+  ADD COLUMN map_ms BIGINT;
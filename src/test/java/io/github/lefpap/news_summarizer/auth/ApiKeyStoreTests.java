@@ -0,0 +1,83 @@
+package io.github.lefpap.news_summarizer.auth;
+
+import io.github.lefpap.news_summarizer.auth.ApiKey.AuthRole;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ApiKeyStoreTests {
+
+    private final List<StoredApiKey> rows = new ArrayList<>();
+    private final ApiKeyJdbcRepository repository = mock(ApiKeyJdbcRepository.class);
+    private final ApiKeyStore store;
+
+    ApiKeyStoreTests() {
+        when(repository.findAll()).thenAnswer(invocation -> List.copyOf(rows));
+        when(repository.insert(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            String id = invocation.getArgument(0);
+            if (rows.stream().anyMatch(row -> row.id().equals(id))) {
+                return Optional.empty();
+            }
+            StoredApiKey key = StoredApiKey.builder()
+                .id(id)
+                .secretHash(invocation.getArgument(1))
+                .role(invocation.getArgument(2))
+                .source(StoredApiKey.Source.DATABASE)
+                .createdAt(LocalDateTime.now())
+                .build();
+            rows.add(key);
+            return Optional.of(key);
+        });
+        when(repository.revoke(anyString())).thenAnswer(invocation -> {
+            String id = invocation.getArgument(0);
+            Optional<StoredApiKey> key = rows.stream().filter(row -> row.id().equals(id) && row.active()).findFirst();
+            key.ifPresent(row -> rows.set(rows.indexOf(row), row.toBuilder().revokedAt(LocalDateTime.now()).build()));
+            return key;
+        });
+
+        AuthSettings settings = new AuthSettings();
+        settings.setHashIterations(1_000);
+        settings.setApiKeys(List.of(ApiKey.of("me", "me-secret", AuthRole.FULL_ACCESS)));
+        store = new ApiKeyStore(settings, repository);
+        store.refresh();
+    }
+
+    @Test
+    void verifiesConfiguredKeysWithoutKeepingTheirSecrets() {
+        assertThat(store.verify("me", "me-secret")).contains(ApiKey.of("me", null, AuthRole.FULL_ACCESS));
+        // Cached verification must still reject a wrong secret
+        assertThat(store.verify("me", "wrong")).isEmpty();
+        assertThat(store.verify("unknown", "me-secret")).isEmpty();
+        assertThat(store.list()).singleElement().extracting(StoredApiKey::secretHash).isNull();
+    }
+
+    @Test
+    void createdKeysCanBeUsedUntilRevoked() {
+        ApiKey created = store.create("partner", AuthRole.READ_ONLY);
+
+        assertThat(created.secret()).hasSizeGreaterThanOrEqualTo(43);
+        assertThat(rows).singleElement().extracting(StoredApiKey::secretHash).isNotEqualTo(created.secret());
+        assertThat(store.verify("partner", created.secret())).map(ApiKey::role).contains(AuthRole.READ_ONLY);
+
+        store.revoke("partner");
+
+        assertThat(store.verify("partner", created.secret())).isEmpty();
+        assertThatIllegalArgumentException().isThrownBy(() -> store.create("partner", AuthRole.READ_ONLY));
+    }
+
+    @Test
+    void rejectsChangesToConfiguredKeys() {
+        assertThatIllegalArgumentException().isThrownBy(() -> store.create("me", AuthRole.READ_ONLY));
+        assertThatIllegalArgumentException().isThrownBy(() -> store.revoke("me"));
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.lefpap.news_summarizer.auth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RateLimiterTests {
+
+    private final AtomicLong nanoTime = new AtomicLong(123_456_789L);
+    private final AuthSettings.RateLimit settings = new AuthSettings.RateLimit();
+    private final RateLimitJdbcRepository repository = mock(RateLimitJdbcRepository.class);
+    private final RateLimiter rateLimiter = new RateLimiter(settings, repository, nanoTime::get, Clock.systemUTC());
+    private final AuthSettings.Limit limit = new AuthSettings.Limit(60, 2);
+
+    @Test
+    void allowsBurstThenRefillsAtTheSustainedRate() {
+        RateLimitDecision first = rateLimiter.tryAcquire("key:me", limit);
+        RateLimitDecision second = rateLimiter.tryAcquire("key:me", limit);
+        RateLimitDecision third = rateLimiter.tryAcquire("key:me", limit);
+
+        assertThat(first.allowed()).isTrue();
+        assertThat(first.remaining()).isEqualTo(1);
+        assertThat(second.allowed()).isTrue();
+        assertThat(second.remaining()).isZero();
+        assertThat(third.allowed()).isFalse();
+        assertThat(third.retryAfter()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(third.resetAfter()).isEqualTo(Duration.ofSeconds(2));
+
+        nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(rateLimiter.tryAcquire("key:me", limit).allowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("key:me", limit).allowed()).isFalse();
+        // Buckets are independent
+        assertThat(rateLimiter.tryAcquire("key:blog", limit).allowed()).isTrue();
+    }
+
+    @Test
+    void fallsBackToInMemoryBucketsWhenTheDatabaseIsUnavailable() {
+        settings.setMode(AuthSettings.Mode.SHARED);
+        when(repository.tryAcquire(anyString(), anyLong(), anyLong(), anyLong()))
+            .thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThat(rateLimiter.tryAcquire("key:me", limit).allowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("key:me", limit).allowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("key:me", limit).allowed()).isFalse();
+    }
+}
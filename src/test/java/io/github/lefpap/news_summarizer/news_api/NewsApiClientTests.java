@@ -0,0 +1,139 @@
+package io.github.lefpap.news_summarizer.news_api;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NewsApiClientTests {
+
+    private static final String RESPONSE = """
+        {"status":"ok","totalResults":1,"articles":[{"title":"Title","url":"https://example.com/a"}]}
+        """;
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/everything", exchange -> {
+            upstreamCalls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+
+            byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        server.stop(0);
+    }
+
+    private NewsApiClient client(boolean cacheEnabled) {
+        var settings = new NewsApiClientSettings();
+        settings.setBaseUrl("http://localhost:%d".formatted(server.getAddress().getPort()));
+        settings.setApiKey("test");
+        settings.getCache().setEnabled(cacheEnabled);
+        return new NewsApiClient(RestClient.builder(), settings, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void servesRepeatedQueriesFromCache() {
+        release.countDown();
+        var client = client(true);
+
+        client.getEverything(NewsApiQueryParams.builder().q("ai").pageSize(10).build());
+        var response = client.getEverything(NewsApiQueryParams.builder().pageSize(10).q("ai").build());
+
+        assertThat(response.articles()).hasSize(1);
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void servesEquivalentQueriesFromTheSameCacheEntry() {
+        release.countDown();
+        var client = client(true);
+
+        client.getEverything(NewsApiQueryParams.builder().q("artificial  intelligence").domains("bbc.co.uk", "CNN.com").build());
+        var equivalent = NewsApiQueryParams.builder()
+            .q(" artificial intelligence ")
+            .domains("cnn.com", "bbc.co.uk")
+            .sortBy(NewsApiQueryParams.SortBy.PUBLISHED_AT)
+            .page(1)
+            .build();
+
+        assertThat(client.isCached(equivalent)).isTrue();
+        client.getEverything(equivalent);
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void fetchesDistinctQueriesSeparately() {
+        release.countDown();
+        var client = client(true);
+
+        client.getEverything("ai");
+        client.getEverything("climate");
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void coalescesConcurrentIdenticalQueries() throws Exception {
+        var client = client(true);
+
+        List<Future<NewsApiResponse>> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                responses.add(executor.submit(() -> client.getEverything("ai")));
+            }
+
+            Thread.sleep(200);
+            release.countDown();
+        }
+
+        for (Future<NewsApiResponse> response : responses) {
+            assertThat(response.get().totalResults()).isEqualTo(1);
+        }
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void callsUpstreamEveryTimeWhenCacheDisabled() {
+        release.countDown();
+        var client = client(false);
+
+        client.getEverything("ai");
+        client.getEverything("ai");
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+}
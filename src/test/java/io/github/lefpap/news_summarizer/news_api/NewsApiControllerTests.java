@@ -0,0 +1,58 @@
+package io.github.lefpap.news_summarizer.news_api;
+
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Clock;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class NewsApiControllerTests {
+
+    private final NewsApiProxyService proxyService = mock(NewsApiProxyService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new NewsApiController(proxyService,
+            new NewsApiQuota(new NewsApiClientSettings.Quota(), Clock.systemUTC()),
+            Validation.buildDefaultValidatorFactory().getValidator()))
+        .build();
+
+    @Test
+    void rejectsPageZeroBeforeFetchingAnything() throws Exception {
+        mockMvc.perform(get("/api/v1/news/everything").param("q", "ai").param("page", "0"))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string(containsString("page")));
+
+        verify(proxyService, never()).everything(anyString(), any());
+    }
+
+    @Test
+    void rejectsPageSizeAboveTheUpstreamMaximum() throws Exception {
+        mockMvc.perform(get("/api/v1/news/everything").param("q", "ai").param("pageSize", "1000"))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string(containsString("pageSize")));
+
+        verify(proxyService, never()).everything(anyString(), any());
+    }
+
+    @Test
+    void servesValidRequestsThroughTheProxy() throws Exception {
+        when(proxyService.everything(eq("anonymous"), any())).thenReturn(new NewsApiResponse("ok", 0, List.of()));
+
+        mockMvc.perform(get("/api/v1/news/everything").param("q", "ai").param("page", "2").param("pageSize", "100"))
+            .andExpect(status().isOk());
+
+        verify(proxyService).everything("anonymous", NewsApiQueryParams.builder().q("ai").page(2).pageSize(100).build());
+    }
+}
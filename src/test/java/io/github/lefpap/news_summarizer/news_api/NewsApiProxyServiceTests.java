@@ -0,0 +1,107 @@
+package io.github.lefpap.news_summarizer.news_api;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NewsApiProxyServiceTests {
+
+    private static final int TOTAL_RESULTS = 250;
+
+    private final NewsApiClient client = mock(NewsApiClient.class);
+    private final NewsApiClientSettings.Quota quotaSettings = new NewsApiClientSettings.Quota();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final NewsApiProxyService service =
+        new NewsApiProxyService(client, new NewsApiQuota(quotaSettings, Clock.systemUTC()), registry);
+
+    NewsApiProxyServiceTests() {
+        when(client.getEverything(any(NewsApiQueryParams.class))).thenAnswer(invocation -> {
+            NewsApiQueryParams params = invocation.getArgument(0);
+            int first = (params.page() - 1) * params.pageSize();
+            List<NewsApiArticle> articles = IntStream.range(first, Math.min(TOTAL_RESULTS, first + params.pageSize()))
+                .mapToObj(i -> new NewsApiArticle(null, null, "Article " + i, null, "https://example.com/" + i, null, null))
+                .toList();
+            return new NewsApiResponse("ok", TOTAL_RESULTS, articles);
+        });
+    }
+
+    @Test
+    void slicesRequestedPagesOutOfFullUpstreamPages() {
+        NewsApiResponse page = service.everything("me", NewsApiQueryParams.builder().q("ai").pageSize(30).page(4).build());
+
+        assertThat(page.totalResults()).isEqualTo(TOTAL_RESULTS);
+        assertThat(page.articles()).extracting(NewsApiArticle::title)
+            .startsWith("Article 90")
+            .endsWith("Article 119")
+            .hasSize(30);
+        verify(client).getEverything(NewsApiQueryParams.builder().q("ai").pageSize(100).page(1).build().normalized());
+        verify(client).getEverything(NewsApiQueryParams.builder().q("ai").pageSize(100).page(2).build().normalized());
+    }
+
+    @Test
+    void rejectsPageZeroWithoutFetching() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> service.everything("me", NewsApiQueryParams.builder().q("ai").pageSize(30).page(0).build()));
+
+        verify(client, never()).getEverything(any(NewsApiQueryParams.class));
+    }
+
+    @Test
+    void rejectsPageSizeAboveTheUpstreamMaximumWithoutFetching() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> service.everything("me", NewsApiQueryParams.builder().q("ai").pageSize(1000).build()));
+
+        verify(client, never()).getEverything(any(NewsApiQueryParams.class));
+        assertThat(registry.find("news_api.proxy.pages").counters()).isEmpty();
+    }
+
+    @Test
+    void stopsAtTheLastUpstreamPage() {
+        NewsApiResponse page = service.everything("me", NewsApiQueryParams.builder().q("ai").pageSize(40).page(7).build());
+
+        assertThat(page.articles()).extracting(NewsApiArticle::title).containsExactly(
+            IntStream.range(240, 250).mapToObj(i -> "Article " + i).toArray(String[]::new));
+    }
+
+    @Test
+    void chargesOnlyUncachedPagesAgainstTheCallersQuota() {
+        quotaSettings.setDailyUpstreamRequests(1);
+        NewsApiQueryParams query = NewsApiQueryParams.builder().q("ai").pageSize(10).build();
+
+        service.everything("me", query);
+        when(client.isCached(any())).thenReturn(true);
+        service.everything("me", query);
+        when(client.isCached(any())).thenReturn(false);
+
+        assertThatExceptionOfType(NewsApiQuotaExceededException.class)
+            .isThrownBy(() -> service.everything("me", query));
+        service.everything("blog", query);
+
+        assertThat(registry.get("news_api.proxy.pages").tag("caller", "me").tag("source", "cache").counter().count())
+            .isEqualTo(1);
+        assertThat(registry.get("news_api.proxy.pages").tag("caller", "me").tag("source", "rejected").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCallUpstreamOnceTheQuotaIsUsedUp() {
+        quotaSettings.setDailyUpstreamRequests(1);
+        NewsApiQueryParams query = NewsApiQueryParams.builder().q("ai").pageSize(10).build();
+        service.everything("me", query);
+
+        assertThatExceptionOfType(NewsApiQuotaExceededException.class)
+            .isThrownBy(() -> service.everything("me", query.toBuilder().q("climate").build()));
+        verify(client, never()).getEverything(query.toBuilder().q("climate").pageSize(100).page(1).build().normalized());
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.lefpap.news_summarizer.news_api;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.lefpap.news_summarizer.news_api.RestClientLoggingSettings.Mode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestClientLoggingInterceptorTests {
+
+    private static final String API_KEY = "secret-api-key";
+
+    private final RestClientLoggingSettings settings = new RestClientLoggingSettings();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RestClientLoggingInterceptor interceptor = new RestClientLoggingInterceptor(settings, registry);
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RestClientLoggingInterceptor.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void redactsTheApiKeyHeaderInHeadersMode() throws IOException {
+        settings.setMode(Mode.HEADERS);
+
+        call(new byte[0], "{}").close();
+
+        assertThat(logs()).anySatisfy(line -> assertThat(line).startsWith("REQ Headers:").contains("X-Api-Key:\"[REDACTED]\""))
+            .anySatisfy(line -> assertThat(line).startsWith("RES Headers:").contains("Set-Cookie:\"[REDACTED]\""))
+            .noneSatisfy(line -> assertThat(line).containsAnyOf(API_KEY, "session=abc"))
+            .noneSatisfy(line -> assertThat(line).contains("Body:"));
+    }
+
+    @Test
+    void redactsHeadersAndCapsBodyPreviewsInBodyMode() throws IOException {
+        settings.setMode(Mode.BODY);
+        settings.setMaxBodyPreview(8);
+        String responseBody = "{\"status\":\"ok\",\"articles\":[]}";
+
+        ClientHttpResponse response = call("q=artificial+intelligence".getBytes(StandardCharsets.UTF_8), responseBody);
+        assertThat(new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(responseBody);
+        response.close();
+
+        assertThat(logs()).contains("REQ Body: q=artifi... [truncated]", "RES Body: {\"status... [truncated]")
+            .anySatisfy(line -> assertThat(line).startsWith("REQ Headers:").contains("X-Api-Key:\"[REDACTED]\""))
+            .noneSatisfy(line -> assertThat(line).contains(API_KEY));
+    }
+
+    @Test
+    void logsBodiesWithinThePreviewInFull() throws IOException {
+        settings.setMode(Mode.BODY);
+        settings.setMaxBodyPreview(64);
+
+        ClientHttpResponse response = call("q=ai".getBytes(StandardCharsets.UTF_8), "{}");
+        response.getBody().readAllBytes();
+        response.close();
+
+        assertThat(logs()).contains("REQ Body: q=ai", "RES Body: {}");
+    }
+
+    @Test
+    void recordsUnsampledCallsWithoutLogging() throws IOException {
+        settings.setMode(Mode.BODY);
+        settings.setSampleRate(0.0);
+
+        call(new byte[0], "{}").close();
+
+        assertThat(logs()).isEmpty();
+        assertThat(registry.get("outbound.http.requests").tag("status", "200").timer().count()).isEqualTo(1);
+    }
+
+    private ClientHttpResponse call(byte[] body, String responseBody) throws IOException {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("https://newsapi.org/v2/everything"));
+        request.getHeaders().add(NewsApiClient.API_KEY_HEADER, API_KEY);
+        MockClientHttpResponse response = new MockClientHttpResponse(responseBody.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        response.getHeaders().add("Set-Cookie", "session=abc");
+
+        return interceptor.intercept(request, body, (req, bytes) -> response);
+    }
+
+    private List<String> logs() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleClustererTests {
+
+    private final NewsSummarizerSettings settings = new NewsSummarizerSettings();
+    private final ArticleClusterer clusterer = new ArticleClusterer(settings);
+
+    @Test
+    void groupsSimilarArticlesIntoStoriesLargestFirst() {
+        NewsApiArticle chips = article("chips");
+        NewsApiArticle rules = article("rules");
+        NewsApiArticle chipsFollowUp = article("chips follow-up");
+        NewsApiArticle rulesFollowUp = article("rules follow-up");
+        NewsApiArticle chipsAnalysis = article("chips analysis");
+
+        List<ArticleCluster> clusters = clusterer.cluster(
+            List.of(chips, rules, chipsFollowUp, rulesFollowUp, chipsAnalysis),
+            List.of(unit(1, 0, 0), unit(0, 1, 0), unit(0.9, 0.3, 0), unit(0.2, 0.9, 0.3), unit(0.85, 0, 0.4)));
+
+        assertThat(clusters).extracting(ArticleCluster::articles).containsExactly(
+            List.of(chips, chipsFollowUp, chipsAnalysis),
+            List.of(rules, rulesFollowUp));
+    }
+
+    @Test
+    void setsNearDuplicatesAsideKeepingTheHighestRanked() {
+        NewsApiArticle original = article("original");
+        NewsApiArticle syndicated = article("syndicated");
+        NewsApiArticle related = article("related");
+        NewsApiArticle unrelated = article("unrelated");
+
+        List<ArticleCluster> clusters = clusterer.cluster(
+            List.of(original, syndicated, related, unrelated),
+            List.of(unit(1, 0, 0), unit(0.99, 0.05, 0), unit(0.8, 0.5, 0), unit(0, 0, 1)));
+
+        assertThat(clusters).hasSize(2);
+        assertThat(clusters.getFirst().articles()).containsExactly(original, related);
+        assertThat(clusters.getFirst().duplicates()).containsExactly(syndicated);
+        assertThat(clusters.getFirst().size()).isEqualTo(3);
+        assertThat(clusters.getLast().articles()).containsExactly(unrelated);
+    }
+
+    private static float[] unit(double... values) {
+        double norm = 0.0;
+        for (double value : values) {
+            norm += value * value;
+        }
+        float[] vector = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            vector[i] = (float) (values[i] / Math.sqrt(norm));
+        }
+        return vector;
+    }
+
+    private static NewsApiArticle article(String title) {
+        return new NewsApiArticle(new NewsApiArticle.NewsApiSource("example", "Example"), "Author", title, null,
+            "https://example.com/" + title.replace(' ', '-'), null, "2025-06-07T00:00:00Z");
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArticleDeduplicatorTests {
+
+    private final SeenArticleJdbcRepository repository = mock(SeenArticleJdbcRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ArticleDeduplicator deduplicator = new ArticleDeduplicator(repository, registry);
+
+    @Test
+    void dropsArticlesSeenForTheTopicUnlessEdited() {
+        NewsApiArticle seen = article("https://example.com/seen", "Seen");
+        NewsApiArticle edited = article("https://example.com/edited", "Edited");
+        NewsApiArticle fresh = article("https://example.com/fresh", "Fresh");
+        when(repository.findContentHashes(eq("AI"), any())).thenReturn(Map.of(
+            ArticleFingerprint.of(seen).urlHash(), ArticleFingerprint.of(seen).contentHash(),
+            ArticleFingerprint.of(edited).urlHash(), ArticleFingerprint.of(article("https://example.com/edited", "Old")).contentHash()));
+
+        assertThat(deduplicator.filterUnseen("AI", List.of(seen, edited, fresh))).containsExactly(edited, fresh);
+        assertThat(registry.get("summarizer.articles").tag("status", "new").counter().count()).isEqualTo(2);
+        assertThat(registry.get("summarizer.articles").tag("status", "seen").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void dropsRepeatedUrlsWithinTheFetch() {
+        NewsApiArticle first = article("https://www.example.com/a/", "First");
+        NewsApiArticle repeated = article("http://example.com/a?utm_source=feed", "Repeated");
+        NewsApiArticle other = article("https://example.com/b", "Other");
+        when(repository.findContentHashes(eq("AI"), any())).thenReturn(Map.of());
+
+        assertThat(deduplicator.filterUnseen("AI", List.of(first, repeated, other))).containsExactly(first, other);
+        verify(repository).findContentHashes("AI",
+            Set.of(ArticleFingerprint.of(first).urlHash(), ArticleFingerprint.of(other).urlHash()));
+    }
+
+    private static NewsApiArticle article(String url, String title) {
+        return new NewsApiArticle(new NewsApiArticle.NewsApiSource(null, "Example"), null, title, null, url, null,
+            "2025-06-07T10:00:00Z");
+    }
+}
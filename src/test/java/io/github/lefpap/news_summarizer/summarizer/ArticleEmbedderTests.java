@@ -0,0 +1,50 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArticleEmbedderTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EmbeddingModel embeddingModel = mock(EmbeddingModel.class);
+    private final ArticleEmbedder embedder = new ArticleEmbedder(embeddingModel, new NewsSummarizerSettings(), registry);
+
+    @Test
+    void embedsOnlyArticlesNotCachedForTheirUrlAndText() {
+        NewsApiArticle first = article("https://example.com/first", "First");
+        NewsApiArticle second = article("https://example.com/second", "Second");
+        when(embeddingModel.embed(anyList())).thenAnswer(invocation -> {
+            List<String> texts = invocation.getArgument(0);
+            return texts.stream().map(text -> new float[]{3f, 4f}).toList();
+        });
+
+        List<float[]> embeddings = embedder.embed(List.of(first));
+        assertThat(embeddings.getFirst()).containsExactly(0.6f, 0.8f);
+
+        NewsApiArticle refetched = article("https://www.example.com/first/?utm_source=feed", "First");
+        NewsApiArticle edited = article("https://example.com/first", "First, updated");
+        embedder.embed(List.of(refetched, second));
+        embedder.embed(List.of(edited));
+
+        verify(embeddingModel).embed(List.of("First\nAbout First"));
+        verify(embeddingModel).embed(List.of("Second\nAbout Second"));
+        verify(embeddingModel).embed(List.of("First, updated\nAbout First, updated"));
+        assertThat(registry.get("summarizer.embeddings").tag("source", "cached").counter().count()).isEqualTo(1);
+        assertThat(registry.get("summarizer.embeddings").tag("source", "computed").counter().count()).isEqualTo(3);
+    }
+
+    private static NewsApiArticle article(String url, String title) {
+        return new NewsApiArticle(new NewsApiArticle.NewsApiSource("example", "Example"), "Author", title,
+            "About " + title, url, null, "2025-06-07T00:00:00Z");
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleFingerprintTests {
+
+    @Test
+    void normalizesTriviallyDifferentUrls() {
+        assertThat(ArticleFingerprint.normalizeUrl(" http://WWW.Example.com/news/ai-chips/#comments "))
+            .isEqualTo("https://example.com/news/ai-chips");
+        assertThat(ArticleFingerprint.normalizeUrl("https://example.com/news?utm_source=feed&b=2&fbclid=x&a=1"))
+            .isEqualTo("https://example.com/news?a=1&b=2");
+        assertThat(ArticleFingerprint.normalizeUrl("https://example.com/?utm_medium=social"))
+            .isEqualTo("https://example.com");
+    }
+
+    @Test
+    void keepsInvalidOrRelativeUrlsAsTrimmed() {
+        assertThat(ArticleFingerprint.normalizeUrl(" not a url ")).isEqualTo("not a url");
+        assertThat(ArticleFingerprint.normalizeUrl("/news/ai-chips")).isEqualTo("/news/ai-chips");
+        assertThat(ArticleFingerprint.normalizeUrl(null)).isEmpty();
+    }
+
+    @Test
+    void hashesNormalizedUrlAndText() {
+        ArticleFingerprint fingerprint = ArticleFingerprint.of(article("https://www.example.com/a/", "AI  chips", "New chips."));
+
+        assertThat(fingerprint.url()).isEqualTo("https://example.com/a");
+        assertThat(ArticleFingerprint.of(article("http://example.com/a", " AI chips ", "New chips.")))
+            .isEqualTo(fingerprint);
+        assertThat(ArticleFingerprint.of(article("https://example.com/a", "AI chips", "New chips, updated.")))
+            .satisfies(edited -> {
+                assertThat(edited.urlHash()).isEqualTo(fingerprint.urlHash());
+                assertThat(edited.contentHash()).isNotEqualTo(fingerprint.contentHash());
+            });
+    }
+
+    private static NewsApiArticle article(String url, String title, String description) {
+        return new NewsApiArticle(new NewsApiArticle.NewsApiSource(null, "Example"), null, title, description, url,
+            null, "2025-06-07T10:00:00Z");
+    }
+}
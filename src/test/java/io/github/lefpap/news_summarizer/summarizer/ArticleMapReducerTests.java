@@ -0,0 +1,146 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import io.github.lefpap.news_summarizer.summarizer.NewsSummarizerSettings.Topic;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArticleMapReducerTests {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-08T00:00:00Z"), ZoneOffset.UTC);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final NewsSummarizerSettings settings = new NewsSummarizerSettings();
+    private final ArticlePromptBuilder builder = new ArticlePromptBuilder(settings.getPrompt(), CLOCK);
+
+    @Test
+    void appliesAboveThresholdWhenEnabled() {
+        ArticleMapReducer reducer = reducer(text -> "notes");
+
+        assertThat(reducer.applies(20)).isFalse();
+        assertThat(reducer.applies(21)).isTrue();
+
+        settings.getMapReduce().setEnabled(false);
+        assertThat(reducer.applies(21)).isFalse();
+    }
+
+    @Test
+    void condensesChunksIntoReducePrompt() {
+        settings.getMapReduce().setMaxArticles(25);
+        AtomicInteger calls = new AtomicInteger();
+        ArticleMapReducer reducer = reducer(text -> "- notes " + calls.incrementAndGet());
+
+        ArticlePrompt prompt = reducer.build(Topic.of("AI"), articles(30));
+
+        assertThat(calls).hasValue(3);
+        assertThat(prompt.articles()).hasSize(25);
+        assertThat(prompt.text()).contains("[Part 1]\n- notes", "[Part 3]\n- notes").doesNotContain("[Part 4]");
+        assertThat(prompt.estimatedTokens()).isLessThanOrEqualTo(settings.getPrompt().getMaxTokens());
+    }
+
+    @Test
+    void cutsNotesToFitThePromptBudget() {
+        settings.getPrompt().setMaxTokens(300);
+        ArticleMapReducer reducer = reducer(text -> "- a long note\n".repeat(200));
+
+        ArticlePrompt prompt = reducer.build(Topic.of("AI"), articles(20));
+
+        assertThat(prompt.text()).contains("[…]");
+        assertThat(prompt.estimatedTokens()).isLessThanOrEqualTo(300);
+    }
+
+    @Test
+    void reusesCachedNotesWhenRetryingAfterAFailedChunk() {
+        settings.getConcurrency().setLlm(3);
+        Set<String> failing = ConcurrentHashMap.newKeySet();
+        failing.add("Story 15\n");
+        AtomicInteger calls = new AtomicInteger();
+        ArticleMapReducer reducer = reducer(text -> {
+            calls.incrementAndGet();
+            if (failing.stream().anyMatch(text::contains)) {
+                sleep(200);
+                throw new IllegalStateException("LLM unavailable");
+            }
+            return "- notes";
+        });
+        List<NewsApiArticle> articles = articles(30);
+
+        assertThatThrownBy(() -> reducer.build(Topic.of("AI"), articles)).hasMessage("LLM unavailable");
+        assertThat(calls).hasValue(3);
+
+        failing.clear();
+        ArticlePrompt prompt = reducer.build(Topic.of("AI"), articles);
+
+        assertThat(prompt.articles()).hasSize(30);
+        assertThat(calls).hasValue(4);
+        assertThat(registry.get("summarizer.map_reduce.chunks").tag("source", "cached").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void runsOneMapCallAtATimeWithASingleLlmPermit() {
+        settings.getConcurrency().setLlm(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ArticleMapReducer reducer = reducer(text -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(50);
+            running.decrementAndGet();
+            return "- notes";
+        });
+
+        ArticlePrompt prompt = reducer.build(Topic.of("AI"), articles(50));
+
+        assertThat(prompt.text()).contains("[Part 5]");
+        assertThat(maxRunning).hasValue(1);
+    }
+
+    @Test
+    void waitsForTheLlmPermitsHeldByOtherCalls() throws Exception {
+        settings.getConcurrency().setLlm(1);
+        LlmPermits llmPermits = new LlmPermits(settings);
+        AtomicInteger calls = new AtomicInteger();
+        ArticleMapReducer reducer = new ArticleMapReducer(settings, builder, text -> "- notes " + calls.incrementAndGet(), llmPermits, registry);
+
+        llmPermits.acquire();
+        Thread build = Thread.ofVirtual().start(() -> reducer.build(Topic.of("AI"), articles(30)));
+        build.join(Duration.ofMillis(200));
+        assertThat(calls).hasValue(0);
+
+        llmPermits.release();
+        assertThat(build.join(Duration.ofSeconds(10))).isTrue();
+        assertThat(calls).hasValue(3);
+    }
+
+    private ArticleMapReducer reducer(UnaryOperator<String> mapCall) {
+        return new ArticleMapReducer(settings, builder, mapCall, new LlmPermits(settings), registry);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<NewsApiArticle> articles(int count) {
+        return IntStream.rangeClosed(1, count)
+            .mapToObj(i -> new NewsApiArticle(new NewsApiArticle.NewsApiSource("example", "Example"), "Author",
+                "Story " + i, "AI story number " + i + ".", "https://example.com/" + i, null, "2025-06-07T00:00:00Z"))
+            .toList();
+    }
+}
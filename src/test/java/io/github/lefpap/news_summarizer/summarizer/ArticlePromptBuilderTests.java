@@ -0,0 +1,86 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import io.github.lefpap.news_summarizer.summarizer.NewsSummarizerSettings.Topic;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticlePromptBuilderTests {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-08T00:00:00Z"), ZoneOffset.UTC);
+
+    private final NewsSummarizerSettings.Prompt settings = new NewsSummarizerSettings.Prompt();
+    private final ArticlePromptBuilder builder = new ArticlePromptBuilder(settings, CLOCK);
+
+    @Test
+    void rendersCompactNormalizedArticles() {
+        NewsApiArticle repeated = article("AI chips", "New <b>AI</b> chips   announced.",
+            "New AI chips announced. More details follow… [+2345 chars]", "2025-06-07T10:00:00Z");
+        NewsApiArticle excerpted = article("AI funding", "A startup raised funds.",
+            "The round was led by investors… [+1234 chars]", "2025-06-06T10:00:00Z");
+
+        ArticlePrompt prompt = builder.build(Topic.of("AI"), List.of(repeated, excerpted));
+
+        assertThat(prompt.text()).isEqualTo("""
+            Here are the articles to summarize:
+
+            [1] AI chips
+            Example | 2025-06-07 | https://example.com/AI chips
+            New AI chips announced.
+
+            [2] AI funding
+            Example | 2025-06-06 | https://example.com/AI funding
+            A startup raised funds.
+            The round was led by investors
+            """);
+        assertThat(prompt.articles()).containsExactly(repeated, excerpted);
+    }
+
+    @Test
+    void ranksByRelevanceAndRecencyWithinBudget() {
+        NewsApiArticle old = article("Weather report", "Rain expected.", null, "2025-06-01T00:00:00Z");
+        NewsApiArticle recent = article("Sports", "Match results.", null, "2025-06-07T00:00:00Z");
+        NewsApiArticle relevant = article("AI regulation", "AI rules agreed.", null, "2025-06-02T00:00:00Z");
+
+        assertThat(builder.build(Topic.of("AI"), List.of(old, recent, relevant)).articles())
+            .containsExactly(relevant, recent, old);
+
+        settings.setMaxTokens(40);
+        ArticlePrompt prompt = builder.build(Topic.of("AI"), List.of(old, recent, relevant));
+        assertThat(prompt.articles()).containsExactly(relevant);
+        assertThat(prompt.estimatedTokens()).isLessThanOrEqualTo(40);
+    }
+
+    @Test
+    void leavesOutFieldsWithZeroLength() {
+        settings.setMaxContentChars(0);
+        NewsApiArticle article = article("AI chips", "New AI chips announced.", "The chips are fast… [+2345 chars]",
+            "2025-06-07T10:00:00Z");
+
+        assertThat(builder.build(Topic.of("AI"), List.of(article)).text())
+            .contains("New AI chips announced.\n")
+            .doesNotContain("The chips are fast");
+    }
+
+    @Test
+    void includesNoArticleWhenNoneFitsTheBudget() {
+        settings.setMaxTokens(10);
+
+        NewsApiArticle article = article("AI chips", "New AI chips.", null, "2025-06-07T10:00:00Z");
+
+        ArticlePrompt prompt = builder.build(Topic.of("AI"), List.of(article));
+
+        assertThat(prompt.articles()).isEmpty();
+    }
+
+    private static NewsApiArticle article(String title, String description, String content, String publishedAt) {
+        return new NewsApiArticle(new NewsApiArticle.NewsApiSource("example", "Example"), "Author", title, description,
+            "https://example.com/" + title, content, publishedAt);
+    }
+}
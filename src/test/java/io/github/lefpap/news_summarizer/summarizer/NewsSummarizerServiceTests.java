@@ -0,0 +1,127 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import io.github.lefpap.news_summarizer.news_api.NewsApiClient;
+import io.github.lefpap.news_summarizer.news_api.NewsApiQueryParams;
+import io.github.lefpap.news_summarizer.news_api.NewsApiResponse;
+import io.github.lefpap.news_summarizer.summarizer.NewsSummarizerSettings.Topic;
+import io.github.lefpap.news_summarizer.summary.OutputSummaryJdbcRepository;
+import io.github.lefpap.news_summarizer.summary.OutputSummaryParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class NewsSummarizerServiceTests {
+
+    private static final String OUTPUT = """
+        ---
+        title: This Week in AI
+        description: A roundup
+        readingTime: 1 min
+        highlights:
+          - Open models keep closing the gap
+        sources: []
+        ---
+        ### Introduction
+        Open models keep closing the gap.
+        """;
+
+    private final NewsApiClient newsApiClient = mock(NewsApiClient.class);
+    private final ChatClient chatClient = mock(ChatClient.class, RETURNS_DEEP_STUBS);
+    private final ArticleDeduplicator articleDeduplicator = mock(ArticleDeduplicator.class);
+    private final ArticleMapReducer articleMapReducer = mock(ArticleMapReducer.class);
+    private final ArticleEmbedder articleEmbedder = mock(ArticleEmbedder.class);
+    private final OutputSummaryJdbcRepository summaryRepository = mock(OutputSummaryJdbcRepository.class);
+    private final NewsSummarizerSettings settings = new NewsSummarizerSettings();
+    private final SummarizationRunRecorder runRecorder =
+        new SummarizationRunRecorder(new SimpleMeterRegistry(), mock(SummarizationRunJdbcRepository.class));
+
+    @Test
+    void summarizesUnclusteredArticlesAsSingleStory() {
+        List<NewsApiArticle> articles = List.of(
+            article("AI chips", "https://example.com/chips"),
+            article("AI regulation", "https://example.com/regulation"),
+            article("AI funding", "https://example.com/funding"));
+        fetch(articles);
+        // Orthogonal embeddings: no two articles belong to the same story
+        List<float[]> embeddings = new ArrayList<>();
+        for (int i = 0; i < articles.size(); i++) {
+            float[] embedding = new float[articles.size()];
+            embedding[i] = 1f;
+            embeddings.add(embedding);
+        }
+        when(articleEmbedder.embed(anyList())).thenReturn(embeddings);
+        when(chatClient.prompt(anyString()).call().chatResponse())
+            .thenReturn(new ChatResponse(List.of(new Generation(new AssistantMessage(OUTPUT)))));
+
+        List<StorySummary> summaries = service().summarize(Topic.of("AI"), runRecorder.start("AI"));
+
+        assertThat(summaries).singleElement().satisfies(story -> {
+            assertThat(story.summary().title()).isEqualTo("This Week in AI");
+            assertThat(story.summary().topic()).isEqualTo("AI");
+            assertThat(story.articles()).containsExactlyInAnyOrderElementsOf(articles);
+        });
+    }
+
+    @Test
+    void skipsStoriesThatDoNotFitThePromptBudget() {
+        settings.getClustering().setEnabled(false);
+        settings.getPrompt().setMaxTokens(10);
+        fetch(List.of(article("AI chips", "https://example.com/chips")));
+
+        assertThat(service().summarize(Topic.of("AI"), runRecorder.start("AI"))).isEmpty();
+        verifyNoInteractions(chatClient);
+    }
+
+    @Test
+    void releasesTheLlmPermitWhenTheStreamCannotBeBuilt() {
+        settings.getClustering().setEnabled(false);
+        settings.getConcurrency().setLlm(1);
+        fetch(List.of(article("AI chips", "https://example.com/chips")));
+        when(chatClient.prompt(anyString()).stream()).thenThrow(new IllegalStateException("model unavailable"));
+        NewsSummarizerService service = service();
+
+        // A leaked permit would block the second call forever
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> service.summarizeStream(Topic.of("AI"), runRecorder.start("AI"))
+                .collectList()
+                .block(Duration.ofSeconds(10)))
+                .hasMessage("model unavailable");
+        }
+    }
+
+    private NewsSummarizerService service() {
+        return new NewsSummarizerService(newsApiClient, chatClient, new OutputSummaryParser(new Jackson2ObjectMapperBuilder()),
+            articleDeduplicator, new ArticlePromptBuilder(settings), articleMapReducer, articleEmbedder,
+            new ArticleClusterer(settings), summaryRepository, new SummaryDeltaMerger(settings), new LlmPermits(settings), settings);
+    }
+
+    private void fetch(List<NewsApiArticle> articles) {
+        when(newsApiClient.getEverything(any(NewsApiQueryParams.class)))
+            .thenReturn(new NewsApiResponse("ok", articles.size(), articles));
+        when(articleDeduplicator.filterUnseen(anyString(), anyList())).thenAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    private static NewsApiArticle article(String title, String url) {
+        return new NewsApiArticle(new NewsApiArticle.NewsApiSource(null, "Example"), null, title, title + " announced.",
+            url, null, "2025-06-07T10:00:00Z");
+    }
+}
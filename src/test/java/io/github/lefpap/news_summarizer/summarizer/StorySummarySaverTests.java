@@ -0,0 +1,61 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import io.github.lefpap.news_summarizer.summary.OutputSummary;
+import io.github.lefpap.news_summarizer.summary.OutputSummaryJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StorySummarySaverTests {
+
+    private final OutputSummaryJdbcRepository summaryRepository = mock(OutputSummaryJdbcRepository.class);
+    private final ArticleDeduplicator articleDeduplicator = mock(ArticleDeduplicator.class);
+    private final StorySummarySaver saver = new StorySummarySaver(summaryRepository, articleDeduplicator);
+
+    private final OutputSummary summary = OutputSummary.builder().title("This Week in AI").build();
+    private final List<NewsApiArticle> articles = List.of(new NewsApiArticle(
+        new NewsApiArticle.NewsApiSource(null, "Example"), null, "AI chips", null, "https://example.com/a", null, null));
+
+    @Test
+    void marksArticlesSeenAfterSavingTheSummary() {
+        OutputSummary saved = summary.toBuilder().id(UUID.randomUUID()).build();
+        when(summaryRepository.save(summary)).thenReturn(saved);
+
+        assertThat(saver.save("AI", summary, articles)).isEqualTo(saved);
+
+        var order = inOrder(summaryRepository, articleDeduplicator);
+        order.verify(summaryRepository).save(summary);
+        order.verify(articleDeduplicator).markSeen("AI", articles);
+    }
+
+    @Test
+    void leavesArticlesUnseenWhenTheSaveFails() {
+        when(summaryRepository.save(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThatThrownBy(() -> saver.save("AI", summary, articles))
+            .isInstanceOf(DataAccessResourceFailureException.class);
+        verify(articleDeduplicator, never()).markSeen(anyString(), anyList());
+    }
+
+    @Test
+    void marksArticlesOfDiscardedSummariesSeenWithoutSavingThem() {
+        saver.discard("AI", articles);
+
+        verify(articleDeduplicator).markSeen("AI", articles);
+        verify(summaryRepository, never()).save(any());
+    }
+}
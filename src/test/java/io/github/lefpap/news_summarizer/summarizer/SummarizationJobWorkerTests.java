@@ -0,0 +1,66 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.news_api.NewsApiArticle;
+import io.github.lefpap.news_summarizer.summarizer.NewsSummarizerSettings.Topic;
+import io.github.lefpap.news_summarizer.summary.OutputSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SummarizationJobWorkerTests {
+
+    private final NewsSummarizerService newsSummarizerService = mock(NewsSummarizerService.class);
+    private final StorySummarySaver storySummarySaver = mock(StorySummarySaver.class);
+    private final SummaryDeduplicator summaryDeduplicator = mock(SummaryDeduplicator.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SummarizationJobWorker worker = new SummarizationJobWorker(
+        mock(SummarizationJobJdbcRepository.class), newsSummarizerService, storySummarySaver, summaryDeduplicator,
+        new SummarizationRunRecorder(registry, mock(SummarizationRunJdbcRepository.class)),
+        new NewsSummarizerSettings(), registry);
+
+    private final Topic topic = Topic.of("AI");
+
+    @Test
+    void marksTheArticlesOfADiscardedStorySeen() {
+        OutputSummary duplicate = OutputSummary.builder().title("This Week in AI").build();
+        List<NewsApiArticle> articles = List.of(article("https://example.com/a"));
+        when(newsSummarizerService.summarize(eq(topic), any())).thenReturn(List.of(new StorySummary(duplicate, articles)));
+        when(summaryDeduplicator.deduplicate(duplicate)).thenReturn(Optional.empty());
+
+        assertThat(worker.summarizeAndSave(topic)).isEmpty();
+
+        verify(storySummarySaver).discard("AI", articles);
+        verify(storySummarySaver, never()).save(any(), any(), any());
+        assertThat(registry.get("summarizer.runs").tag("status", "skipped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void savesTheStoriesThatAreNotDiscarded() {
+        OutputSummary summary = OutputSummary.builder().title("This Week in AI").build();
+        OutputSummary saved = summary.toBuilder().id(UUID.randomUUID()).build();
+        List<NewsApiArticle> articles = List.of(article("https://example.com/b"));
+        when(newsSummarizerService.summarize(eq(topic), any())).thenReturn(List.of(new StorySummary(summary, articles)));
+        when(summaryDeduplicator.deduplicate(summary)).thenReturn(Optional.of(summary));
+        when(storySummarySaver.save("AI", summary, articles)).thenReturn(saved);
+        when(summaryDeduplicator.index(saved)).thenReturn(saved);
+
+        assertThat(worker.summarizeAndSave(topic)).containsExactly(saved);
+
+        verify(storySummarySaver, never()).discard(any(), any());
+    }
+
+    private static NewsApiArticle article(String url) {
+        return new NewsApiArticle(new NewsApiArticle.NewsApiSource(null, "Example"), null, "AI chips", null, url, null, null);
+    }
+}
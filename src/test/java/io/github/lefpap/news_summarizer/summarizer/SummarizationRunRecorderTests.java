@@ -0,0 +1,53 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.summary.OutputSummaryParsingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class SummarizationRunRecorderTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SummarizationRunJdbcRepository repository = mock(SummarizationRunJdbcRepository.class);
+    private final SummarizationRunRecorder recorder = new SummarizationRunRecorder(registry, repository);
+
+    @Test
+    void accumulatesStagesAndPublishesOncePerRun() {
+        SummarizationRunRecorder.Run run = recorder.start("AI");
+        run.record(SummarizationStage.PARSE, Duration.ofMillis(2).toNanos());
+        run.record(SummarizationStage.PARSE, Duration.ofMillis(3).toNanos());
+        run.articles(10, 4);
+        run.output("abc");
+        run.output("de");
+        UUID summaryId = UUID.randomUUID();
+        run.succeeded(summaryId);
+
+        SummarizationRun record = recorder.finish(run);
+
+        assertThat(record.status()).isEqualTo(SummarizationRun.Status.SUCCEEDED);
+        assertThat(record.stageDurations()).containsEntry(SummarizationStage.PARSE, Duration.ofMillis(5));
+        assertThat(record.outputChars()).isEqualTo(5);
+        assertThat(record.summaryId()).isEqualTo(summaryId);
+        assertThat(registry.get("summarizer.stage").tag("stage", "parse").timer().count()).isEqualTo(1);
+        assertThat(registry.get("summarizer.runs").tag("status", "succeeded").counter().count()).isEqualTo(1);
+        verify(repository).save(record);
+    }
+
+    @Test
+    void countsParseFailuresAndTreatsUnfinishedRunsAsCancelled() {
+        SummarizationRunRecorder.Run failed = recorder.start("AI");
+        failed.failed(new OutputSummaryParsingException("bad output"));
+        assertThat(recorder.finish(failed).error()).isEqualTo("bad output");
+
+        SummarizationRun cancelled = recorder.finish(recorder.start("AI"));
+
+        assertThat(cancelled.status()).isEqualTo(SummarizationRun.Status.CANCELLED);
+        assertThat(registry.get("summarizer.parse.failures").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,175 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.summary.OutputSummary;
+import io.github.lefpap.news_summarizer.summary.OutputSummaryJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SummaryDeduplicatorTests {
+
+    private static final String[] WORDS = {
+        "model", "chip", "startup", "funding", "regulation", "agents", "safety", "cloud", "open", "release",
+        "benchmark", "latency", "data", "policy", "developers", "training", "inference", "reasoning", "compute", "lab",
+    };
+
+    private final OutputSummaryJdbcRepository repository = mock(OutputSummaryJdbcRepository.class);
+    private final NewsSummarizerSettings settings = new NewsSummarizerSettings();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void estimatesSimilarityOfShingleSets() {
+        MinHash minHash = new MinHash(128, 3);
+        String text = text(1, 400);
+
+        assertThat(MinHash.similarity(minHash.signature(text), minHash.signature(text.toUpperCase()))).isEqualTo(1.0);
+        assertThat(MinHash.similarity(minHash.signature(text), minHash.signature(edit(text, 50)))).isGreaterThan(0.8);
+        assertThat(MinHash.similarity(minHash.signature(text), minHash.signature(text(2, 400)))).isLessThan(0.2);
+    }
+
+    @Test
+    void findsMostSimilarIndexedSignature() {
+        MinHash minHash = new MinHash(64, 3);
+        MinHashLshIndex index = new MinHashLshIndex(64, 16);
+        UUID near = UUID.randomUUID();
+        for (int i = 0; i < 2000; i++) {
+            index.put(UUID.randomUUID(), minHash.signature(text(100 + i, 200)));
+        }
+        index.put(near, minHash.signature(text(1, 200)));
+
+        Optional<MinHashLshIndex.Match> match = index.findMostSimilar(minHash.signature(edit(text(1, 200), 40)), 0.7);
+
+        assertThat(match).map(MinHashLshIndex.Match::id).contains(near);
+        assertThat(index.findMostSimilar(minHash.signature(text(3, 200)), 0.7)).isEmpty();
+
+        index.remove(near);
+        assertThat(index.findMostSimilar(minHash.signature(text(1, 200)), 0.7)).isEmpty();
+        assertThat(index.size()).isEqualTo(2000);
+    }
+
+    @Test
+    void reusesTheSlotOfAReindexedOrRemovedSignature() {
+        MinHash minHash = new MinHash(64, 3);
+        MinHashLshIndex index = new MinHashLshIndex(64, 16);
+        UUID id = UUID.randomUUID();
+        index.put(UUID.randomUUID(), minHash.signature(text(2, 200)));
+        for (int revision = 0; revision < 50; revision++) {
+            index.put(id, minHash.signature(text(100 + revision, 200)));
+        }
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.usedSlots()).isEqualTo(2);
+        assertThat(index.bucketEntries()).isEqualTo(2 * 16);
+        assertThat(index.findMostSimilar(minHash.signature(text(100, 200)), 0.7)).isEmpty();
+        assertThat(index.findMostSimilar(minHash.signature(text(149, 200)), 0.7))
+            .map(MinHashLshIndex.Match::id).contains(id);
+        assertThat(index.findMostSimilar(minHash.signature(text(2, 200)), 0.7)).isPresent();
+
+        index.remove(id);
+        index.put(UUID.randomUUID(), minHash.signature(text(3, 200)));
+
+        assertThat(index.usedSlots()).isEqualTo(2);
+        assertThat(index.bucketEntries()).isEqualTo(2 * 16);
+        assertThat(index.findMostSimilar(minHash.signature(text(149, 200)), 0.7)).isEmpty();
+    }
+
+    @Test
+    void rejectsBandsNotDividingTheSignature() {
+        assertThatThrownBy(() -> new MinHashLshIndex(64, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void mergesSourcesOfDuplicateIntoStoredSummary() {
+        SummaryDeduplicator deduplicator = deduplicator();
+        OutputSummary stored = summary(UUID.randomUUID(), text(1, 300), "https://example.com/a", "https://example.com/b");
+        deduplicator.index(stored);
+        when(repository.findOne(stored.id())).thenReturn(Optional.of(stored));
+
+        Optional<OutputSummary> merged = deduplicator.deduplicate(
+            summary(null, edit(text(1, 300), 60), "https://www.example.com/b/", "https://example.com/c"));
+
+        assertThat(merged).get().satisfies(summary -> {
+            assertThat(summary.id()).isEqualTo(stored.id());
+            assertThat(summary.content()).isEqualTo(stored.content());
+            assertThat(summary.sources()).extracting(OutputSummary.Source::url)
+                .containsExactly("https://example.com/a", "https://example.com/b", "https://example.com/c");
+        });
+        assertThat(registry.get("summarizer.duplicates").tag("action", "merged").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void discardsDuplicateOrKeepsDistinctSummary() {
+        settings.getDedup().setAction(NewsSummarizerSettings.Dedup.Action.DISCARD);
+        SummaryDeduplicator deduplicator = deduplicator();
+        OutputSummary stored = summary(UUID.randomUUID(), text(1, 300), "https://example.com/a");
+        deduplicator.index(stored);
+        when(repository.findOne(stored.id())).thenReturn(Optional.of(stored));
+        OutputSummary distinct = summary(null, text(2, 300), "https://example.com/a");
+
+        assertThat(deduplicator.deduplicate(summary(null, edit(text(1, 300), 60), "https://example.com/z"))).isEmpty();
+        assertThat(deduplicator.deduplicate(distinct)).contains(distinct);
+    }
+
+    @Test
+    void dropsDeletedSummaryFromIndex() {
+        SummaryDeduplicator deduplicator = deduplicator();
+        OutputSummary stored = summary(UUID.randomUUID(), text(1, 300), "https://example.com/a");
+        deduplicator.index(stored);
+        when(repository.findOne(stored.id())).thenReturn(Optional.empty());
+        OutputSummary duplicate = summary(null, text(1, 300), "https://example.com/a");
+
+        assertThat(deduplicator.deduplicate(duplicate)).contains(duplicate);
+        assertThat(registry.get("summarizer.dedup.index.size").gauge().value()).isZero();
+    }
+
+    private SummaryDeduplicator deduplicator() {
+        return new SummaryDeduplicator(repository, settings, registry);
+    }
+
+    private static OutputSummary summary(UUID id, String content, String... urls) {
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+        return OutputSummary.builder()
+            .id(id)
+            .title("This Week in AI")
+            .description("A roundup")
+            .readingTime("2 min")
+            .highlights(List.of("Open models keep closing the gap"))
+            .sources(Arrays.stream(urls).map(url -> new OutputSummary.Source("Example", url)).toList())
+            .content(content)
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+    }
+
+    private static String text(long seed, int words) {
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            builder.append(WORDS[random.nextInt(WORDS.length)]).append(i % 12 == 11 ? ". " : " ");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Replaces every {@code every}-th word of the text.
+     */
+    private static String edit(String text, int every) {
+        String[] words = text.split(" ");
+        for (int i = every - 1; i < words.length; i += every) {
+            words[i] = "edited";
+        }
+        return String.join(" ", words);
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.lefpap.news_summarizer.summarizer;
+
+import io.github.lefpap.news_summarizer.summary.OutputSummary;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SummaryDeltaMergerTests {
+
+    private static final String CONTENT = """
+        ### Introduction
+        Open models keep closing the gap.
+
+        ### Analysis
+        Labs released three models this week.
+
+        ### Conclusion
+        Expect more releases.
+        """;
+
+    private final NewsSummarizerSettings settings = new NewsSummarizerSettings();
+
+    @Test
+    void replacesRevisedSectionsAndAppendsNewOnes() {
+        OutputSummary existing = existing();
+        OutputSummary delta = OutputSummary.builder()
+            .title("This Week in AI")
+            .highlights(List.of())
+            .sources(List.of())
+            .content("""
+                ### **Analysis**
+                Labs released four models this week.
+
+                ### Regulation
+                A new bill was introduced.
+                """)
+            .build();
+
+        OutputSummary merged = merger().merge(existing, delta);
+
+        assertThat(merged.content()).isEqualTo("""
+            ### Introduction
+            Open models keep closing the gap.
+
+            ### **Analysis**
+            Labs released four models this week.
+
+            ### Conclusion
+            Expect more releases.
+
+            ### Regulation
+            A new bill was introduced.""");
+        assertThat(merged.id()).isEqualTo(existing.id());
+        assertThat(merged.topic()).isEqualTo("AI");
+        assertThat(merged.createdAt()).isEqualTo(existing.createdAt());
+        assertThat(merged.description()).isEqualTo(existing.description());
+        assertThat(merged.readingTime()).isEqualTo("1 min");
+    }
+
+    @Test
+    void putsNewHighlightsFirstAndAddsNewSources() {
+        settings.getUpdate().setMaxHighlights(3);
+        OutputSummary delta = OutputSummary.builder()
+            .title("This Week in AI: Four Models")
+            .description("A longer roundup")
+            .highlights(List.of("A fourth model was released", "Open models keep closing the gap"))
+            .sources(List.of(
+                new OutputSummary.Source("Example", "https://www.example.com/a/"),
+                new OutputSummary.Source("Other", "https://other.com/d")))
+            .content("")
+            .build();
+
+        OutputSummary merged = merger().merge(existing(), delta);
+
+        assertThat(merged.title()).isEqualTo("This Week in AI: Four Models");
+        assertThat(merged.description()).isEqualTo("A longer roundup");
+        assertThat(merged.highlights())
+            .containsExactly("A fourth model was released", "Open models keep closing the gap", "Three models were released");
+        assertThat(merged.sources()).extracting(OutputSummary.Source::url)
+            .containsExactly("https://example.com/a", "https://example.com/b", "https://other.com/d");
+        assertThat(merged.content()).isEqualTo(CONTENT);
+    }
+
+    private SummaryDeltaMerger merger() {
+        return new SummaryDeltaMerger(settings);
+    }
+
+    private static OutputSummary existing() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 6, 1, 12, 0);
+        return OutputSummary.builder()
+            .id(UUID.randomUUID())
+            .topic("AI")
+            .title("This Week in AI")
+            .description("A roundup")
+            .readingTime("1 min")
+            .highlights(List.of("Open models keep closing the gap", "Three models were released", "Chips are scarce"))
+            .sources(List.of(
+                new OutputSummary.Source("Example", "https://example.com/a"),
+                new OutputSummary.Source("Example", "https://example.com/b")))
+            .content(CONTENT)
+            .createdAt(createdAt)
+            .updatedAt(createdAt)
+            .build();
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutputSummaryEmbeddingIndexerTests {
+
+    private final OutputSummaryJdbcRepository repository = mock(OutputSummaryJdbcRepository.class);
+    private final EmbeddingModel embeddingModel = mock(EmbeddingModel.class);
+    private final OutputSummarySettings settings = new OutputSummarySettings();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void embedsQueuedSummariesInBatchesOnFlush() {
+        settings.getEmbeddings().setBatchSize(2);
+        OutputSummaryEmbeddingIndexer indexer = indexer();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        when(repository.findUnembedded(anyCollection()))
+            .thenAnswer(invocation -> invocation.<Collection<UUID>>getArgument(0).stream().map(this::input).toList());
+        when(embeddingModel.embed(anyList()))
+            .thenAnswer(invocation -> invocation.<List<String>>getArgument(0).stream().map(text -> new float[]{1f}).toList());
+        when(repository.saveEmbeddings(anyList(), anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        indexer.onSaved(new OutputSummariesSavedEvent(List.of(first, first)));
+        indexer.onSaved(new OutputSummariesSavedEvent(List.of(second, third)));
+        indexer.flush();
+
+        verify(repository).findUnembedded(Set.of(first));
+        verify(repository).findUnembedded(Set.of(second, third));
+        verify(embeddingModel).embed(List.of("Title\nDescription\nContent of " + first));
+        assertThat(registry.get("summaries.embeddings").tag("outcome", "stored").counter().count()).isEqualTo(3);
+
+        indexer.flush();
+        verify(embeddingModel, times(2)).embed(anyList());
+    }
+
+    @Test
+    void backfillsUntilNoSummaryIsLeftOrNoneCanBeStored() {
+        OutputSummaryEmbeddingIndexer indexer = indexer();
+        when(repository.findUnembedded(anyInt()))
+            .thenReturn(List.of(input(UUID.randomUUID()), input(UUID.randomUUID())))
+            .thenReturn(List.of(input(UUID.randomUUID())))
+            .thenReturn(List.of());
+        when(embeddingModel.embed(anyList()))
+            .thenAnswer(invocation -> invocation.<List<String>>getArgument(0).stream().map(text -> new float[]{1f}).toList());
+        when(repository.saveEmbeddings(anyList(), anyList())).thenReturn(2, 1);
+
+        assertThat(indexer.backfill()).isEqualTo(3);
+
+        when(repository.findUnembedded(anyInt())).thenReturn(List.of(input(UUID.randomUUID())));
+        when(repository.saveEmbeddings(anyList(), anyList())).thenReturn(0);
+        assertThat(indexer.backfill()).isZero();
+    }
+
+    @Test
+    void ignoresSavedSummariesWhenDisabled() {
+        settings.getEmbeddings().setEnabled(false);
+        OutputSummaryEmbeddingIndexer indexer = indexer();
+
+        indexer.onSaved(new OutputSummariesSavedEvent(List.of(UUID.randomUUID())));
+        indexer.flush();
+
+        assertThat(indexer.backfill()).isZero();
+        verify(repository, never()).findUnembedded(anyCollection());
+        verify(repository, never()).findUnembedded(anyInt());
+    }
+
+    private OutputSummaryEmbeddingIndexer indexer() {
+        return new OutputSummaryEmbeddingIndexer(repository, embeddingModel, settings, registry);
+    }
+
+    private OutputSummaryEmbeddingInput input(UUID id) {
+        return new OutputSummaryEmbeddingInput(id, "Title", "Description", "Content of " + id, LocalDateTime.now());
+    }
+}
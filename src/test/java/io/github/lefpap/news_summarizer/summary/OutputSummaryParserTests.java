@@ -0,0 +1,68 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OutputSummaryParserTests {
+
+    private static final String OUTPUT = """
+        Here is your summary:
+        ---
+        title: "AI News"
+        description: "What happened in AI"
+        readingTime: "13 min"
+        highlights:
+          - "First"
+          - "Second"
+        sources:
+          - name: "Example"
+            url: "https://example.com/a"
+        ---
+        ### Introduction
+        Body text.
+        """;
+
+    private final OutputSummaryParser parser = new OutputSummaryParser(new Jackson2ObjectMapperBuilder());
+
+    @Test
+    void parsesFrontMatterAndBody() {
+        OutputSummary summary = parser.parse(OUTPUT);
+
+        assertThat(summary.title()).isEqualTo("AI News");
+        assertThat(summary.highlights()).containsExactly("First", "Second");
+        assertThat(summary.sources()).containsExactly(new OutputSummary.Source("Example", "https://example.com/a"));
+        assertThat(summary.content()).isEqualTo("### Introduction\nBody text.");
+    }
+
+    @Test
+    void parsesFrontMatterAsSoonAsItIsClosed() {
+        OutputSummaryStreamParser streamParser = parser.newStreamParser();
+        StringBuilder body = new StringBuilder();
+
+        int fenceEnd = OUTPUT.indexOf("---\n### ") + 4;
+        for (int i = 0; i < OUTPUT.length(); i += 7) {
+            body.append(streamParser.accept(OUTPUT.substring(i, Math.min(i + 7, OUTPUT.length()))));
+            assertThat(streamParser.hasFrontMatter()).isEqualTo(i + 7 >= fenceEnd);
+        }
+
+        assertThat(body.toString()).isEqualTo("### Introduction\nBody text.\n");
+        assertThat(streamParser.finish().content()).isEqualTo("### Introduction\nBody text.");
+    }
+
+    @Test
+    void failsFastWithoutFrontMatter() {
+        OutputSummaryStreamParser streamParser = parser.newStreamParser();
+
+        assertThatThrownBy(() -> streamParser.accept("x".repeat(OutputSummaryStreamParser.MAX_PREAMBLE_LENGTH + 1)))
+            .isInstanceOf(OutputSummaryParsingException.class);
+    }
+
+    @Test
+    void failsOnFrontMatterWithoutTitle() {
+        assertThatThrownBy(() -> parser.parse("---\ndescription: \"x\"\n---\nBody\n"))
+            .isInstanceOf(OutputSummaryParsingException.class);
+    }
+}
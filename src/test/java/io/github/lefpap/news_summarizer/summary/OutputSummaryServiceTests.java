@@ -0,0 +1,143 @@
+package io.github.lefpap.news_summarizer.summary;
+
+import io.github.lefpap.news_summarizer.summary.api.ApiImportResult;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class OutputSummaryServiceTests {
+
+    private final OutputSummaryJdbcRepository repository = mock(OutputSummaryJdbcRepository.class);
+    private final OutputSummaryService service =
+        new OutputSummaryService(repository, new OutputSummaryMapper(), new Jackson2ObjectMapperBuilder());
+
+    private final List<List<OutputSummary>> batches = new ArrayList<>();
+
+    OutputSummaryServiceTests() {
+        // Copy each batch, the service reuses the list
+        doAnswer(invocation -> batches.add(List.copyOf(invocation.<List<OutputSummary>>getArgument(0))))
+            .when(repository).upsertAll(any());
+    }
+
+    @Test
+    void importsValidLinesInBatchesAndReportsRejectedOnes() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < OutputSummaryService.IMPORT_BATCH_SIZE + 1; i++) {
+            body.append(line("Title " + i)).append('\n');
+        }
+        body.append(line("")).append('\n');
+
+        ApiImportResult result = service.importSummaries(stream(body.toString()));
+
+        assertThat(result.imported()).isEqualTo(OutputSummaryService.IMPORT_BATCH_SIZE + 1);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.errors()).singleElement()
+            .isEqualTo(new ApiImportResult.ApiImportError(OutputSummaryService.IMPORT_BATCH_SIZE + 2, "title is required"));
+        assertThat(batches).extracting(List::size).containsExactly(OutputSummaryService.IMPORT_BATCH_SIZE, 1);
+    }
+
+    @Test
+    void writesLinesBeforeMalformedJsonAndRejectsTheRest() {
+        String body = line("First") + "\n{\"title\": \n" + line("Never") + "\n";
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> service.importSummaries(stream(body)))
+            .withMessageContaining("1 summaries imported");
+        assertThat(batches).singleElement().extracting(List::size).isEqualTo(1);
+    }
+
+    @Test
+    void exportsOneSummaryPerLineInImportFormat() {
+        OutputSummary summary = OutputSummary.builder()
+            .id(UUID.randomUUID())
+            .title("Title")
+            .description("Description")
+            .readingTime("1 minute")
+            .highlights(List.of("highlight"))
+            .sources(List.of(new OutputSummary.Source("source", "https://example.com")))
+            .content("Content")
+            .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+            .updatedAt(LocalDateTime.of(2024, 1, 2, 12, 0))
+            .build();
+        doAnswer(invocation -> {
+            Consumer<OutputSummary> consumer = invocation.getArgument(0);
+            consumer.accept(summary);
+            consumer.accept(summary);
+            return null;
+        }).when(repository).streamAll(any());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.exportSummaries(output);
+        String exported = output.toString(StandardCharsets.UTF_8);
+
+        assertThat(exported.lines()).hasSize(2);
+        assertThat(exported).endsWith("\n").contains("\"createdAt\":\"2024-01-01T12:00:00\"");
+
+        service.importSummaries(stream(exported));
+        assertThat(batches).singleElement().asInstanceOf(InstanceOfAssertFactories.LIST).containsExactly(summary, summary);
+    }
+
+    @Test
+    void streamsCardsUntilTheClientDisconnects() {
+        OutputSummaryCard card = new OutputSummaryCard(UUID.randomUUID(), "Title", "Description", "1 minute",
+            LocalDateTime.of(2024, 1, 1, 12, 0), LocalDateTime.of(2024, 1, 1, 12, 0));
+        AtomicInteger produced = new AtomicInteger();
+        doAnswer(invocation -> {
+            Consumer<OutputSummaryCard> consumer = invocation.getArgument(3);
+            for (int i = 0; i < 100_000; i++) {
+                consumer.accept(card);
+                produced.incrementAndGet();
+            }
+            return null;
+        }).when(repository).streamCards(eq("ai"), isNull(), isNull(), any());
+
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatExceptionOfType(UncheckedIOException.class)
+            .isThrownBy(() -> service.streamSummaries("ai", null, null).writeTo(disconnected));
+        assertThat(produced.get()).isLessThan(100_000);
+    }
+
+    @Test
+    void rejectsMalformedCursorBeforeStreaming() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> service.streamSummaries(null, "not-a-cursor", null));
+    }
+
+    private static String line(String title) {
+        return """
+            {"title":"%s","description":"Description","readingTime":"1 minute","highlights":[],"sources":[]}"""
+            .formatted(title);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}